@@ -0,0 +1,73 @@
+package com.example.emotiondiary.benchmark;
+
+import com.example.emotiondiary.config.InferenceProperties;
+import com.example.emotiondiary.service.*;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * analyzeEmotion 전체 경로 처리량 (토크나이징 → 배치 스케줄러 → ONNX → 후처리)
+ * 모델이 없으면 키워드 기반 대체 경로를 측정하며, 결과 캐시는 cache 파라미터로 켜고 끔
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class AnalyzeEmotionBenchmark {
+
+    @Param({"SHORT", "MEDIUM", "LONG"})
+    public DiaryCorpus.Size size;
+
+    @Param({"false", "true"})
+    public boolean cache;
+
+    private EmotionAnalysisService service;
+    private String[] texts;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        InferenceProperties properties = BenchmarkFixtures.properties();
+        properties.getCache().setEnabled(cache);
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        ModelResources modelResources = new ModelResources(properties);
+        modelResources.initialize();
+        BertTokenizer tokenizer = new BertTokenizer(modelResources, properties);
+        ConfigLoader configLoader = new ConfigLoader(modelResources);
+        KeywordEmotionAnalyzer keywordAnalyzer = new KeywordEmotionAnalyzer(properties);
+        keywordAnalyzer.initialize();
+
+        service = new EmotionAnalysisService(tokenizer, configLoader, modelResources,
+                new InferenceResultCache(properties, meterRegistry), keywordAnalyzer,
+                new OrtSessionFactory(modelResources, properties), properties, meterRegistry);
+        service.initializeModel();
+        texts = DiaryCorpus.generate(size, 64);
+
+        System.out.println("모델 " + (BenchmarkFixtures.modelPresent() ? "사용" : "없음 (키워드 기반 분석)")
+                + ": " + BenchmarkFixtures.modelDir());
+    }
+
+    @Benchmark
+    public Object analyzeEmotion(ThreadCursor cursor) {
+        return service.analyzeEmotion(texts[cursor.next(texts.length)]);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        service.cleanup();
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadCursor {
+
+        private int next;
+
+        int next(int length) {
+            int current = next;
+            next = (next + 1) % length;
+            return current;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.emotiondiary.benchmark;
+
+import com.example.emotiondiary.config.InferenceProperties;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * 벤치마크 공통 설정 (Spring 컨텍스트 없이 서비스를 직접 구성)
+ * 모델 디렉토리: -Demotion.model.dir (기본 src/main/resources/models/emotion_model_onnx)
+ * 디렉토리에 vocab.txt가 없으면 테스트용 vocab(src/test/resources/tokenizer)으로 대체하며,
+ * 이때 model.onnx도 없으므로 추론 경로는 키워드 기반 분석으로 측정됨
+ */
+final class BenchmarkFixtures {
+
+    static final String DEFAULT_MODEL_DIR = "src/main/resources/models/emotion_model_onnx";
+    static final String FALLBACK_VOCAB_DIR = "src/test/resources/tokenizer";
+
+    private BenchmarkFixtures() {
+    }
+
+    static InferenceProperties properties() {
+        InferenceProperties properties = new InferenceProperties();
+        properties.setModelDir(modelDir().toString());
+        return properties;
+    }
+
+    static Path modelDir() {
+        Path modelDir = Paths.get(System.getProperty("emotion.model.dir", DEFAULT_MODEL_DIR));
+        if (Files.isRegularFile(modelDir.resolve("vocab.txt"))) {
+            return modelDir;
+        }
+        return Paths.get(FALLBACK_VOCAB_DIR);
+    }
+
+    static boolean modelPresent() {
+        return Files.isRegularFile(modelDir().resolve("model.onnx"));
+    }
+}
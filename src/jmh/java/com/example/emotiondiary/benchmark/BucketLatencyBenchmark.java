@@ -0,0 +1,86 @@
+package com.example.emotiondiary.benchmark;
+
+import ai.onnxruntime.OnnxTensor;
+import ai.onnxruntime.OnnxTensorLike;
+import ai.onnxruntime.OrtEnvironment;
+import ai.onnxruntime.OrtSession;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.LongBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 길이 버킷별 ONNX 추론 지연 시간 측정
+ * 모델 경로: -Demotion.model.path (기본 src/main/resources/models/emotion_model_onnx/model.onnx)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class BucketLatencyBenchmark {
+
+    private static final String DEFAULT_MODEL_PATH = "src/main/resources/models/emotion_model_onnx/model.onnx";
+
+    @Param({"32", "64", "128", "256", "512"})
+    public int sequenceLength;
+
+    @Param({"1", "8"})
+    public int batchSize;
+
+    private OrtEnvironment env;
+    private OrtSession session;
+    private OnnxTensor inputIdsTensor;
+    private OnnxTensor attentionMaskTensor;
+    private Map<String, OnnxTensorLike> inputs;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        Path modelPath = Paths.get(System.getProperty("emotion.model.path", DEFAULT_MODEL_PATH));
+        if (!Files.exists(modelPath)) {
+            throw new IllegalStateException("모델 파일이 없어 버킷 벤치마크를 실행할 수 없습니다: " + modelPath);
+        }
+
+        env = OrtEnvironment.getEnvironment();
+        session = env.createSession(modelPath.toString(), new OrtSession.SessionOptions());
+
+        // 버킷 길이를 모두 채운 입력 (패딩 없는 최악의 경우)
+        long[] inputIds = new long[batchSize * sequenceLength];
+        long[] attentionMask = new long[batchSize * sequenceLength];
+        for (int i = 0; i < inputIds.length; i++) {
+            inputIds[i] = 100 + (i % 1000);
+            attentionMask[i] = 1L;
+        }
+
+        long[] shape = {batchSize, sequenceLength};
+        inputIdsTensor = OnnxTensor.createTensor(env, LongBuffer.wrap(inputIds), shape);
+        attentionMaskTensor = OnnxTensor.createTensor(env, LongBuffer.wrap(attentionMask), shape);
+
+        inputs = new HashMap<>();
+        inputs.put(System.getProperty("emotion.model.input-ids", "input_ids"), inputIdsTensor);
+        inputs.put(System.getProperty("emotion.model.attention-mask", "attention_mask"), attentionMaskTensor);
+    }
+
+    @Benchmark
+    public Object run() throws Exception {
+        try (OrtSession.Result result = session.run(inputs)) {
+            return result.get(0).getValue();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        if (inputIdsTensor != null) {
+            inputIdsTensor.close();
+        }
+        if (attentionMaskTensor != null) {
+            attentionMaskTensor.close();
+        }
+        if (session != null) {
+            session.close();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.emotiondiary.benchmark;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 벤치마크용 한국어 일기 코퍼스 (고정 시드로 매번 같은 텍스트 생성)
+ * SHORT: 1~2문장, MEDIUM: 한 문단, LONG: 512 토큰을 넘기는 긴 일기
+ * FILE: 실제 일기 파일 (-Demotion.benchmark.corpus, 빈 줄로 일기 구분, 없으면 테스트 골든 코퍼스를 한 줄씩)
+ */
+public final class DiaryCorpus {
+
+    public enum Size {
+        SHORT(2), MEDIUM(10), LONG(60), FILE(0);
+
+        private final int sentences;
+
+        Size(int sentences) {
+            this.sentences = sentences;
+        }
+    }
+
+    private static final String[] SENTENCES = {
+        "오늘은 아침부터 비가 와서 기분이 조금 우울했다.",
+        "점심에 친구와 맛있는 파스타를 먹어서 정말 행복했다!",
+        "회의 시간에 발표를 하다가 말이 꼬여서 너무 당황스러웠다.",
+        "내일 면접이 있어서 걱정되고 긴장된다.",
+        "동생이 내 말을 무시해서 화가 났고 짜증이 났다.",
+        "믿었던 사람에게 그런 말을 들으니 서운하고 상처가 됐다.",
+        "퇴근길에 노을이 예뻐서 사진을 여러 장 찍었다.",
+        "운동을 30분 했더니 몸이 가볍고 개운하다.",
+        "요즘 잠을 잘 못 자서 하루 종일 피곤했다.",
+        "엄마랑 통화하면서 오랜만에 크게 웃었다.",
+        "프로젝트 마감이 다가오는데 아직 할 일이 많아 초조하다.",
+        "길에서 넘어져서 창피했지만 아무도 못 본 것 같다.",
+        "Today I finally finished the book I started last month.",
+        "카페에서 라떼를 마시며 일기를 쓰는 이 시간이 좋다.",
+        "혼자 있는 시간이 길어지니 조금 외롭다는 생각이 들었다.",
+        "작은 일에도 감사하는 마음을 가지려고 노력 중이다."
+    };
+
+    static final String FALLBACK_CORPUS = "src/test/resources/tokenizer/golden_corpus.txt";
+
+    private DiaryCorpus() {
+    }
+
+    /**
+     * 지정한 크기의 일기 count개 생성
+     */
+    public static String[] generate(Size size, int count) {
+        if (size == Size.FILE) {
+            return read(count);
+        }
+        Random random = new Random(20240101L + size.ordinal());
+        String[] texts = new String[count];
+        for (int i = 0; i < count; i++) {
+            StringBuilder sb = new StringBuilder();
+            for (int j = 0; j < size.sentences; j++) {
+                if (j > 0) {
+                    sb.append(j % 5 == 0 ? "\n" : " ");
+                }
+                sb.append(SENTENCES[random.nextInt(SENTENCES.length)]);
+            }
+            texts[i] = sb.toString();
+        }
+        return texts;
+    }
+
+    // 파일의 일기 전체 (count개보다 적으면 처음부터 반복해 채움)
+    private static String[] read(int count) {
+        String configured = System.getProperty("emotion.benchmark.corpus", "");
+        Path path = Paths.get(configured.isBlank() ? FALLBACK_CORPUS : configured);
+        List<String> diaries = new ArrayList<>();
+        try {
+            String content = Files.readString(path, StandardCharsets.UTF_8);
+            for (String diary : content.split(configured.isBlank() ? "\\R" : "\\R\\s*\\R")) {
+                if (!diary.isBlank()) {
+                    diaries.add(diary.strip());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("일기 코퍼스를 읽을 수 없습니다: " + path, e);
+        }
+        if (diaries.isEmpty()) {
+            throw new IllegalStateException("일기 코퍼스가 비어 있습니다: " + path);
+        }
+
+        String[] texts = new String[Math.max(count, diaries.size())];
+        for (int i = 0; i < texts.length; i++) {
+            texts[i] = diaries.get(i % diaries.size());
+        }
+        return texts;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.emotiondiary.benchmark;
+
+import com.example.emotiondiary.config.InferenceProperties;
+import com.example.emotiondiary.service.KeywordEmotionAnalyzer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 키워드 기반 대체 분석 처리량
+ * 외부 사전 크기에 따른 변화는 -Demotion.keyword-lexicon=<파일>로 확인
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+public class KeywordAnalyzerBenchmark {
+
+    @Param({"SHORT", "MEDIUM", "LONG"})
+    public DiaryCorpus.Size size;
+
+    private KeywordEmotionAnalyzer analyzer;
+    private String[] texts;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        InferenceProperties properties = new InferenceProperties();
+        properties.setKeywordLexicon(System.getProperty("emotion.keyword-lexicon", ""));
+        analyzer = new KeywordEmotionAnalyzer(properties);
+        analyzer.initialize();
+        texts = DiaryCorpus.generate(size, 64);
+    }
+
+    @Benchmark
+    public Object analyze() {
+        String text = texts[next];
+        next = (next + 1) % texts.length;
+        return analyzer.analyze(text);
+    }
+}
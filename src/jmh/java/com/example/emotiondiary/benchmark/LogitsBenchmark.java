@@ -0,0 +1,40 @@
+package com.example.emotiondiary.benchmark;
+
+import com.example.emotiondiary.service.Logits;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * softmax + findMaxIndex 후처리 처리량 (6개 라벨)
+ * softmax가 입력 행에 덮어쓰므로 배치 스케줄러처럼 작업 배열에 한 행을 복사한 뒤 계산
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+public class LogitsBenchmark {
+
+    private float[][] logits;
+    private final float[] scratch = new float[6];
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(7);
+        logits = new float[64][6];
+        for (float[] row : logits) {
+            for (int i = 0; i < row.length; i++) {
+                row[i] = (float) random.nextGaussian() * 3;
+            }
+        }
+    }
+
+    @Benchmark
+    public int softmaxAndArgmax() {
+        float[] row = logits[next];
+        next = (next + 1) % logits.length;
+        System.arraycopy(row, 0, scratch, 0, scratch.length);
+        return Logits.findMaxIndex(Logits.softmaxInPlace(scratch));
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.emotiondiary.benchmark;
+
+import com.example.emotiondiary.config.InferenceProperties;
+import com.example.emotiondiary.service.*;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 기동 모드(EAGER/LAZY)별 기동 시간과 첫 요청 지연
+ * JIT/ONNX 첫 실행 비용을 재기 위해 측정마다 새 JVM(fork)에서 한 번만 실행
+ * - startup: 서비스 구성 + initializeModel (EAGER는 로드 + 워밍업 포함)
+ * - firstRequest: 기동 직후 첫 analyze (LAZY는 키워드 기반 응답 + 백그라운드 로드 시작)
+ * - firstModelResult: 기동 직후 모델 결과를 받기까지 (LAZY는 백그라운드 로드 대기 포함)
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(5)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@State(Scope.Benchmark)
+public class StartupBenchmark {
+
+    @Param({"EAGER", "LAZY"})
+    public InferenceProperties.StartupMode mode;
+
+    private EmotionAnalysisService service;
+    private String text;
+
+    @Setup(Level.Iteration)
+    public void setUp(BenchmarkParams params) {
+        text = DiaryCorpus.generate(DiaryCorpus.Size.MEDIUM, 1)[0];
+        if (!params.getBenchmark().endsWith(".startup")) {
+            service = createService();
+            service.initializeModel();
+        }
+    }
+
+    @Benchmark
+    public Object startup() {
+        service = createService();
+        service.initializeModel();
+        return service;
+    }
+
+    @Benchmark
+    public Object firstRequest() {
+        return service.analyze(text);
+    }
+
+    @Benchmark
+    public Object firstModelResult() {
+        return service.analyze(text, false);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        service.cleanup();
+    }
+
+    private EmotionAnalysisService createService() {
+        InferenceProperties properties = BenchmarkFixtures.properties();
+        properties.getStartup().setMode(mode);
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        ModelResources modelResources = new ModelResources(properties);
+        modelResources.initialize();
+        KeywordEmotionAnalyzer keywordAnalyzer = new KeywordEmotionAnalyzer(properties);
+        keywordAnalyzer.initialize();
+
+        return new EmotionAnalysisService(new BertTokenizer(modelResources, properties), new ConfigLoader(modelResources),
+                modelResources, new InferenceResultCache(properties, meterRegistry), keywordAnalyzer,
+                new OrtSessionFactory(modelResources, properties), properties, meterRegistry);
+    }
+}
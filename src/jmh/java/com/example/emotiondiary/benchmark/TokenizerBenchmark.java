@@ -0,0 +1,104 @@
+package com.example.emotiondiary.benchmark;
+
+import com.example.emotiondiary.config.InferenceProperties;
+import com.example.emotiondiary.service.BertTokenizer;
+import com.example.emotiondiary.service.IdBuffer;
+import com.example.emotiondiary.service.ModelResources;
+import com.example.emotiondiary.service.Vocabulary;
+import com.example.emotiondiary.service.WordPieceTrie;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BertTokenizer.tokenize 처리량 (배열 반환 / 버퍼 기록 두 경로)
+ * wordCache로 단어 캐시 유무를 비교하고, tokens 카운터로 초당 토큰 수를 함께 보고
+ * tokenizeRegexBaseline: 이전 구현(정규식 기본 토크나이징 + 단어마다 WordPiece) 기준선
+ * 실제 일기로 측정: -Pjmh.includes=Tokenizer -Demotion.benchmark.corpus=... (size=FILE)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Thread)
+public class TokenizerBenchmark {
+
+    @Param({"SHORT", "MEDIUM", "LONG", "FILE"})
+    public DiaryCorpus.Size size;
+
+    @Param({"true", "false"})
+    public boolean wordCache;
+
+    private BertTokenizer tokenizer;
+    private WordPieceTrie trie;
+    private IdBuffer buffer;
+    private String[] texts;
+    private int next;
+
+    /**
+     * 처리한 토큰 수 ([CLS], [SEP] 제외, JMH가 초당 값으로 보고)
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Tokens {
+        public long tokens;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        InferenceProperties properties = BenchmarkFixtures.properties();
+        if (!wordCache) {
+            properties.getTokenizer().setWordCacheMaxIds(0);
+        }
+        ModelResources modelResources = new ModelResources(properties);
+        modelResources.initialize();
+        tokenizer = new BertTokenizer(modelResources, properties);
+        tokenizer.initialize();
+        buffer = new IdBuffer(512);
+        texts = DiaryCorpus.generate(size, 64);
+
+        try (BufferedReader reader = Files.newBufferedReader(BenchmarkFixtures.modelDir().resolve("vocab.txt"),
+                StandardCharsets.UTF_8)) {
+            trie = WordPieceTrie.fromVocabulary(Vocabulary.read(reader), "[UNK]");
+        }
+    }
+
+    @Benchmark
+    public Object tokenize(Tokens counter) {
+        BertTokenizer.TokenizationResult result = tokenizer.tokenize(nextText());
+        counter.tokens += result.getLength() - 2;
+        return result;
+    }
+
+    @Benchmark
+    public int tokenizeIntoBuffer(Tokens counter) {
+        tokenizer.tokenize(nextText(), buffer);
+        counter.tokens += buffer.size() - 2;
+        return buffer.size();
+    }
+
+    @Benchmark
+    public int tokenizeRegexBaseline(Tokens counter) {
+        buffer.clear();
+        Matcher matcher = Pattern.compile("\\S+").matcher(nextText());
+        while (matcher.find() && buffer.size() < 512) {
+            for (String part : matcher.group().split("(?<=[.,!?;:])|(?=[.,!?;:])")) {
+                if (!part.isEmpty()) {
+                    trie.tokenize(part, 0, part.length(), buffer);
+                }
+            }
+        }
+        buffer.truncate(510);
+        counter.tokens += buffer.size();
+        return buffer.size();
+    }
+
+    private String nextText() {
+        String text = texts[next];
+        next = (next + 1) % texts.length;
+        return text;
+    }
+}
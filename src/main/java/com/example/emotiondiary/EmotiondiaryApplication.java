@@ -3,8 +3,12 @@ package com.example.emotiondiary;
 import io.github.cdimascio.dotenv.Dotenv;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
+@EnableScheduling
 public class EmotiondiaryApplication {
 	public static void main(String[] args) {
 		Dotenv dotenv = Dotenv.configure()
@@ -0,0 +1,292 @@
+package com.example.emotiondiary.config;
+
+import ai.onnxruntime.OrtSession;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 감정 분석 추론 관련 설정 (application.properties의 emotion.inference.*)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "emotion.inference")
+public class InferenceProperties {
+
+    // 모델 파일 디렉토리 (비어 있으면 클래스패스의 models/emotion_model_onnx 사용)
+    private String modelDir = "";
+
+    // 키워드 기반 대체 분석에 추가할 외부 사전 파일 (한 줄에 "감정<TAB>키워드", 비어 있으면 기본 키워드만 사용)
+    private String keywordLexicon = "";
+
+    // 마이크로 배치 설정
+    private final Batch batch = new Batch();
+
+    // 추론 결과 캐시 설정
+    private final Cache cache = new Cache();
+
+    // 토크나이저 단어 캐시 설정
+    private final Tokenizer tokenizer = new Tokenizer();
+
+    // 추론 진입 제한 (과부하 시 키워드 분석으로 응답)
+    private final Admission admission = new Admission();
+
+    // ONNX Runtime 세션 설정
+    private final Session session = new Session();
+
+    // 캐스케이드 분류 설정 (n-gram 분류기 → ONNX 모델)
+    private final Cascade cascade = new Cascade();
+
+    // 긴 일기 슬라이딩 윈도우 추론 설정
+    private final LongText longText = new LongText();
+
+    // 작성 중 실시간 감정 분석 (SSE) 설정
+    private final Live live = new Live();
+
+    // 비동기 감정 분석 작업 큐 설정
+    private final Async async = new Async();
+
+    // 모델 교체 후 전체 일기 재분석 설정
+    private final Reanalysis reanalysis = new Reanalysis();
+
+    // 모델 무중단 재로드 설정
+    private final Reload reload = new Reload();
+
+    // 기동 시 모델 로드 방식
+    private final Startup startup = new Startup();
+
+    @Getter
+    @Setter
+    public static class Batch {
+
+        // 한 번의 session.run으로 묶을 최대 요청 수
+        private int maxBatchSize = 16;
+
+        // 첫 요청이 배치를 채우기 위해 기다리는 최대 시간 (ms)
+        private long maxWaitMillis = 5;
+
+        // 대기 큐 최대 길이 (가득 차면 즉시 거절)
+        private int queueCapacity = 256;
+
+        // 호출자가 결과를 기다리는 최대 시간 (ms)
+        private long resultTimeoutMillis = 10000;
+
+        // 일괄 분석 API(/api/analyze-emotion/batch) 한 요청의 최대 텍스트 수
+        private int maxRequestTexts = 1000;
+    }
+
+    @Getter
+    @Setter
+    public static class Cache {
+
+        // 캐시 사용 여부
+        private boolean enabled = true;
+
+        // 최대 보관 항목 수 (초과 시 최근 사용 빈도가 낮은 항목부터 제거)
+        private long maximumSize = 10000;
+    }
+
+    @Getter
+    @Setter
+    public static class Tokenizer {
+
+        // 단어 → WordPiece ID 캐시에 보관할 최대 ID 수 (항목 수가 아닌 ID 합계 기준, 0이면 사용 안 함)
+        private long wordCacheMaxIds = 262144;
+
+        // 이보다 긴 단어는 캐시하지 않음 (거의 반복되지 않는 긴 영문/숫자열이 캐시를 밀어내지 않도록)
+        private int wordCacheMaxWordLength = 24;
+    }
+
+    @Getter
+    @Setter
+    public static class Admission {
+
+        // 사용 여부 (false면 모든 요청이 배치 큐 대기 후 결과 대기 시간까지 기다림)
+        private boolean enabled = true;
+
+        // 동시에 모델 추론 경로에 들어갈 수 있는 최대 요청 수 (배치 대기 중인 요청 포함)
+        private int maxConcurrent = 32;
+
+        // 차례를 기다릴 수 있는 최대 요청 수 (초과 시 즉시 키워드 분석으로 응답)
+        private int maxQueued = 64;
+
+        // 차례를 기다리는 최대 시간 (ms, 초과 시 키워드 분석으로 응답)
+        private long queueTimeoutMillis = 200;
+    }
+
+    @Getter
+    @Setter
+    public static class Session {
+
+        // 그래프 최적화 수준 (NO_OPT, BASIC_OPT, EXTENDED_OPT, ALL_OPT)
+        private OrtSession.SessionOptions.OptLevel optimizationLevel = OrtSession.SessionOptions.OptLevel.ALL_OPT;
+
+        // 연산자 내부 병렬 스레드 수 (0이면 ONNX Runtime 기본값)
+        private int intraOpThreads = 0;
+
+        // 연산자 간 병렬 스레드 수 (PARALLEL 실행 모드에서만 사용, 0이면 기본값)
+        private int interOpThreads = 0;
+
+        // 실행 모드 (SEQUENTIAL, PARALLEL)
+        private OrtSession.SessionOptions.ExecutionMode executionMode = OrtSession.SessionOptions.ExecutionMode.SEQUENTIAL;
+
+        // CPU 메모리 아레나 사용 여부
+        private boolean memoryArena = true;
+
+        // 메모리 패턴 최적화 사용 여부 (입력 shape가 자주 바뀌면 끄는 편이 유리)
+        private boolean memoryPattern = true;
+
+        // 최적화된 그래프 저장 경로 (비어 있으면 저장 안 함, 원본 모델 크기/해시가 저장 당시와 같으면 다음 기동 시 재사용)
+        private String optimizedModelPath = "";
+
+        // 기동 시 스레드 수 자동 보정
+        private final Calibration calibration = new Calibration();
+    }
+
+    @Getter
+    @Setter
+    public static class Calibration {
+
+        // 자동 보정 사용 여부
+        private boolean enabled = false;
+
+        // 시험할 intra-op 스레드 수 (비어 있으면 코어 수 이하의 2의 거듭제곱 + 코어 수)
+        private List<Integer> threadCandidates = new ArrayList<>();
+
+        // 합성 입력 배치 크기 / 시퀀스 길이
+        private int batchSize = 4;
+        private int sequenceLength = 128;
+
+        // 후보별 측정 반복 횟수 (중앙값 사용)
+        private int iterations = 5;
+    }
+
+    @Getter
+    @Setter
+    public static class Async {
+
+        // 사용 여부 (true면 일기 저장/수정 시 작업만 등록하고 즉시 응답, 분석은 백그라운드 워커가 수행)
+        private boolean enabled = false;
+
+        // 분석 워커 스레드 수
+        private int workerThreads = 2;
+
+        // 대기 작업 조회 주기 (ms)
+        private long pollIntervalMillis = 500;
+
+        // 한 번에 가져올 최대 작업 수
+        private int claimBatchSize = 16;
+
+        // 최대 시도 횟수 (초과 시 FAILED)
+        private int maxAttempts = 3;
+
+        // 이 시간 이상 RUNNING에 머문 작업은 중단된 것으로 보고 다시 대기 상태로 전환 (ms)
+        private long staleAfterMillis = 120000;
+    }
+
+    @Getter
+    @Setter
+    public static class Reanalysis {
+
+        // 기동 시 새 모델 버전이면 자동으로 재분석 시작 (중단된 작업은 체크포인트부터 재개)
+        private boolean autoStart = false;
+
+        // 한 번에 읽어 분석/저장할 일기 수 (체크포인트 단위)
+        private int pageSize = 256;
+
+        // 초당 최대 처리 건수 (사용자 요청 추론 자원 보호, 0이면 제한 없음)
+        private double maxRowsPerSecond = 50;
+
+        // 관리자 API(X-Admin-Token 헤더) 토큰 (비어 있으면 관리자 API 비활성화)
+        private String adminToken = "";
+    }
+
+    @Getter
+    @Setter
+    public static class Reload {
+
+        // 모델 디렉토리 파일 변경 감시 (emotion.inference.model-dir이 파일 시스템 경로일 때만 의미 있음)
+        private boolean watch = false;
+
+        // 파일 변경 확인 주기 (ms, 변경 후 한 주기 동안 그대로면 재로드)
+        private long pollIntervalMillis = 10000;
+    }
+
+    @Getter
+    @Setter
+    public static class Startup {
+
+        // EAGER: 컨텍스트 초기화 중에 로드 + 워밍업 (readiness는 그 뒤에 통과)
+        // LAZY: 첫 분석 요청 시 백그라운드에서 로드 (그동안 키워드 기반 분석)
+        private StartupMode mode = StartupMode.EAGER;
+
+        // 모든 길이 버킷을 합성 입력으로 실행하는 횟수 (재로드에도 적용)
+        private int warmupRounds = 2;
+
+        // 워밍업 최대 시간 (ms, 초과하면 모델을 공개하지 않음)
+        private long warmupTimeoutMillis = 30000;
+    }
+
+    @Getter
+    @Setter
+    public static class LongText {
+
+        // 사용 여부 (false면 최대 길이를 넘는 토큰은 잘라냄)
+        private boolean enabled = false;
+
+        // 인접 윈도우가 겹치는 토큰 수
+        private int windowOverlap = 128;
+
+        // 한 텍스트당 최대 윈도우 수 (초과 부분은 잘라냄, 최대 배치 크기를 넘으면 최대 배치 크기로 제한해 한 배치로 실행)
+        private int maxWindows = 8;
+
+        // 윈도우별 확률 결합 방식
+        private Aggregation aggregation = Aggregation.MEAN;
+    }
+
+    @Getter
+    @Setter
+    public static class Live {
+
+        // 마지막 수정 후 이 시간 동안 추가 수정이 없으면 분석 (ms)
+        private long debounceMillis = 500;
+
+        // 수정/구독이 없는 초안 상태를 제거하는 시간 (ms, SSE 연결도 함께 종료)
+        private long idleTimeoutMillis = 600000;
+
+        // 동시에 보관하는 초안 수 (초과 시 오래 쓰이지 않은 초안부터 제거)
+        private long maxDrafts = 1000;
+
+        // 초안 최대 길이 (문자 수)
+        private int maxDraftLength = 20000;
+
+        // 분석 스레드 수
+        private int threads = 2;
+    }
+
+    @Getter
+    @Setter
+    public static class Cascade {
+
+        // 사용 여부 (모델 디렉토리에 cascade.json이 있을 때만 동작)
+        private boolean enabled = true;
+
+        // 1단계 분류기 최대 확률이 이 값 이상이면 ONNX 모델 없이 바로 응답
+        private double threshold = 0.9;
+    }
+
+    // 기동 시 모델 로드 방식
+    public enum StartupMode {
+        EAGER,  // 기동 중 로드 + 워밍업
+        LAZY    // 첫 사용 시 백그라운드 로드
+    }
+
+    // 윈도우 결합 방식
+    public enum Aggregation {
+        MEAN,                   // 단순 평균
+        CONFIDENCE_WEIGHTED     // 윈도우별 최대 확률(신뢰도)로 가중 평균
+    }
+}
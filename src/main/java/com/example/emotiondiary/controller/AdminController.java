@@ -0,0 +1,156 @@
+package com.example.emotiondiary.controller;
+
+import com.example.emotiondiary.config.InferenceProperties;
+import com.example.emotiondiary.service.EmotionAnalysisService;
+import com.example.emotiondiary.service.EmotionRollupService;
+import com.example.emotiondiary.service.ReanalysisService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 운영용 관리자 API
+ * X-Admin-Token 헤더가 emotion.inference.reanalysis.admin-token과 일치해야 하며, 토큰이 비어 있으면 비활성화
+ */
+@Controller
+@RequestMapping("/api/admin")
+@RequiredArgsConstructor
+public class AdminController {
+
+    private final ReanalysisService reanalysisService;
+    private final EmotionAnalysisService emotionAnalysisService;
+    private final EmotionRollupService emotionRollupService;
+    private final InferenceProperties inferenceProperties;
+
+    @PostMapping(value = "/reanalysis", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public Map<String, Object> startReanalysis(@RequestHeader(value = "X-Admin-Token", required = false) String token,
+                                               @RequestParam(value = "restart", defaultValue = "false") boolean restart) {
+        Map<String, Object> response = new HashMap<>();
+        if (!isAuthorized(token)) {
+            response.put("success", false);
+            response.put("message", "권한이 없습니다.");
+            return response;
+        }
+
+        try {
+            response.putAll(reanalysisService.start(restart));
+            response.put("success", true);
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("message", "재분석 시작에 실패했습니다: " + e.getMessage());
+        }
+        return response;
+    }
+
+    @PostMapping(value = "/reanalysis/stop", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public Map<String, Object> stopReanalysis(@RequestHeader(value = "X-Admin-Token", required = false) String token) {
+        Map<String, Object> response = new HashMap<>();
+        if (!isAuthorized(token)) {
+            response.put("success", false);
+            response.put("message", "권한이 없습니다.");
+            return response;
+        }
+
+        response.putAll(reanalysisService.stop());
+        response.put("success", true);
+        return response;
+    }
+
+    @GetMapping(value = "/reanalysis", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public Map<String, Object> getReanalysisStatus(@RequestHeader(value = "X-Admin-Token", required = false) String token) {
+        Map<String, Object> response = new HashMap<>();
+        if (!isAuthorized(token)) {
+            response.put("success", false);
+            response.put("message", "권한이 없습니다.");
+            return response;
+        }
+
+        try {
+            response.putAll(reanalysisService.status());
+            response.put("success", true);
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("message", "재분석 상태 조회에 실패했습니다: " + e.getMessage());
+        }
+        return response;
+    }
+
+    /**
+     * 모델 무중단 재로드 시작 (백그라운드에서 진행, 상태는 GET /api/admin/model로 확인)
+     */
+    @PostMapping(value = "/model/reload", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public Map<String, Object> reloadModel(@RequestHeader(value = "X-Admin-Token", required = false) String token) {
+        Map<String, Object> response = new HashMap<>();
+        if (!isAuthorized(token)) {
+            response.put("success", false);
+            response.put("message", "권한이 없습니다.");
+            return response;
+        }
+
+        try {
+            response.putAll(emotionAnalysisService.reload());
+            response.put("success", true);
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("message", "모델 재로드 시작에 실패했습니다: " + e.getMessage());
+        }
+        return response;
+    }
+
+    @GetMapping(value = "/model", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public Map<String, Object> getModelStatus(@RequestHeader(value = "X-Admin-Token", required = false) String token) {
+        Map<String, Object> response = new HashMap<>();
+        if (!isAuthorized(token)) {
+            response.put("success", false);
+            response.put("message", "권한이 없습니다.");
+            return response;
+        }
+
+        response.putAll(emotionAnalysisService.modelStatus());
+        response.put("success", true);
+        return response;
+    }
+
+    /**
+     * 월별 감정 집계를 원본 데이터로 즉시 다시 계산 (완료까지 대기)
+     */
+    @PostMapping(value = "/emotion-rollup/rebuild", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public Map<String, Object> rebuildEmotionRollup(@RequestHeader(value = "X-Admin-Token", required = false) String token) {
+        Map<String, Object> response = new HashMap<>();
+        if (!isAuthorized(token)) {
+            response.put("success", false);
+            response.put("message", "권한이 없습니다.");
+            return response;
+        }
+
+        try {
+            response.putAll(emotionRollupService.repair());
+            response.put("success", true);
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("message", "월별 감정 집계 재계산에 실패했습니다: " + e.getMessage());
+        }
+        return response;
+    }
+
+    private boolean isAuthorized(String token) {
+        String adminToken = inferenceProperties.getReanalysis().getAdminToken();
+        if (adminToken == null || adminToken.isBlank() || token == null) {
+            return false;
+        }
+        // 상수 시간 비교
+        return MessageDigest.isEqual(adminToken.getBytes(StandardCharsets.UTF_8), token.getBytes(StandardCharsets.UTF_8));
+    }
+}
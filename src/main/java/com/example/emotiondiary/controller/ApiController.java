@@ -1,14 +1,23 @@
 package com.example.emotiondiary.controller;
 
+import com.example.emotiondiary.config.InferenceProperties;
+import com.example.emotiondiary.dto.DiaryListPage;
+import com.example.emotiondiary.entity.AnalysisJob;
 import com.example.emotiondiary.entity.Diary;
 import com.example.emotiondiary.entity.DiaryImage;
 import com.example.emotiondiary.entity.SentimentAnalysis;
 import com.example.emotiondiary.entity.User;
+import com.example.emotiondiary.service.AnalysisJobService;
 import com.example.emotiondiary.service.DiaryImageService;
 import com.example.emotiondiary.service.DiaryService;
+import com.example.emotiondiary.service.DiarySummaryBackfill;
 import com.example.emotiondiary.service.EmotionAnalysisService;
+import com.example.emotiondiary.service.EmotionPrediction;
+import com.example.emotiondiary.service.LiveAnalysisService;
 import com.example.emotiondiary.service.SentimentAnalysisService;
 import com.example.emotiondiary.service.UserService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Controller;
@@ -16,27 +25,43 @@ import org.springframework.web.bind.annotation.*;
 
 import jakarta.servlet.http.HttpSession;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.time.DateTimeException;
 import java.time.LocalDate;
 import java.util.*;
 import java.util.stream.Collectors;
 import java.util.UUID;
+import java.util.regex.Pattern;
 
 @Controller
 @RequestMapping("/api")
 @RequiredArgsConstructor
 public class ApiController {
     
+    // 일괄 분석 응답을 내보내는 단위 (이 단위로 추론 후 flush)
+    private static final int BATCH_ANALYSIS_CHUNK_SIZE = 256;
+    
+    // 실시간 분석 초안 ID (클라이언트가 만든 UUID 등)
+    private static final Pattern DRAFT_ID_PATTERN = Pattern.compile("[A-Za-z0-9-]{1,64}");
+    
     private final UserService userService;
     private final DiaryService diaryService;
+    private final DiarySummaryBackfill diarySummaryBackfill;
     private final DiaryImageService diaryImageService;
     private final SentimentAnalysisService sentimentAnalysisService;
     private final EmotionAnalysisService emotionAnalysisService;
+    private final AnalysisJobService analysisJobService;
+    private final LiveAnalysisService liveAnalysisService;
+    private final InferenceProperties inferenceProperties;
+    private final ObjectMapper objectMapper;
     
     @PostMapping(value = "/login", produces = MediaType.APPLICATION_JSON_VALUE)
     @ResponseBody
@@ -154,43 +179,121 @@ public class ApiController {
     
     @GetMapping(value = "/diaries", produces = MediaType.APPLICATION_JSON_VALUE)
     @ResponseBody
-    public List<Map<String, Object>> getDiaries(HttpSession session) {
+    public Map<String, Object> getDiaries(@RequestParam(value = "cursor", required = false) String cursor,
+                                          @RequestParam(value = "size", defaultValue = "" + DiaryService.DEFAULT_PAGE_SIZE) int size,
+                                          @RequestParam(value = "from", required = false) String from,
+                                          @RequestParam(value = "to", required = false) String to,
+                                          HttpSession session) {
+        Map<String, Object> response = new HashMap<>();
+        
         Long userId = (Long) session.getAttribute("userId");
         if (userId == null) {
-            return new ArrayList<>();
+            response.put("success", false);
+            response.put("message", "로그인이 필요합니다.");
+            return response;
         }
         
-        List<Diary> diaries = diaryService.findByUserId(userId);
+        try {
+            // 최신순 한 페이지 (일기 + 감정 + 이미지 URL을 쿼리 두 번으로 조회)
+            // from/to(yyyy-MM-dd)를 주면 일기 날짜가 그 범위 안인 일기만 (메인 화면은 최근 일주일)
+            DiaryListPage page = diaryService.findListPage(userId,
+                    from == null || from.isBlank() ? null : LocalDate.parse(from),
+                    to == null || to.isBlank() ? null : LocalDate.parse(to),
+                    cursor, size);
+            response.put("success", true);
+            response.put("diaries", page.getDiaries());
+            response.put("nextCursor", page.getNextCursor());
+        } catch (DateTimeException e) {
+            response.put("success", false);
+            response.put("message", "잘못된 날짜입니다.");
+        } catch (IllegalArgumentException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+        }
         
-        return diaries.stream().map(diary -> {
-            Map<String, Object> diaryMap = new HashMap<>();
-            diaryMap.put("id", diary.getDiaryId().toString());
-            diaryMap.put("title", diary.getTitle());
-            diaryMap.put("content", diary.getContent());
-            diaryMap.put("date", diary.getDiaryDate().toString());
-            // 작성 시간 추가 (createdAt)
-            if (diary.getCreatedAt() != null) {
-                diaryMap.put("createdAt", diary.getCreatedAt().toString());
-            }
-            
-            // 감정 분석 결과 조회
-            Optional<SentimentAnalysis> sentimentOpt = sentimentAnalysisService.findByDiaryId(diary.getDiaryId());
-            if (sentimentOpt.isPresent()) {
-                SentimentAnalysis sentiment = sentimentOpt.get();
-                // Enum을 소문자 문자열로 변환 (프론트엔드와 호환)
-                String emotionStr = sentiment.getEmotion().name().toLowerCase();
-                diaryMap.put("emotion", emotionStr);
-            }
-            
-            // 이미지 목록 조회
-            List<DiaryImage> images = diaryImageService.findByDiaryId(diary.getDiaryId());
-            List<String> imageUrls = images.stream()
-                    .map(DiaryImage::getImageUrl)
-                    .collect(Collectors.toList());
-            diaryMap.put("images", imageUrls);
-            
-            return diaryMap;
-        }).collect(Collectors.toList());
+        return response;
+    }
+    
+    /**
+     * 전체 기간 감정별 일기 수 (메인 화면 통계)
+     * 응답: {"success": true, "counts": {"happy": 3, "anxiety": 0, ...}}
+     */
+    @GetMapping(value = "/diaries/emotion-counts", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public Map<String, Object> getEmotionCounts(HttpSession session) {
+        Map<String, Object> response = new HashMap<>();
+        
+        Long userId = (Long) session.getAttribute("userId");
+        if (userId == null) {
+            response.put("success", false);
+            response.put("message", "로그인이 필요합니다.");
+            return response;
+        }
+        
+        response.put("success", true);
+        response.put("counts", sentimentAnalysisService.countByEmotion(userId));
+        return response;
+    }
+    
+    /**
+     * 달력 한 달 요약 (일기가 있는 날짜마다 날짜, 대표 감정, 일기 수, 첫 번째 이미지)
+     * 응답: {"success": true, "days": [{"date": "2024-01-05", "emotion": "happy", "count": 2, "thumbnail": "/images/..."}],
+     *        "counts": {"happy": 3, ...}}
+     */
+    @GetMapping(value = "/calendar/{year}/{month}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public Map<String, Object> getCalendarMonth(@PathVariable("year") int year,
+                                                @PathVariable("month") int month,
+                                                HttpSession session) {
+        Map<String, Object> response = new HashMap<>();
+        
+        Long userId = (Long) session.getAttribute("userId");
+        if (userId == null) {
+            response.put("success", false);
+            response.put("message", "로그인이 필요합니다.");
+            return response;
+        }
+        
+        try {
+            response.put("days", diaryService.findCalendarDays(userId, year, month));
+            response.put("counts", sentimentAnalysisService.countByEmotion(userId, year, month));
+            response.put("success", true);
+        } catch (DateTimeException e) {
+            response.put("success", false);
+            response.put("message", "잘못된 날짜입니다.");
+        }
+        
+        return response;
+    }
+    
+    /**
+     * 달력에서 선택한 하루의 일기 목록 (최신 작성순)
+     */
+    @GetMapping(value = "/calendar/{year}/{month}/{day}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public Map<String, Object> getCalendarDay(@PathVariable("year") int year,
+                                              @PathVariable("month") int month,
+                                              @PathVariable("day") int day,
+                                              HttpSession session) {
+        Map<String, Object> response = new HashMap<>();
+        
+        Long userId = (Long) session.getAttribute("userId");
+        if (userId == null) {
+            response.put("success", false);
+            response.put("message", "로그인이 필요합니다.");
+            return response;
+        }
+        
+        try {
+            LocalDate date = LocalDate.of(year, month, day);
+            response.put("diaries", diaryService.findListItemsByDate(userId, date));
+            response.put("success", true);
+        } catch (DateTimeException e) {
+            response.put("success", false);
+            response.put("message", "잘못된 날짜입니다.");
+        }
+        
+        return response;
     }
     
     @GetMapping(value = "/diaries/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
@@ -288,8 +391,11 @@ public class ApiController {
                     .diaryDate(LocalDate.parse((String) diaryData.get("date")))
                     .build();
             
-            // Diary 저장
-            Diary savedDiary = diaryService.save(diary);
+            // Diary 저장 (비동기 분석이면 분석 작업도 같은 트랜잭션에서 등록)
+            boolean analyzeAsync = inferenceProperties.getAsync().isEnabled();
+            Diary savedDiary = diaryService.save(diary, analyzeAsync);
+            // 토큰 수는 커밋 후 백그라운드에서 계산
+            diarySummaryBackfill.fillTokenCount(savedDiary.getDiaryId());
             
             // 이미지 저장
             Object imageUrlsObj = diaryData.get("imageUrls");
@@ -319,7 +425,10 @@ public class ApiController {
             
             // 감정 분석 결과 저장
             Object emotionObj = diaryData.get("emotion");
-            if (emotionObj != null) {
+            if (analyzeAsync) {
+                // 분석 작업은 일기와 함께 등록됨, 바로 응답 (백그라운드 워커가 분석 후 실제 신뢰도와 함께 저장)
+                response.put("analysisStatus", AnalysisJob.Status.PENDING.name().toLowerCase());
+            } else if (emotionObj != null) {
                 String emotionStr = emotionObj.toString().toUpperCase();
                 
                 try {
@@ -337,6 +446,7 @@ public class ApiController {
             }
             
             response.put("success", true);
+            response.put("diaryId", savedDiary.getDiaryId().toString());
         } catch (Exception e) {
             response.put("success", false);
             response.put("message", "일기 저장에 실패했습니다: " + e.getMessage());
@@ -381,8 +491,12 @@ public class ApiController {
                         : diary.getDiaryDate())
                     .build();
         
-            // 일기 수정
-            diaryService.update(diaryId, updatedDiary);
+            // 일기 수정 (비동기 분석이고 내용이 바뀌면 분석 작업도 같은 트랜잭션에서 재등록)
+            boolean analyzeAsync = inferenceProperties.getAsync().isEnabled();
+            diaryService.update(diaryId, updatedDiary, analyzeAsync);
+            if (updatedDiary.getContent() != null) {
+                diarySummaryBackfill.fillTokenCount(diaryId);
+            }
             
             // 이미지 업데이트 (기존 이미지 삭제 후 새로 저장)
             Object imageUrlsObj = diaryData.get("imageUrls");
@@ -416,7 +530,12 @@ public class ApiController {
             
             // 감정 분석 결과 업데이트
             Object emotionObj = diaryData.get("emotion");
-            if (emotionObj != null) {
+            if (analyzeAsync) {
+                // 내용이 바뀐 경우에만 다시 분석 (작업은 수정과 함께 등록됨)
+                if (updatedDiary.getContent() != null) {
+                    response.put("analysisStatus", AnalysisJob.Status.PENDING.name().toLowerCase());
+                }
+            } else if (emotionObj != null) {
                 String emotionStr = emotionObj.toString().toUpperCase();
                 
                 try {
@@ -445,6 +564,67 @@ public class ApiController {
         return response;
     }
     
+    @GetMapping(value = "/diaries/{id}/analysis", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public Map<String, Object> getAnalysisStatus(@PathVariable("id") String id, HttpSession session) {
+        Long userId = (Long) session.getAttribute("userId");
+        Map<String, Object> response = new HashMap<>();
+        
+        if (userId == null) {
+            response.put("success", false);
+            response.put("message", "로그인이 필요합니다.");
+            return response;
+        }
+        
+        try {
+            Long diaryId = Long.parseLong(id);
+            
+            // 일기 조회 및 소유자 확인 (User 엔티티 함께 로드)
+            Diary diary = diaryService.findByIdWithUser(diaryId)
+                    .orElseThrow(() -> new IllegalArgumentException("일기를 찾을 수 없습니다."));
+            
+            if (diary.getUser() == null || !diary.getUser().getUserId().equals(userId)) {
+                response.put("success", false);
+                response.put("message", "권한이 없습니다.");
+                return response;
+            }
+            
+            // 작업 상태 (작업 없이 저장된 결과만 있으면 done, 둘 다 없으면 none)
+            Optional<AnalysisJob> jobOpt = analysisJobService.findByDiaryId(diaryId);
+            Optional<SentimentAnalysis> sentimentOpt = sentimentAnalysisService.findByDiaryId(diaryId);
+            String status;
+            if (jobOpt.isPresent()) {
+                status = jobOpt.get().getStatus().name().toLowerCase();
+                if (jobOpt.get().getStatus() == AnalysisJob.Status.FAILED) {
+                    response.put("error", jobOpt.get().getLastError());
+                }
+            } else {
+                status = sentimentOpt.isPresent() ? "done" : "none";
+            }
+            response.put("status", status);
+            
+            // 감정 분석 결과 (재분석 대기 중이면 이전 결과)
+            if (sentimentOpt.isPresent()) {
+                SentimentAnalysis sentiment = sentimentOpt.get();
+                response.put("emotion", sentiment.getEmotion().name().toLowerCase());
+                response.put("confidence", sentiment.getConfidence());
+            }
+            
+            response.put("success", true);
+        } catch (NumberFormatException e) {
+            response.put("success", false);
+            response.put("message", "잘못된 일기 ID입니다.");
+        } catch (IllegalArgumentException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("message", "감정 분석 상태 조회에 실패했습니다: " + e.getMessage());
+        }
+        
+        return response;
+    }
+    
     @DeleteMapping(value = "/diaries/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
     @ResponseBody
     public Map<String, Object> deleteDiary(@PathVariable("id") String id, HttpSession session) {
@@ -586,8 +766,7 @@ public class ApiController {
             userInfo.put("createdAt", user.getCreatedAt() != null ? user.getCreatedAt().toString() : null);
             
             // 일기 통계
-            List<Diary> diaries = diaryService.findByUserId(userId);
-            userInfo.put("totalDiaries", diaries.size());
+            userInfo.put("totalDiaries", diaryService.countByUserId(userId));
             
             response.put("success", true);
             response.put("user", userInfo);
@@ -738,11 +917,13 @@ public class ApiController {
                 return response;
             }
             
-            // 감정 분석 수행
-            SentimentAnalysis.Emotion emotion = emotionAnalysisService.analyzeEmotion(text);
+            // 감정 분석 수행 (과부하 시 키워드 기반으로 응답)
+            EmotionPrediction prediction = emotionAnalysisService.analyze(text);
             
             response.put("success", true);
-            response.put("emotion", emotion.name().toLowerCase());
+            response.put("emotion", prediction.getEmotion().name().toLowerCase());
+            response.put("confidence", prediction.getConfidence());
+            response.put("source", prediction.getSource().name().toLowerCase());
             response.put("message", "감정 분석이 완료되었습니다.");
             
         } catch (Exception e) {
@@ -753,6 +934,197 @@ public class ApiController {
         return response;
     }
     
+    /**
+     * 여러 텍스트 일괄 감정 분석
+     * 요청: {"texts": ["...", ...]}
+     * 응답: {"success": true, "labels": [...], "results": [{"emotion", "confidence", "source", "probabilities"}, ...]}
+     * probabilities는 labels 순서의 softmax 확률 (키워드 기반 분석이면 null)
+     * 결과는 일정 건수마다 추론 후 바로 응답 스트림으로 내보내 전체 결과를 메모리에 쌓지 않음
+     * 단건 분석과 같은 추론 진입 제한을 거치며, 과부하로 거절된 항목은 키워드 결과 (source=degraded)
+     */
+    @PostMapping(value = "/analyze-emotion/batch", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public StreamingResponseBody analyzeEmotionBatch(@RequestBody Map<String, Object> request,
+                                                     HttpSession session) {
+        Map<String, Object> response = new HashMap<>();
+        
+        // 로그인 확인
+        Long userId = (Long) session.getAttribute("userId");
+        if (userId == null) {
+            response.put("success", false);
+            response.put("message", "로그인이 필요합니다.");
+            return out -> objectMapper.writeValue(out, response);
+        }
+        
+        Object textsObj = request.get("texts");
+        if (!(textsObj instanceof List) || ((List<?>) textsObj).isEmpty()) {
+            response.put("success", false);
+            response.put("message", "분석할 텍스트 목록(texts)을 입력해주세요.");
+            return out -> objectMapper.writeValue(out, response);
+        }
+        
+        List<?> rawTexts = (List<?>) textsObj;
+        int maxTexts = inferenceProperties.getBatch().getMaxRequestTexts();
+        if (rawTexts.size() > maxTexts) {
+            response.put("success", false);
+            response.put("message", "한 번에 최대 " + maxTexts + "개까지 분석할 수 있습니다.");
+            return out -> objectMapper.writeValue(out, response);
+        }
+        
+        List<String> texts = new ArrayList<>(rawTexts.size());
+        for (Object item : rawTexts) {
+            texts.add(item != null ? item.toString() : null);
+        }
+        return out -> writeBatchAnalysis(out, texts);
+    }
+    
+    private void writeBatchAnalysis(OutputStream out, List<String> texts) throws IOException {
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+            json.writeStartObject();
+            json.writeBooleanField("success", true);
+            
+            json.writeArrayFieldStart("labels");
+            for (SentimentAnalysis.Emotion label : emotionAnalysisService.getLabels()) {
+                json.writeString(label != null ? label.name().toLowerCase() : null);
+            }
+            json.writeEndArray();
+            
+            json.writeArrayFieldStart("results");
+            for (int from = 0; from < texts.size(); from += BATCH_ANALYSIS_CHUNK_SIZE) {
+                int to = Math.min(texts.size(), from + BATCH_ANALYSIS_CHUNK_SIZE);
+                for (EmotionPrediction prediction : emotionAnalysisService.analyzeAll(texts.subList(from, to), true)) {
+                    json.writeStartObject();
+                    json.writeStringField("emotion", prediction.getEmotion().name().toLowerCase());
+                    json.writeNumberField("confidence", prediction.getConfidence());
+                    json.writeStringField("source", prediction.getSource().name().toLowerCase());
+                    json.writeFieldName("probabilities");
+                    float[] probabilities = prediction.getProbabilities();
+                    if (probabilities == null) {
+                        json.writeNull();
+                    } else {
+                        json.writeStartArray();
+                        for (float probability : probabilities) {
+                            json.writeNumber(probability);
+                        }
+                        json.writeEndArray();
+                    }
+                    json.writeEndObject();
+                }
+                json.flush();
+            }
+            json.writeEndArray();
+            
+            json.writeEndObject();
+        }
+    }
+    
+    /**
+     * 작성 중 실시간 감정 분석 결과 구독 (SSE, 이벤트 이름 analysis)
+     * 이벤트: {"success": true, "revision", "emotion", "confidence", "source", "probabilities", "paragraphs", "inferred", "reused"}
+     * 로그인하지 않았거나 초안 ID가 올바르지 않으면 {"success": false, "message"} 한 번 보내고 종료
+     */
+    @GetMapping(value = "/live/drafts/{draftId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ResponseBody
+    public SseEmitter subscribeLiveAnalysis(@PathVariable String draftId, HttpSession session) {
+        Long userId = (Long) session.getAttribute("userId");
+        String error = userId == null ? "로그인이 필요합니다."
+                : !DRAFT_ID_PATTERN.matcher(draftId).matches() ? "초안 ID가 올바르지 않습니다." : null;
+        if (error == null) {
+            return liveAnalysisService.subscribe(userId, draftId);
+        }
+        
+        SseEmitter emitter = new SseEmitter(0L);
+        try {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", error);
+            emitter.send(SseEmitter.event().name("analysis").data(response));
+            emitter.complete();
+        } catch (IOException e) {
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+    
+    /**
+     * 초안 수정분 전송 (분석은 수정이 멈춘 뒤 SSE로 전달)
+     * 요청: {"revision": 현재 수정 번호, "from", "to", "text"} ([from, to) 구간을 text로 교체)
+     *       또는 {"content": 전체 본문} (첫 전송, 재동기화)
+     * 응답: {"success": true, "revision": 새 수정 번호}
+     *       수정 번호가 맞지 않으면 {"success": false, "resync": true, "revision": 현재 번호} → 전체 본문으로 다시 전송
+     */
+    @PostMapping(value = "/live/drafts/{draftId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public Map<String, Object> updateLiveDraft(@PathVariable String draftId,
+                                               @RequestBody Map<String, Object> request,
+                                               HttpSession session) {
+        Map<String, Object> response = new HashMap<>();
+        
+        Long userId = (Long) session.getAttribute("userId");
+        if (userId == null) {
+            response.put("success", false);
+            response.put("message", "로그인이 필요합니다.");
+            return response;
+        }
+        if (!DRAFT_ID_PATTERN.matcher(draftId).matches()) {
+            response.put("success", false);
+            response.put("message", "초안 ID가 올바르지 않습니다.");
+            return response;
+        }
+        
+        try {
+            long revision;
+            if (request.containsKey("content")) {
+                Object content = request.get("content");
+                revision = liveAnalysisService.replaceContent(userId, draftId, content != null ? content.toString() : "");
+            } else if (request.get("revision") instanceof Number baseRevision
+                    && request.get("from") instanceof Number from
+                    && request.get("to") instanceof Number to) {
+                Object text = request.get("text");
+                revision = liveAnalysisService.applyDelta(userId, draftId, baseRevision.longValue(),
+                        from.intValue(), to.intValue(), text != null ? text.toString() : "");
+            } else {
+                response.put("success", false);
+                response.put("message", "수정 내용(revision, from, to, text 또는 content)을 입력해주세요.");
+                return response;
+            }
+            
+            response.put("success", true);
+            response.put("revision", revision);
+            
+        } catch (IllegalStateException e) {
+            response.put("success", false);
+            response.put("resync", true);
+            response.put("revision", liveAnalysisService.revision(userId, draftId));
+            response.put("message", e.getMessage());
+        } catch (IllegalArgumentException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+        }
+        
+        return response;
+    }
+    
+    /**
+     * 초안 실시간 분석 종료 (저장/페이지 이탈 시)
+     */
+    @DeleteMapping(value = "/live/drafts/{draftId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public Map<String, Object> closeLiveDraft(@PathVariable String draftId, HttpSession session) {
+        Map<String, Object> response = new HashMap<>();
+        
+        Long userId = (Long) session.getAttribute("userId");
+        if (userId == null) {
+            response.put("success", false);
+            response.put("message", "로그인이 필요합니다.");
+            return response;
+        }
+        
+        liveAnalysisService.close(userId, draftId);
+        response.put("success", true);
+        return response;
+    }
+    
     @DeleteMapping(value = "/user/delete", produces = MediaType.APPLICATION_JSON_VALUE)
     @ResponseBody
     public Map<String, Object> deleteUser(@RequestBody Map<String, String> deleteData,
@@ -779,9 +1151,8 @@ public class ApiController {
             }
             
             // 사용자의 모든 일기 삭제 (cascade로 자동 삭제되지만 명시적으로 처리)
-            List<Diary> diaries = diaryService.findByUserId(userId);
-            for (Diary diary : diaries) {
-                diaryService.delete(diary.getDiaryId());
+            for (Long diaryId : diaryService.findIdsByUserId(userId)) {
+                diaryService.delete(diaryId);
             }
             
             // 사용자 삭제
@@ -0,0 +1,26 @@
+package com.example.emotiondiary.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 달력 하루 요약 (GET /api/calendar/{year}/{month}, 일기가 있는 날짜만)
+ * 감정 분석 결과나 이미지가 없으면 해당 필드는 응답에서 빠짐
+ */
+@Getter
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CalendarDay {
+
+    private final String date;
+
+    // 그날 가장 최근에 작성한(분석된) 일기의 소문자 감정 이름
+    private final String emotion;
+
+    // 그날 작성한 일기 수
+    private final int count;
+
+    // 그날 일기 중 첫 번째 이미지 URL (최신 작성순, 정렬 순서대로)
+    private final String thumbnail;
+}
@@ -0,0 +1,32 @@
+package com.example.emotiondiary.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 일기 목록 응답 항목 (GET /api/diaries)
+ * 본문 대신 미리보기와 글자/토큰 수만 담음 (본문은 GET /api/diaries/{id})
+ * 감정 분석 결과, 작성 시간, 토큰 수가 없으면 해당 필드는 응답에서 빠짐
+ */
+@Getter
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DiaryListItem {
+
+    private final String id;
+    private final String title;
+    private final String excerpt;
+    private final Integer charCount;
+    private final Integer tokenCount;
+    private final String date;
+    private final String createdAt;
+
+    // 소문자 감정 이름 (프론트엔드와 호환)
+    private final String emotion;
+
+    // 정렬 순서대로 정렬된 이미지 URL
+    private final List<String> images;
+}
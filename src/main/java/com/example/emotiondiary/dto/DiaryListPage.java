@@ -0,0 +1,18 @@
+package com.example.emotiondiary.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 일기 목록 한 페이지 (최신순)
+ * nextCursor를 다음 요청의 cursor로 넘기면 이어지는 페이지를 받으며, 마지막 페이지면 null
+ */
+@Getter
+@AllArgsConstructor
+public class DiaryListPage {
+
+    private final List<DiaryListItem> diaries;
+    private final String nextCursor;
+}
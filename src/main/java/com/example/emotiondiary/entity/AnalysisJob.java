@@ -0,0 +1,74 @@
+package com.example.emotiondiary.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 비동기 감정 분석 작업 (일기당 하나, 재등록 시 같은 행을 PENDING으로 되돌림)
+ * DB에 저장되므로 재시작 후에도 남은 작업을 이어서 처리
+ */
+@Entity
+@Table(name = "analysis_jobs",
+       indexes = @Index(name = "idx_analysis_jobs_status", columnList = "status, job_id"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AnalysisJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "job_id")
+    private Long jobId;
+
+    // 일기 삭제와 무관하게 남을 수 있도록 FK 없이 ID만 보관 (워커가 삭제된 일기의 작업을 정리)
+    @Column(name = "diary_id", nullable = false, unique = true)
+    private Long diaryId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private Status status;
+
+    @Column(name = "attempts", nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    // 워커가 작업을 가져간 시각 (오래된 RUNNING 작업 회수에 사용)
+    @Column(name = "locked_at")
+    private LocalDateTime lockedAt;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    // 작업 상태 열거형
+    public enum Status {
+        PENDING,    // 대기
+        RUNNING,    // 분석 중
+        DONE,       // 완료
+        FAILED      // 실패 (최대 시도 횟수 초과)
+    }
+}
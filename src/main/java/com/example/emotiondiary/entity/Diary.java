@@ -13,7 +13,12 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "diaries")
+// 목록 키셋 페이지 조회 (user_id 범위 + created_at, diary_id 역순), 달력 월 조회 (user_id + diary_date 범위)
+@Table(name = "diaries",
+       indexes = {
+           @Index(name = "idx_diaries_user_created", columnList = "user_id, created_at, diary_id"),
+           @Index(name = "idx_diaries_user_date", columnList = "user_id, diary_date")
+       })
 @Getter
 @Setter
 @NoArgsConstructor
@@ -21,6 +26,9 @@ import java.util.List;
 @Builder
 public class Diary {
     
+    // 미리보기 최대 글자 수
+    public static final int EXCERPT_LENGTH = 100;
+    
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "diary_id")
@@ -33,6 +41,18 @@ public class Diary {
     @Column(name = "content", columnDefinition = "TEXT")
     private String content;
     
+    // 목록/달력 미리보기용 본문 앞부분 (공백 정리, 최대 EXCERPT_LENGTH자), 본문 저장 시 갱신
+    @Column(name = "excerpt", length = 200)
+    private String excerpt;
+    
+    // 본문 글자 수 (코드 포인트 기준)
+    @Column(name = "char_count")
+    private Integer charCount;
+    
+    // 본문 토큰 수 ([CLS]/[SEP] 제외, 저장/수정 커밋 후 DiarySummaryBackfill이 채우며 그 전이나 모델 미로드 상태면 null)
+    @Column(name = "token_count")
+    private Integer tokenCount;
+    
     @Column(name = "title", length = 200)
     private String title;
     
@@ -58,11 +78,56 @@ public class Diary {
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
+        summarize();
     }
     
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
+        summarize();
+    }
+    
+    private void summarize() {
+        excerpt = excerptOf(content);
+        charCount = charCountOf(content);
+    }
+    
+    /**
+     * 미리보기 문자열 (연속 공백/줄바꿈을 한 칸으로 줄이고 앞 EXCERPT_LENGTH자, 잘린 경우 말줄임표)
+     */
+    public static String excerptOf(String content) {
+        if (content == null) {
+            return "";
+        }
+        StringBuilder excerpt = new StringBuilder(Math.min(content.length(), EXCERPT_LENGTH * 2) + 1);
+        int length = 0;
+        boolean pendingSpace = false;
+        for (int i = 0; i < content.length(); ) {
+            int codePoint = content.codePointAt(i);
+            i += Character.charCount(codePoint);
+            if (Character.isWhitespace(codePoint)) {
+                pendingSpace = length > 0;
+                continue;
+            }
+            if (length + (pendingSpace ? 1 : 0) >= EXCERPT_LENGTH) {
+                return excerpt.append('…').toString();
+            }
+            if (pendingSpace) {
+                excerpt.append(' ');
+                length++;
+                pendingSpace = false;
+            }
+            excerpt.appendCodePoint(codePoint);
+            length++;
+        }
+        return excerpt.toString();
+    }
+    
+    /**
+     * 본문 글자 수 (코드 포인트 기준, 본문이 없으면 0)
+     */
+    public static int charCountOf(String content) {
+        return content != null ? content.codePointCount(0, content.length()) : 0;
     }
 }
 
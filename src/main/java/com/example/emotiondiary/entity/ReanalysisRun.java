@@ -0,0 +1,82 @@
+package com.example.emotiondiary.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 모델 버전별 전체 일기 재분석 실행 기록
+ * 페이지마다 마지막으로 처리한 diary_id를 체크포인트로 저장해 중단 후 이어서 실행
+ */
+@Entity
+@Table(name = "reanalysis_runs")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReanalysisRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "run_id")
+    private Long runId;
+
+    // 모델 파일 지문 (ModelResources.fingerprint)
+    @Column(name = "model_version", nullable = false, length = 255)
+    private String modelVersion;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private Status status;
+
+    // 체크포인트: 마지막으로 처리한 diary_id (이 값보다 큰 일기부터 재개)
+    @Column(name = "last_diary_id", nullable = false)
+    @Builder.Default
+    private Long lastDiaryId = 0L;
+
+    @Column(name = "processed", nullable = false)
+    @Builder.Default
+    private Long processed = 0L;
+
+    // 시작(재개) 시점 기준 전체 대상 수
+    @Column(name = "total", nullable = false)
+    @Builder.Default
+    private Long total = 0L;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "started_at", nullable = false, updatable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        startedAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    // 실행 상태 열거형
+    public enum Status {
+        RUNNING,    // 실행 중 (비정상 종료 시 이 상태로 남아 재개 대상)
+        PAUSED,     // 중지 요청/종료로 멈춤
+        DONE,       // 완료
+        FAILED      // 오류로 중단
+    }
+}
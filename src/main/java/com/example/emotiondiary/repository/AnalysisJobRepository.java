@@ -0,0 +1,63 @@
+package com.example.emotiondiary.repository;
+
+import com.example.emotiondiary.entity.AnalysisJob;
+import com.example.emotiondiary.entity.AnalysisJob.Status;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AnalysisJobRepository extends JpaRepository<AnalysisJob, Long> {
+
+    /**
+     * 일기 ID로 작업 조회
+     */
+    Optional<AnalysisJob> findByDiaryId(Long diaryId);
+
+    /**
+     * 상태별 작업 조회 (등록 순)
+     */
+    @Query("SELECT j FROM AnalysisJob j WHERE j.status = :status ORDER BY j.jobId")
+    List<AnalysisJob> findByStatus(@Param("status") Status status, Pageable pageable);
+
+    /**
+     * 대기 작업 선점 (다른 워커가 먼저 가져갔으면 0 반환)
+     */
+    @Modifying
+    @Query("UPDATE AnalysisJob j SET j.status = :running, j.attempts = j.attempts + 1, " +
+           "j.lockedAt = :now, j.updatedAt = :now " +
+           "WHERE j.jobId = :jobId AND j.status = :pending")
+    int claim(@Param("jobId") Long jobId,
+              @Param("pending") Status pending,
+              @Param("running") Status running,
+              @Param("now") LocalDateTime now);
+
+    /**
+     * 상태 전환 (현재 상태가 from인 경우에만, 분석 중 재등록된 작업은 0 반환)
+     */
+    @Modifying
+    @Query("UPDATE AnalysisJob j SET j.status = :to, j.lockedAt = NULL, j.updatedAt = :now " +
+           "WHERE j.jobId = :jobId AND j.status = :from")
+    int transition(@Param("jobId") Long jobId,
+                   @Param("from") Status from,
+                   @Param("to") Status to,
+                   @Param("now") LocalDateTime now);
+
+    /**
+     * 오래된 RUNNING 작업을 대기 상태로 되돌림 (재시작/워커 중단으로 남은 작업 회수)
+     */
+    @Modifying
+    @Query("UPDATE AnalysisJob j SET j.status = :pending, j.lockedAt = NULL, j.updatedAt = :now " +
+           "WHERE j.status = :running AND j.lockedAt < :lockedBefore")
+    int releaseStale(@Param("pending") Status pending,
+                     @Param("running") Status running,
+                     @Param("lockedBefore") LocalDateTime lockedBefore,
+                     @Param("now") LocalDateTime now);
+}
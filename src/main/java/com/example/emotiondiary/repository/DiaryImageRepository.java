@@ -2,8 +2,11 @@ package com.example.emotiondiary.repository;
 
 import com.example.emotiondiary.entity.DiaryImage;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -14,9 +17,33 @@ public interface DiaryImageRepository extends JpaRepository<DiaryImage, Long> {
      */
     List<DiaryImage> findByDiaryDiaryIdOrderBySortOrderAsc(Long diaryId);
     
+    /**
+     * 여러 일기의 이미지 URL을 한 번에 조회 (일기 ID, 정렬 순서대로)
+     */
+    @Query("SELECT i.diary.diaryId AS diaryId, i.imageUrl AS imageUrl FROM DiaryImage i " +
+           "WHERE i.diary.diaryId IN :diaryIds ORDER BY i.diary.diaryId, i.sortOrder")
+    List<ImageUrl> findUrlsByDiaryIds(@Param("diaryIds") Collection<Long> diaryIds);
+    
+    /**
+     * 여러 일기의 첫 번째 이미지 URL만 조회 (일기마다 정렬 순서가 가장 앞선 이미지, 달력 썸네일용)
+     */
+    @Query("SELECT i.diary.diaryId AS diaryId, i.imageUrl AS imageUrl FROM DiaryImage i " +
+           "WHERE i.diary.diaryId IN :diaryIds " +
+           "AND i.sortOrder = (SELECT MIN(f.sortOrder) FROM DiaryImage f WHERE f.diary = i.diary) " +
+           "ORDER BY i.diary.diaryId, i.imageId")
+    List<ImageUrl> findFirstUrlsByDiaryIds(@Param("diaryIds") Collection<Long> diaryIds);
+    
     /**
      * 일기 ID로 이미지 삭제
      */
     void deleteByDiaryDiaryId(Long diaryId);
+    
+    /**
+     * 일기 ID와 이미지 URL (목록 조회용 프로젝션)
+     */
+    interface ImageUrl {
+        Long getDiaryId();
+        String getImageUrl();
+    }
 }
 
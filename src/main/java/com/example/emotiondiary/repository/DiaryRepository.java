@@ -1,12 +1,16 @@
 package com.example.emotiondiary.repository;
 
 import com.example.emotiondiary.entity.Diary;
+import com.example.emotiondiary.entity.SentimentAnalysis;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,9 +18,48 @@ import java.util.Optional;
 public interface DiaryRepository extends JpaRepository<Diary, Long> {
     
     /**
-     * 사용자 ID로 일기 목록 조회 (최신순)
+     * 사용자의 일기 ID 목록 (본문 없이 ID만)
      */
-    List<Diary> findByUserUserIdOrderByCreatedAtDesc(Long userId);
+    @Query("SELECT d.diaryId FROM Diary d WHERE d.user.userId = :userId")
+    List<Long> findIdsByUserId(@Param("userId") Long userId);
+    
+    /**
+     * 사용자 일기 목록 첫 페이지 (최신순, 목록 화면용 프로젝션)
+     * 감정은 같은 쿼리에서 조인해 가져오며, 엔티티를 영속성 컨텍스트에 올리지 않음
+     * 본문(TEXT) 대신 저장된 미리보기와 글자/토큰 수만 읽음
+     * (user_id, created_at, diary_id) 인덱스를 역순으로 읽으므로 정렬 없이 pageable 크기만큼만 읽음
+     * from/to가 있으면 일기 날짜가 [from, to] 범위인 일기만 (null이면 그쪽 제한 없음)
+     */
+    @Query("SELECT d.diaryId AS diaryId, d.title AS title, d.excerpt AS excerpt, d.charCount AS charCount, " +
+           "d.tokenCount AS tokenCount, d.diaryDate AS diaryDate, " +
+           "d.createdAt AS createdAt, sa.emotion AS emotion " +
+           "FROM Diary d LEFT JOIN d.sentimentAnalysis sa " +
+           "WHERE d.user.userId = :userId " +
+           "AND (:from IS NULL OR d.diaryDate >= :from) AND (:to IS NULL OR d.diaryDate <= :to) " +
+           "ORDER BY d.createdAt DESC, d.diaryId DESC")
+    List<DiarySummary> findFirstSummaries(@Param("userId") Long userId,
+                                          @Param("from") LocalDate from,
+                                          @Param("to") LocalDate to,
+                                          Pageable pageable);
+    
+    /**
+     * 사용자 일기 목록 다음 페이지 ((createdAt, diaryId) 커서보다 오래된 일기)
+     * 깊이와 관계없이 인덱스 범위 한 번으로 읽음 (OFFSET 없음)
+     */
+    @Query("SELECT d.diaryId AS diaryId, d.title AS title, d.excerpt AS excerpt, d.charCount AS charCount, " +
+           "d.tokenCount AS tokenCount, d.diaryDate AS diaryDate, " +
+           "d.createdAt AS createdAt, sa.emotion AS emotion " +
+           "FROM Diary d LEFT JOIN d.sentimentAnalysis sa " +
+           "WHERE d.user.userId = :userId " +
+           "AND (:from IS NULL OR d.diaryDate >= :from) AND (:to IS NULL OR d.diaryDate <= :to) " +
+           "AND (d.createdAt < :createdAt OR (d.createdAt = :createdAt AND d.diaryId < :diaryId)) " +
+           "ORDER BY d.createdAt DESC, d.diaryId DESC")
+    List<DiarySummary> findSummariesBefore(@Param("userId") Long userId,
+                                           @Param("from") LocalDate from,
+                                           @Param("to") LocalDate to,
+                                           @Param("createdAt") LocalDateTime createdAt,
+                                           @Param("diaryId") Long diaryId,
+                                           Pageable pageable);
     
     /**
      * 사용자 ID와 날짜로 일기 목록 조회
@@ -24,24 +67,140 @@ public interface DiaryRepository extends JpaRepository<Diary, Long> {
     List<Diary> findByUserUserIdAndDiaryDateOrderByCreatedAtDesc(Long userId, LocalDate diaryDate);
     
     /**
-     * 사용자 ID와 년월로 일기 목록 조회
+     * 사용자 ID와 날짜 범위 [from, to)로 일기 목록 조회
+     * 컬럼에 함수를 씌우지 않아 (user_id, diary_date) 인덱스 범위로 읽음
      */
     @Query("SELECT d FROM Diary d WHERE d.user.userId = :userId " +
-           "AND YEAR(d.diaryDate) = :year AND MONTH(d.diaryDate) = :month " +
+           "AND d.diaryDate >= :from AND d.diaryDate < :to " +
            "ORDER BY d.diaryDate DESC, d.createdAt DESC")
-    List<Diary> findByUserAndYearMonth(@Param("userId") Long userId, 
-                                        @Param("year") int year, 
-                                        @Param("month") int month);
+    List<Diary> findByUserAndDateRange(@Param("userId") Long userId, 
+                                        @Param("from") LocalDate from, 
+                                        @Param("to") LocalDate to);
+    
+    /**
+     * 달력 항목 조회 (날짜 범위 [from, to), 날짜순 / 같은 날짜는 최신 작성순)
+     * 본문 없이 날짜와 감정만 읽음
+     */
+    @Query("SELECT d.diaryId AS diaryId, d.diaryDate AS diaryDate, sa.emotion AS emotion " +
+           "FROM Diary d LEFT JOIN d.sentimentAnalysis sa " +
+           "WHERE d.user.userId = :userId " +
+           "AND d.diaryDate >= :from AND d.diaryDate < :to " +
+           "ORDER BY d.diaryDate, d.createdAt DESC, d.diaryId DESC")
+    List<CalendarEntry> findCalendarEntries(@Param("userId") Long userId, 
+                                             @Param("from") LocalDate from, 
+                                             @Param("to") LocalDate to);
+    
+    /**
+     * 사용자 ID와 날짜로 일기 목록 조회 (최신 작성순, 목록 화면용 프로젝션)
+     */
+    @Query("SELECT d.diaryId AS diaryId, d.title AS title, d.excerpt AS excerpt, d.charCount AS charCount, " +
+           "d.tokenCount AS tokenCount, d.diaryDate AS diaryDate, " +
+           "d.createdAt AS createdAt, sa.emotion AS emotion " +
+           "FROM Diary d LEFT JOIN d.sentimentAnalysis sa " +
+           "WHERE d.user.userId = :userId AND d.diaryDate = :diaryDate " +
+           "ORDER BY d.createdAt DESC, d.diaryId DESC")
+    List<DiarySummary> findSummariesByDate(@Param("userId") Long userId, 
+                                           @Param("diaryDate") LocalDate diaryDate);
     
     /**
      * 사용자의 일기 개수 조회
      */
     long countByUserUserId(Long userId);
     
+    /**
+     * 사용자의 특정 날짜 일기 존재 여부 (엔티티를 읽지 않음)
+     */
+    boolean existsByUserUserIdAndDiaryDate(Long userId, LocalDate diaryDate);
+    
     /**
      * 일기 ID로 조회 (User 엔티티 함께 로드)
      */
     @Query("SELECT d FROM Diary d LEFT JOIN FETCH d.user WHERE d.diaryId = :diaryId")
     Optional<Diary> findByIdWithUser(@Param("diaryId") Long diaryId);
+    
+    /**
+     * diary_id 기준 키셋 페이지 조회 (afterId보다 큰 일기의 ID와 내용만, ID 오름차순)
+     */
+    @Query("SELECT d.diaryId AS diaryId, d.content AS content FROM Diary d " +
+           "WHERE d.diaryId > :afterId ORDER BY d.diaryId")
+    List<DiaryContent> findContentAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    /**
+     * afterId보다 큰 일기 개수
+     */
+    long countByDiaryIdGreaterThan(Long afterId);
+    
+    /**
+     * 미리보기가 없는 일기 (withTokens면 토큰 수가 없는 일기 포함) diary_id 키셋 페이지 (ID 오름차순)
+     * 미리보기 컬럼 추가 이전에 저장된 일기 채우기용
+     */
+    @Query("SELECT d.diaryId AS diaryId, d.content AS content, d.updatedAt AS updatedAt FROM Diary d " +
+           "WHERE d.diaryId > :afterId " +
+           "AND (d.excerpt IS NULL OR d.charCount IS NULL OR (:withTokens = true AND d.tokenCount IS NULL)) " +
+           "ORDER BY d.diaryId")
+    List<UnsummarizedDiary> findUnsummarizedAfter(@Param("afterId") Long afterId,
+                                             @Param("withTokens") boolean withTokens,
+                                             Pageable pageable);
+    
+    /**
+     * 토큰 수가 없는 일기 한 건 (ID, 내용, 수정 시각)
+     * 저장/수정 직후 토큰 수 채우기용
+     */
+    @Query("SELECT d.diaryId AS diaryId, d.content AS content, d.updatedAt AS updatedAt FROM Diary d " +
+           "WHERE d.diaryId = :diaryId AND d.tokenCount IS NULL")
+    Optional<UnsummarizedDiary> findWithoutTokenCount(@Param("diaryId") Long diaryId);
+    
+    /**
+     * 미리보기 / 글자 수 / 토큰 수만 갱신 (updated_at은 그대로)
+     * 읽은 뒤 일기가 수정됐으면 (updated_at이 다르면) 0 반환 (수정 시 토큰 수를 비우므로 다음에 다시 채움)
+     * updated_at이 없는 이전 일기는 읽을 때도 없었으면 같은 것으로 봄 (= 비교는 NULL끼리 일치하지 않음)
+     */
+    @Modifying
+    @Query("UPDATE Diary d SET d.excerpt = :excerpt, d.charCount = :charCount, " +
+           "d.tokenCount = COALESCE(:tokenCount, d.tokenCount) " +
+           "WHERE d.diaryId = :diaryId " +
+           "AND (d.updatedAt = :updatedAt OR (d.updatedAt IS NULL AND :updatedAt IS NULL))")
+    int updateSummary(@Param("diaryId") Long diaryId,
+                      @Param("updatedAt") LocalDateTime updatedAt,
+                      @Param("excerpt") String excerpt,
+                      @Param("charCount") Integer charCount,
+                      @Param("tokenCount") Integer tokenCount);
+    
+    /**
+     * 일기 목록 항목 (감정 분석 결과가 없으면 emotion은 null, 본문 대신 미리보기)
+     */
+    interface DiarySummary {
+        Long getDiaryId();
+        String getTitle();
+        String getExcerpt();
+        Integer getCharCount();
+        Integer getTokenCount();
+        LocalDate getDiaryDate();
+        LocalDateTime getCreatedAt();
+        SentimentAnalysis.Emotion getEmotion();
+    }
+    
+    /**
+     * 달력 항목 (감정 분석 결과가 없으면 emotion은 null)
+     */
+    interface CalendarEntry {
+        Long getDiaryId();
+        LocalDate getDiaryDate();
+        SentimentAnalysis.Emotion getEmotion();
+    }
+    
+    /**
+     * 일기 ID와 내용 (재분석용 프로젝션)
+     */
+    interface DiaryContent {
+        Long getDiaryId();
+        String getContent();
+    }
+    
+    /**
+     * 미리보기를 채울 일기 (읽은 시점의 updated_at 포함)
+     */
+    interface UnsummarizedDiary extends DiaryContent {
+        LocalDateTime getUpdatedAt();
+    }
 }
-
@@ -0,0 +1,134 @@
+package com.example.emotiondiary.repository;
+
+import com.example.emotiondiary.entity.SentimentAnalysis;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 사용자 월별 감정 집계 (user_emotion_monthly, JDBC)
+ * 기본 키 (user_id, month_start, emotion) 순서라 사용자 전체 / 사용자 + 월 범위 통계가 기본 키 범위 조회 한 번으로 끝남
+ * 증감은 INSERT ... ON DUPLICATE KEY UPDATE로 더함 (MySQL), 테이블은 schema.sql에서 생성
+ */
+@Repository
+@RequiredArgsConstructor
+public class EmotionRollupRepository {
+
+    private static final String ADD_SQL =
+            "INSERT INTO user_emotion_monthly (user_id, month_start, emotion, diary_count, confidence_sum) " +
+            "VALUES (?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE diary_count = diary_count + VALUES(diary_count), " +
+            "confidence_sum = confidence_sum + VALUES(confidence_sum)";
+
+    // 원본 데이터(감정 분석 결과 + 일기 날짜)를 월별로 집계해 sign(+1 / -1)만큼 더함 (사이에 WHERE 조건)
+    private static final String AGGREGATE_SELECT =
+            "INSERT INTO user_emotion_monthly (user_id, month_start, emotion, diary_count, confidence_sum) " +
+            "SELECT d.user_id, DATE_FORMAT(d.diary_date, '%Y-%m-01'), sa.emotion, ? * COUNT(*), ? * SUM(sa.confidence) " +
+            "FROM sentiment_analysis sa JOIN diaries d ON d.diary_id = sa.diary_id ";
+    private static final String AGGREGATE_GROUP_BY =
+            " GROUP BY d.user_id, DATE_FORMAT(d.diary_date, '%Y-%m-01'), sa.emotion " +
+            "ON DUPLICATE KEY UPDATE diary_count = diary_count + VALUES(diary_count), " +
+            "confidence_sum = confidence_sum + VALUES(confidence_sum)";
+
+    private static final String COUNT_SQL =
+            "SELECT emotion, SUM(diary_count) FROM user_emotion_monthly WHERE user_id = ? GROUP BY emotion";
+
+    private static final String COUNT_RANGE_SQL =
+            "SELECT emotion, SUM(diary_count) FROM user_emotion_monthly " +
+            "WHERE user_id = ? AND month_start >= ? AND month_start < ? GROUP BY emotion";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 한 칸(사용자, 월, 감정)에 증감 반영
+     *
+     * @param monthStart 해당 월 1일
+     */
+    public void add(Long userId, LocalDate monthStart, SentimentAnalysis.Emotion emotion, long count, double confidenceSum) {
+        jdbcTemplate.update(ADD_SQL, userId, Date.valueOf(monthStart), emotion.name(), count, confidenceSum);
+    }
+
+    /**
+     * 일기들의 현재 감정 분석 결과를 sign만큼 반영 (일괄 upsert 전에 -1, 후에 +1)
+     * 감정 분석 결과가 없는 일기는 건너뜀
+     */
+    public void addDiaries(Collection<Long> diaryIds, int sign) {
+        if (diaryIds.isEmpty()) {
+            return;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(diaryIds.size(), "?"));
+        List<Object> args = new ArrayList<>(diaryIds.size() + 2);
+        args.add(sign);
+        args.add(sign);
+        args.addAll(diaryIds);
+        jdbcTemplate.update(AGGREGATE_SELECT + "WHERE sa.diary_id IN (" + placeholders + ")" + AGGREGATE_GROUP_BY,
+                args.toArray());
+    }
+
+    /**
+     * 사용자 전체 기간 감정별 일기 수
+     */
+    public Map<SentimentAnalysis.Emotion, Long> countByEmotion(Long userId) {
+        return queryCounts(COUNT_SQL, userId);
+    }
+
+    /**
+     * 사용자 월 범위 [from, to) 감정별 일기 수 (from, to는 월 1일)
+     */
+    public Map<SentimentAnalysis.Emotion, Long> countByEmotion(Long userId, LocalDate from, LocalDate to) {
+        return queryCounts(COUNT_RANGE_SQL, userId, Date.valueOf(from), Date.valueOf(to));
+    }
+
+    private Map<SentimentAnalysis.Emotion, Long> queryCounts(String sql, Object... args) {
+        Map<SentimentAnalysis.Emotion, Long> counts = new EnumMap<>(SentimentAnalysis.Emotion.class);
+        jdbcTemplate.query(sql, (RowCallbackHandler) rs ->
+                counts.put(SentimentAnalysis.Emotion.valueOf(rs.getString(1)), rs.getLong(2)), args);
+        return counts;
+    }
+
+    /**
+     * 집계 대상 사용자 ID (오름차순)
+     */
+    public List<Long> findUserIds() {
+        return jdbcTemplate.queryForList("SELECT user_id FROM users ORDER BY user_id", Long.class);
+    }
+
+    /**
+     * 사용자 한 명의 집계를 원본 데이터로 다시 계산 (삭제 후 재집계를 한 트랜잭션으로)
+     *
+     * @return 집계 행 수
+     */
+    @Transactional
+    public int rebuildUser(Long userId) {
+        deleteUser(userId);
+        return jdbcTemplate.update(AGGREGATE_SELECT + "WHERE d.user_id = ?" + AGGREGATE_GROUP_BY, 1, 1, userId);
+    }
+
+    /**
+     * 사용자 집계 삭제 (회원 탈퇴 시)
+     */
+    @Transactional
+    public int deleteUser(Long userId) {
+        return jdbcTemplate.update("DELETE FROM user_emotion_monthly WHERE user_id = ?", userId);
+    }
+
+    /**
+     * 이미 삭제된 사용자의 집계 삭제
+     */
+    @Transactional
+    public int deleteOrphans() {
+        return jdbcTemplate.update(
+                "DELETE FROM user_emotion_monthly WHERE user_id NOT IN (SELECT user_id FROM users)");
+    }
+}
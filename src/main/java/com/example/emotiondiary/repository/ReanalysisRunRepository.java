@@ -0,0 +1,21 @@
+package com.example.emotiondiary.repository;
+
+import com.example.emotiondiary.entity.ReanalysisRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ReanalysisRunRepository extends JpaRepository<ReanalysisRun, Long> {
+
+    /**
+     * 가장 최근 재분석 실행 조회
+     */
+    Optional<ReanalysisRun> findTopByOrderByRunIdDesc();
+
+    /**
+     * 모델 버전별 가장 최근 재분석 실행 조회
+     */
+    Optional<ReanalysisRun> findTopByModelVersionOrderByRunIdDesc(String modelVersion);
+}
@@ -0,0 +1,68 @@
+package com.example.emotiondiary.repository;
+
+import com.example.emotiondiary.entity.SentimentAnalysis;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 감정 분석 결과 일괄 upsert (JDBC 배치)
+ * 엔티티를 하나씩 조회/저장하는 대신 INSERT ... ON DUPLICATE KEY UPDATE를 배치로 실행 (MySQL, diary_id 유니크 키 기준)
+ * 그 사이 삭제된 일기는 INSERT ... SELECT 조건에서 걸러져 건너뜀
+ * 같은 트랜잭션에서 월별 감정 집계도 갱신 (upsert 전 기존 결과를 빼고, 후에 새 결과를 더함)
+ */
+@Repository
+@RequiredArgsConstructor
+public class SentimentAnalysisBatchRepository {
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO sentiment_analysis (diary_id, emotion, confidence, analyzed_at) " +
+            "SELECT d.diary_id, ?, ?, ? FROM diaries d WHERE d.diary_id = ? " +
+            "ON DUPLICATE KEY UPDATE emotion = VALUES(emotion), confidence = VALUES(confidence), " +
+            "analyzed_at = VALUES(analyzed_at)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EmotionRollupRepository emotionRollupRepository;
+
+    /**
+     * 일기별 감정 분석 결과 생성 또는 수정 (analysis.getDiary()에는 diaryId만 있으면 됨)
+     */
+    @Transactional
+    public void upsertAll(List<SentimentAnalysis> analyses) {
+        if (analyses.isEmpty()) {
+            return;
+        }
+        List<Long> diaryIds = new ArrayList<>(analyses.size());
+        for (SentimentAnalysis analysis : analyses) {
+            diaryIds.add(analysis.getDiary().getDiaryId());
+        }
+        emotionRollupRepository.addDiaries(diaryIds, -1);
+
+        Timestamp analyzedAt = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(UPSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                SentimentAnalysis analysis = analyses.get(i);
+                ps.setString(1, analysis.getEmotion().name());
+                ps.setFloat(2, analysis.getConfidence());
+                ps.setTimestamp(3, analyzedAt);
+                ps.setLong(4, analysis.getDiary().getDiaryId());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return analyses.size();
+            }
+        });
+        emotionRollupRepository.addDiaries(diaryIds, 1);
+    }
+}
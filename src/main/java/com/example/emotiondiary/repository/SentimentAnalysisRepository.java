@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -27,24 +28,14 @@ public interface SentimentAnalysisRepository extends JpaRepository<SentimentAnal
                                                    @Param("emotion") Emotion emotion);
     
     /**
-     * 사용자 ID와 년월로 감정 분석 결과 조회
+     * 사용자 ID와 날짜 범위 [from, to)로 감정 분석 결과 조회
+     * (일기의 user_id, diary_date 인덱스 범위로 읽음)
      */
-    @Query("SELECT sa FROM SentimentAnalysis sa WHERE sa.diary.user.userId = :userId " +
-           "AND YEAR(sa.diary.diaryDate) = :year AND MONTH(sa.diary.diaryDate) = :month " +
-           "ORDER BY sa.diary.diaryDate DESC")
-    List<SentimentAnalysis> findByUserAndYearMonth(@Param("userId") Long userId, 
-                                                     @Param("year") int year, 
-                                                     @Param("month") int month);
-    
-    /**
-     * 감정별 통계 조회
-     */
-    @Query("SELECT sa.emotion, COUNT(sa) FROM SentimentAnalysis sa " +
-           "WHERE sa.diary.user.userId = :userId " +
-           "AND YEAR(sa.diary.diaryDate) = :year AND MONTH(sa.diary.diaryDate) = :month " +
-           "GROUP BY sa.emotion")
-    List<Object[]> countByEmotionAndUserAndYearMonth(@Param("userId") Long userId, 
-                                                       @Param("year") int year, 
-                                                       @Param("month") int month);
+    @Query("SELECT sa FROM SentimentAnalysis sa JOIN sa.diary d WHERE d.user.userId = :userId " +
+           "AND d.diaryDate >= :from AND d.diaryDate < :to " +
+           "ORDER BY d.diaryDate DESC")
+    List<SentimentAnalysis> findByUserAndDateRange(@Param("userId") Long userId, 
+                                                     @Param("from") LocalDate from, 
+                                                     @Param("to") LocalDate to);
 }
 
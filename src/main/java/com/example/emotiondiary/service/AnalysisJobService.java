@@ -0,0 +1,119 @@
+package com.example.emotiondiary.service;
+
+import com.example.emotiondiary.entity.AnalysisJob;
+import com.example.emotiondiary.entity.SentimentAnalysis;
+import com.example.emotiondiary.repository.AnalysisJobRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 비동기 감정 분석 작업 큐 (analysis_jobs 테이블)
+ * 상태 전환은 조건부 UPDATE로 처리해 여러 워커/인스턴스가 같은 작업을 중복 처리하지 않음
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class AnalysisJobService {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final AnalysisJobRepository analysisJobRepository;
+    private final SentimentAnalysisService sentimentAnalysisService;
+
+    /**
+     * 일기 ID로 작업 조회
+     */
+    public Optional<AnalysisJob> findByDiaryId(Long diaryId) {
+        return analysisJobRepository.findByDiaryId(diaryId);
+    }
+
+    /**
+     * 분석 작업 등록 (이미 있으면 PENDING으로 되돌려 최신 내용으로 다시 분석)
+     */
+    @Transactional
+    public AnalysisJob enqueue(Long diaryId) {
+        AnalysisJob job = analysisJobRepository.findByDiaryId(diaryId)
+                .orElseGet(() -> AnalysisJob.builder().diaryId(diaryId).build());
+        job.setStatus(AnalysisJob.Status.PENDING);
+        job.setAttempts(0);
+        job.setLastError(null);
+        job.setLockedAt(null);
+        return analysisJobRepository.save(job);
+    }
+
+    /**
+     * 대기 작업을 최대 limit개 선점 (다른 워커가 먼저 가져간 작업은 제외)
+     */
+    @Transactional
+    public List<AnalysisJob> claimPending(int limit) {
+        List<AnalysisJob> candidates = analysisJobRepository.findByStatus(AnalysisJob.Status.PENDING, PageRequest.of(0, limit));
+        List<AnalysisJob> claimed = new ArrayList<>(candidates.size());
+        LocalDateTime now = LocalDateTime.now();
+        for (AnalysisJob job : candidates) {
+            if (analysisJobRepository.claim(job.getJobId(), AnalysisJob.Status.PENDING, AnalysisJob.Status.RUNNING, now) == 1) {
+                claimed.add(job);
+            }
+        }
+        return claimed;
+    }
+
+    /**
+     * 분석 결과 저장 및 작업 완료 처리 (한 트랜잭션)
+     * 분석 중 일기가 수정되어 재등록된 경우 결과를 버리고 false 반환 (다음 주기에 다시 분석)
+     */
+    @Transactional
+    public boolean complete(Long jobId, Long diaryId, EmotionPrediction prediction) {
+        if (analysisJobRepository.transition(jobId, AnalysisJob.Status.RUNNING, AnalysisJob.Status.DONE, LocalDateTime.now()) == 0) {
+            return false;
+        }
+        SentimentAnalysis sentimentAnalysis = SentimentAnalysis.builder()
+                .emotion(prediction.getEmotion())
+                .confidence(prediction.getConfidence())
+                .build();
+        sentimentAnalysisService.upsertByDiaryId(diaryId, sentimentAnalysis);
+        return true;
+    }
+
+    /**
+     * 실패 처리 (최대 시도 횟수 미만이면 다시 대기, 이상이면 FAILED)
+     */
+    @Transactional
+    public void fail(Long jobId, String error, int maxAttempts) {
+        analysisJobRepository.findById(jobId).ifPresent(job -> {
+            if (job.getStatus() != AnalysisJob.Status.RUNNING) {
+                return;
+            }
+            job.setStatus(job.getAttempts() >= maxAttempts ? AnalysisJob.Status.FAILED : AnalysisJob.Status.PENDING);
+            job.setLastError(error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+            job.setLockedAt(null);
+        });
+    }
+
+    /**
+     * 작업 삭제 (분석 대상 일기가 삭제된 경우)
+     */
+    @Transactional
+    public void discard(Long jobId) {
+        analysisJobRepository.deleteById(jobId);
+    }
+
+    /**
+     * staleAfter 이상 RUNNING에 머문 작업을 대기 상태로 되돌림
+     *
+     * @return 되돌린 작업 수
+     */
+    @Transactional
+    public int releaseStale(Duration staleAfter) {
+        LocalDateTime now = LocalDateTime.now();
+        return analysisJobRepository.releaseStale(AnalysisJob.Status.PENDING, AnalysisJob.Status.RUNNING,
+                now.minus(staleAfter), now);
+    }
+}
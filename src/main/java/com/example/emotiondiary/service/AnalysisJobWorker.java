@@ -0,0 +1,140 @@
+package com.example.emotiondiary.service;
+
+import com.example.emotiondiary.config.InferenceProperties;
+import com.example.emotiondiary.entity.AnalysisJob;
+import com.example.emotiondiary.entity.Diary;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 비동기 감정 분석 워커 (emotion.inference.async.enabled=true일 때만 등록)
+ * 주기적으로 대기 작업을 선점해 워커 스레드 풀에서 분석하고, 결과를 실제 신뢰도와 함께 저장
+ * 모델 결과가 아닌 응답(키워드 대체)은 저장하지 않고 실패로 처리해 최대 시도 횟수까지 다시 분석
+ * 동시에 처리 중인 작업은 스레드 수의 2배로 제한 (나머지는 DB에 대기)
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "emotion.inference.async", name = "enabled", havingValue = "true")
+public class AnalysisJobWorker {
+
+    private final AnalysisJobService analysisJobService;
+    private final DiaryService diaryService;
+    private final EmotionAnalysisService emotionAnalysisService;
+    private final InferenceProperties inferenceProperties;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private ExecutorService workers;
+
+    @PostConstruct
+    public void start() {
+        int threads = Math.max(1, inferenceProperties.getAsync().getWorkerThreads());
+        AtomicInteger sequence = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "emotion-analysis-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        log.info("✅ 비동기 감정 분석 워커 시작 (스레드 {}개, 조회 주기 {}ms)",
+                threads, inferenceProperties.getAsync().getPollIntervalMillis());
+    }
+
+    /**
+     * 대기 작업 선점 후 워커 스레드에 분배
+     */
+    @Scheduled(fixedDelayString = "${emotion.inference.async.poll-interval-millis:500}")
+    public void poll() {
+        InferenceProperties.Async settings = inferenceProperties.getAsync();
+        int capacity = Math.max(1, settings.getWorkerThreads()) * 2 - inFlight.get();
+        if (capacity <= 0) {
+            return;
+        }
+
+        try {
+            List<AnalysisJob> jobs = analysisJobService.claimPending(Math.min(capacity, settings.getClaimBatchSize()));
+            for (AnalysisJob job : jobs) {
+                inFlight.incrementAndGet();
+                workers.execute(() -> {
+                    try {
+                        process(job);
+                    } finally {
+                        inFlight.decrementAndGet();
+                    }
+                });
+            }
+        } catch (Exception e) {
+            log.warn("⚠️ 감정 분석 작업 조회 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 재시작/워커 중단으로 RUNNING에 남은 작업 회수
+     */
+    @Scheduled(fixedDelayString = "${emotion.inference.async.stale-after-millis:120000}")
+    public void releaseStale() {
+        try {
+            int released = analysisJobService.releaseStale(Duration.ofMillis(inferenceProperties.getAsync().getStaleAfterMillis()));
+            if (released > 0) {
+                log.warn("⚠️ 중단된 감정 분석 작업 {}건을 다시 대기 상태로 전환했습니다.", released);
+            }
+        } catch (Exception e) {
+            log.warn("⚠️ 중단된 감정 분석 작업 회수 실패: {}", e.getMessage());
+        }
+    }
+
+    private void process(AnalysisJob job) {
+        try {
+            Optional<Diary> diary = diaryService.findById(job.getDiaryId());
+            if (diary.isEmpty()) {
+                // 분석 전에 일기가 삭제된 경우
+                analysisJobService.discard(job.getJobId());
+                return;
+            }
+
+            String content = diary.get().getContent();
+            EmotionPrediction prediction = emotionAnalysisService.analyze(content, false);
+            if (!prediction.isModelBased() && content != null && !content.trim().isEmpty()) {
+                // 모델 미로드/추론 실패/대기 큐 초과로 키워드 결과가 온 경우 저장하지 않고 다시 시도
+                log.warn("⚠️ 감정 분석 작업 재시도 예정: 일기 {} - 모델 결과가 아닌 응답 ({})",
+                        job.getDiaryId(), prediction.getSource());
+                analysisJobService.fail(job.getJobId(), "모델 추론 결과를 얻지 못했습니다. (" + prediction.getSource() + ")",
+                        inferenceProperties.getAsync().getMaxAttempts());
+                return;
+            }
+            if (analysisJobService.complete(job.getJobId(), job.getDiaryId(), prediction)) {
+                log.debug("감정 분석 작업 완료: 일기 {} → {} ({})", job.getDiaryId(), prediction.getEmotion(),
+                        String.format("%.4f", prediction.getConfidence()));
+            }
+        } catch (Exception e) {
+            log.error("❌ 감정 분석 작업 실패: 일기 {} - {}", job.getDiaryId(), e.getMessage());
+            try {
+                analysisJobService.fail(job.getJobId(), e.getMessage(), inferenceProperties.getAsync().getMaxAttempts());
+            } catch (Exception failure) {
+                log.warn("⚠️ 작업 실패 상태 저장 실패: {}", failure.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        // 처리 중이던 작업은 RUNNING으로 남고, 다음 기동 후 releaseStale에서 회수됨
+        workers.shutdown();
+        if (!workers.awaitTermination(5, TimeUnit.SECONDS)) {
+            workers.shutdownNow();
+        }
+    }
+}
@@ -1,15 +1,15 @@
 package com.example.emotiondiary.service;
 
+import com.example.emotiondiary.config.InferenceProperties;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Component;
 
-import jakarta.annotation.PostConstruct;
 import java.io.BufferedReader;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
-import java.util.regex.Pattern;
 
 /**
  * BERT 토크나이저 구현 (간단한 WordPiece 기반)
@@ -17,183 +17,205 @@ import java.util.regex.Pattern;
  */
 @Component
 @Slf4j
+@RequiredArgsConstructor
 public class BertTokenizer {
     
-    private static final String VOCAB_PATH = "models/emotion_model_onnx/vocab.txt";
-    private static final int MAX_LENGTH = 512;
+    private static final String VOCAB_FILE = "vocab.txt";
+    // config.json에 max_length가 없을 때의 최대 시퀀스 길이
+    private static final int DEFAULT_MAX_LENGTH = 512;
     private static final String CLS_TOKEN = "[CLS]";
     private static final String SEP_TOKEN = "[SEP]";
     private static final String PAD_TOKEN = "[PAD]";
     private static final String UNK_TOKEN = "[UNK]";
     
-    private Map<String, Integer> vocabMap;
-    private Map<Integer, String> idToTokenMap;
+    private final ModelResources modelResources;
+    private final InferenceProperties inferenceProperties;
     
-    @PostConstruct
+    private Vocabulary vocabulary;
+    private WordPieceTrie wordPieceTrie;
+    private WordPieceCache wordPieceCache;
+    
+    // 모델 최대 시퀀스 길이 (config.json의 max_length, 가장 긴 길이 버킷과 같음)
+    private int maxLength = DEFAULT_MAX_LENGTH;
+    
+    // 요청 스레드별 재사용 ID 버퍼 (첫 사용 시 모델 최대 길이로 생성)
+    private final ThreadLocal<IdBuffer> idBuffer = ThreadLocal.withInitial(() -> new IdBuffer(maxLength + 1));
+    
+    /**
+     * vocab 로드 (최대 시퀀스 길이는 기본값 512)
+     */
     public void initialize() {
+        initialize(DEFAULT_MAX_LENGTH);
+    }
+    
+    /**
+     * vocab 로드 (모델 로드 시 EmotionAnalysisService가 호출, 기동 모드에 따라 기동 중 또는 첫 사용 시)
+     *
+     * @param maxLength 모델 최대 시퀀스 길이 (config.json의 max_length)
+     */
+    public void initialize(int maxLength) {
+        this.maxLength = maxLength;
         try {
             loadVocab();
-            log.info("✅ BERT 토크나이저 초기화 완료 (어휘 크기: {})", vocabMap.size());
+            log.info("✅ BERT 토크나이저 초기화 완료 (어휘 크기: {})", vocabulary.size());
         } catch (Exception e) {
             log.error("❌ BERT 토크나이저 초기화 실패", e);
-            vocabMap = new HashMap<>();
-            idToTokenMap = new HashMap<>();
+            vocabulary = Vocabulary.builder().build();
+            wordPieceTrie = null;
+            wordPieceCache = null;
         }
     }
     
     /**
-     * vocab.txt 파일 로드
+     * vocab 로드
+     * 사전 컴파일된 아티팩트가 있으면 매핑된 vocab/트라이를 그대로 사용하고, 없으면 vocab.txt 파싱
      */
     private void loadVocab() throws Exception {
-        vocabMap = new HashMap<>();
-        idToTokenMap = new HashMap<>();
+        vocabulary = Vocabulary.builder().build();
+        
+        Optional<ModelArtifact> artifact = modelResources.getArtifact();
+        if (artifact.isPresent()) {
+            vocabulary = artifact.get().getVocabulary();
+            wordPieceTrie = artifact.get().getTrie();
+            wordPieceCache = new WordPieceCache(wordPieceTrie, inferenceProperties.getTokenizer());
+            log.info("Vocab 로드 완료 (바이너리 아티팩트): {} 개 토큰", vocabulary.size());
+            return;
+        }
         
-        ClassPathResource resource = new ClassPathResource(VOCAB_PATH);
+        Resource resource = modelResources.resolve(VOCAB_FILE);
         if (!resource.exists()) {
-            log.warn("⚠️ Vocab 파일을 찾을 수 없습니다: {}", VOCAB_PATH);
+            log.warn("⚠️ Vocab 파일을 찾을 수 없습니다: {}", resource.getDescription());
             return;
         }
         
+        Vocabulary loaded;
         try (BufferedReader reader = new BufferedReader(
                 new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
-            String line;
-            int index = 0;
-            while ((line = reader.readLine()) != null) {
-                line = line.trim();
-                if (!line.isEmpty()) {
-                    vocabMap.put(line, index);
-                    idToTokenMap.put(index, line);
-                    index++;
-                }
-            }
+            loaded = Vocabulary.read(reader);
         }
         
-        log.info("Vocab 로드 완료: {} 개 토큰", vocabMap.size());
+        // WordPiece 트라이 구성
+        WordPieceTrie trie = WordPieceTrie.fromVocabulary(loaded, UNK_TOKEN);
+        
+        vocabulary = loaded;
+        wordPieceTrie = trie;
+        wordPieceCache = new WordPieceCache(trie, inferenceProperties.getTokenizer());
+        
+        log.info("Vocab 로드 완료: {} 개 토큰 (트라이 노드 {}개, vocab 약 {}KB)",
+                loaded.size(), trie.nodeCount(), loaded.estimatedHeapBytes() / 1024);
     }
     
     /**
      * 텍스트를 토큰 ID로 변환
+     * 패딩은 하지 않으며, 추론 단계에서 길이 버킷에 맞춰 패딩함
      * 
      * @param text 원본 텍스트
-     * @return 토큰 ID 배열과 어텐션 마스크
+     * @return [CLS] + 토큰 + [SEP] ID 배열과 실제 길이 (최대 모델 최대 길이)
      */
     public TokenizationResult tokenize(String text) {
-        if (vocabMap == null || vocabMap.isEmpty()) {
+        IdBuffer ids = idBuffer.get();
+        tokenize(text, ids);
+        long[] inputIds = ids.toLongArray(maxLength);
+        return new TokenizationResult(inputIds, inputIds.length);
+    }
+    
+    /**
+     * 텍스트를 토큰 ID로 변환해 out에 기록
+     * out은 비운 뒤 [CLS] + 토큰 + [SEP]를 기록하고 모델 최대 길이를 넘는 부분은 잘라냄
+     */
+    public void tokenize(String text, IdBuffer out) {
+        tokenize(text, out, maxLength);
+    }
+    
+    /**
+     * 텍스트를 토큰 ID로 변환해 out에 기록 ([CLS] + 토큰 + [SEP], 최대 maxLength개)
+     * 긴 텍스트 윈도우 분할처럼 모델 최대 길이와 다른 길이가 필요할 때 사용
+     */
+    public void tokenize(String text, IdBuffer out, int maxLength) {
+        out.clear();
+        if (vocabulary == null || vocabulary.size() == 0) {
             log.warn("Vocab이 로드되지 않았습니다. 빈 결과 반환");
-            return new TokenizationResult(new long[MAX_LENGTH], new long[MAX_LENGTH]);
+            return;
         }
         
         if (text == null || text.trim().isEmpty()) {
             text = "";
         }
         
-        // 1. 기본 토크나이징 (공백 기준)
-        List<String> tokens = basicTokenize(text);
-        
-        // 2. WordPiece 토크나이징
-        List<String> wordPieceTokens = new ArrayList<>();
-        for (String token : tokens) {
-            wordPieceTokens.addAll(wordPieceTokenize(token));
-        }
+        int unkTokenId = vocabulary.getOrDefault(UNK_TOKEN, 0);
+        int sepTokenId = vocabulary.getOrDefault(SEP_TOKEN, unkTokenId);
         
-        // 3. 특수 토큰 추가 [CLS] + tokens + [SEP]
-        List<String> allTokens = new ArrayList<>();
-        allTokens.add(CLS_TOKEN);
-        allTokens.addAll(wordPieceTokens);
-        allTokens.add(SEP_TOKEN);
+        // 1. [CLS]
+        out.add(vocabulary.getOrDefault(CLS_TOKEN, unkTokenId));
         
-        // 4. 토큰을 ID로 변환
-        List<Long> tokenIds = new ArrayList<>();
-        for (String token : allTokens) {
-            int tokenId = vocabMap.getOrDefault(token, vocabMap.getOrDefault(UNK_TOKEN, 0));
-            tokenIds.add((long) tokenId);
+        // 2. 기본 토크나이징 (공백, 구두점 기준) 후 단어별 WordPiece ID를 버퍼에 바로 기록
+        int position = nextWordStart(text, 0);
+        while (position < text.length() && out.size() < maxLength) { // 넘치는 부분은 어차피 트렁케이션되는 구간
+            int end = wordEnd(text, position);
+            wordPieceCache.tokenize(text, position, end, out);
+            position = nextWordStart(text, end);
         }
         
-        // 5. 패딩 또는 트렁케이션
-        long[] inputIds = new long[MAX_LENGTH];
-        long[] attentionMask = new long[MAX_LENGTH];
-        
-        int actualLength = Math.min(tokenIds.size(), MAX_LENGTH);
-        
-        for (int i = 0; i < actualLength; i++) {
-            inputIds[i] = tokenIds.get(i);
-            attentionMask[i] = 1L; // 실제 토큰
-        }
-        
-        // 패딩
-        int padTokenId = vocabMap.getOrDefault(PAD_TOKEN, 0);
-        for (int i = actualLength; i < MAX_LENGTH; i++) {
-            inputIds[i] = padTokenId;
-            attentionMask[i] = 0L; // 패딩 토큰
+        // 3. maxLength 초과분은 트렁케이션 후 [SEP] (잘린 경우에도 마지막은 [SEP])
+        out.truncate(maxLength - 1);
+        out.add(sepTokenId);
+    }
+    
+    /**
+     * 모델 최대 시퀀스 길이 ([CLS], [SEP] 포함)
+     */
+    public int getMaxLength() {
+        return maxLength;
+    }
+    
+    /**
+     * 패딩 토큰 ID
+     */
+    public long getPadTokenId() {
+        if (vocabulary == null) {
+            return 0L;
         }
-        
-        return new TokenizationResult(inputIds, attentionMask);
+        return vocabulary.getOrDefault(PAD_TOKEN, 0);
     }
     
     /**
-     * 기본 토크나이징 (공백, 구두점 기준)
+     * 기본 토크나이징: from부터 공백을 건너뛴 다음 단어의 시작 위치 (없으면 text.length())
+     * 정규식/부분 문자열 없이 한 번 훑으며, 단어는 공백 사이 구간에서 구두점(.,!?;:)을 한 글자씩 떼어낸 것
      */
-    private List<String> basicTokenize(String text) {
-        // 한글과 영문, 숫자, 기본 구두점을 유지하면서 분리
-        Pattern pattern = Pattern.compile("\\S+");
-        List<String> tokens = new ArrayList<>();
-        
-        java.util.regex.Matcher matcher = pattern.matcher(text);
-        while (matcher.find()) {
-            String token = matcher.group();
-            // 구두점 분리
-            String[] parts = token.split("(?<=[.,!?;:])|(?=[.,!?;:])");
-            for (String part : parts) {
-                if (!part.isEmpty()) {
-                    tokens.add(part);
-                }
-            }
+    private static int nextWordStart(CharSequence text, int from) {
+        int length = text.length();
+        while (from < length && isWhitespace(text.charAt(from))) {
+            from++;
         }
-        
-        return tokens;
+        return from;
     }
     
     /**
-     * WordPiece 토크나이징
-     * 단어를 서브워드로 분리 (vocab에 있는 가장 긴 서브워드로 매칭)
+     * start에서 시작하는 단어의 끝 위치 (구두점은 그 자체로 한 단어)
      */
-    private List<String> wordPieceTokenize(String token) {
-        if (vocabMap.containsKey(token)) {
-            return Collections.singletonList(token);
+    private static int wordEnd(CharSequence text, int start) {
+        if (isPunctuation(text.charAt(start))) {
+            return start + 1;
         }
-        
-        List<String> output = new ArrayList<>();
-        int start = 0;
-        
-        while (start < token.length()) {
-            int end = token.length();
-            String curSubstr = null;
-            
-            // 가장 긴 서브워드 찾기
-            while (start < end) {
-                String substr = token.substring(start, end);
-                if (start > 0) {
-                    substr = "##" + substr; // 서브워드는 ## 접두사
-                }
-                
-                if (vocabMap.containsKey(substr)) {
-                    curSubstr = substr;
-                    break;
-                }
-                end--;
-            }
-            
-            if (curSubstr == null) {
-                // 매칭되지 않으면 UNK 토큰
-                output.add(UNK_TOKEN);
+        int length = text.length();
+        int end = start + 1;
+        while (end < length) {
+            char c = text.charAt(end);
+            if (isWhitespace(c) || isPunctuation(c)) {
                 break;
-            } else {
-                output.add(curSubstr);
-                start = end;
             }
+            end++;
         }
-        
-        return output.isEmpty() ? Collections.singletonList(UNK_TOKEN) : output;
+        return end;
+    }
+    
+    // 정규식 \s와 같은 공백 문자 집합
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+    
+    private static boolean isPunctuation(char c) {
+        return c == '.' || c == ',' || c == '!' || c == '?' || c == ';' || c == ':';
     }
     
     /**
@@ -201,19 +223,22 @@ public class BertTokenizer {
      */
     public static class TokenizationResult {
         private final long[] inputIds;
-        private final long[] attentionMask;
+        private final int length;
         
-        public TokenizationResult(long[] inputIds, long[] attentionMask) {
+        public TokenizationResult(long[] inputIds, int length) {
             this.inputIds = inputIds;
-            this.attentionMask = attentionMask;
+            this.length = length;
         }
         
         public long[] getInputIds() {
             return inputIds;
         }
         
-        public long[] getAttentionMask() {
-            return attentionMask;
+        /**
+         * 패딩을 제외한 실제 토큰 수 ([CLS], [SEP] 포함)
+         */
+        public int getLength() {
+            return length;
         }
     }
 }
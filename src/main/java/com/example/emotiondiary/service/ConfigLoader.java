@@ -2,13 +2,15 @@ package com.example.emotiondiary.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Component;
 
-import jakarta.annotation.PostConstruct;
 import java.io.InputStream;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
 
 /**
  * 모델 설정 파일 로더
@@ -17,34 +19,71 @@ import java.util.Map;
 @Slf4j
 public class ConfigLoader {
     
-    private static final String CONFIG_PATH = "models/emotion_model_onnx/config.json";
-    private static final String LABEL_MAPPING_PATH = "models/emotion_model_onnx/label_mapping.json";
+    private static final String CONFIG_FILE = "config.json";
+    private static final String LABEL_MAPPING_FILE = "label_mapping.json";
+    public static final String CASCADE_FILE = "cascade.json";
+    private static final int[] DEFAULT_LENGTH_BUCKETS = {32, 64, 128, 256, 512};
     
     private Map<String, Object> config;
     private Map<String, String> labelMapping;
+    private NgramClassifier cascadeClassifier;
     private ObjectMapper objectMapper;
+    private final ModelResources modelResources;
     
-    public ConfigLoader() {
+    public ConfigLoader(ModelResources modelResources) {
         this.objectMapper = new ObjectMapper();
+        this.modelResources = modelResources;
     }
     
-    @PostConstruct
+    /**
+     * 설정 로드 (모델 로드 시 EmotionAnalysisService가 호출, 기동 모드에 따라 기동 중 또는 첫 사용 시)
+     */
     public void loadConfigs() {
         try {
-            loadConfig();
-            loadLabelMapping();
-            log.info("✅ 모델 설정 로드 완료");
+            // 사전 컴파일된 아티팩트가 있으면 JSON 파싱 없이 사용
+            Optional<ModelArtifact> artifact = modelResources.getArtifact();
+            if (artifact.isPresent()) {
+                config = artifact.get().getConfig();
+                labelMapping = artifact.get().getLabelMapping();
+                log.info("✅ 모델 설정 로드 완료 (바이너리 아티팩트)");
+            } else {
+                loadConfig();
+                loadLabelMapping();
+                log.info("✅ 모델 설정 로드 완료");
+            }
         } catch (Exception e) {
             log.error("❌ 모델 설정 로드 실패", e);
             config = new HashMap<>();
             labelMapping = new HashMap<>();
         }
+        loadCascade();
+    }
+    
+    /**
+     * 캐스케이드 1단계 분류기 가중치 로드 (없거나 읽을 수 없으면 캐스케이드 없이 동작)
+     */
+    private void loadCascade() {
+        Resource resource = modelResources.resolve(CASCADE_FILE);
+        if (!resource.exists()) {
+            log.info("캐스케이드 분류기 가중치 없음: 모든 요청을 ONNX 모델로 분석합니다.");
+            return;
+        }
+        
+        try (InputStream is = resource.getInputStream()) {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> cascadeConfig = objectMapper.readValue(is, Map.class);
+            cascadeClassifier = NgramClassifier.fromConfig(cascadeConfig);
+            log.info("✅ 캐스케이드 분류기 가중치 로드 완료: {}", resource.getDescription());
+        } catch (Exception e) {
+            log.warn("⚠️ 캐스케이드 분류기 가중치를 읽을 수 없어 사용하지 않습니다: {}", e.getMessage());
+            cascadeClassifier = null;
+        }
     }
     
     private void loadConfig() throws Exception {
-        ClassPathResource resource = new ClassPathResource(CONFIG_PATH);
+        Resource resource = modelResources.resolve(CONFIG_FILE);
         if (!resource.exists()) {
-            log.warn("⚠️ Config 파일을 찾을 수 없습니다: {}", CONFIG_PATH);
+            log.warn("⚠️ Config 파일을 찾을 수 없습니다: {}", resource.getDescription());
             config = new HashMap<>();
             return;
         }
@@ -57,9 +96,9 @@ public class ConfigLoader {
     }
     
     private void loadLabelMapping() throws Exception {
-        ClassPathResource resource = new ClassPathResource(LABEL_MAPPING_PATH);
+        Resource resource = modelResources.resolve(LABEL_MAPPING_FILE);
         if (!resource.exists()) {
-            log.warn("⚠️ Label mapping 파일을 찾을 수 없습니다: {}", LABEL_MAPPING_PATH);
+            log.warn("⚠️ Label mapping 파일을 찾을 수 없습니다: {}", resource.getDescription());
             labelMapping = new HashMap<>();
             return;
         }
@@ -78,6 +117,32 @@ public class ConfigLoader {
         return 512; // 기본값
     }
     
+    /**
+     * 시퀀스 길이 버킷 (config.json의 "length_buckets", 없으면 32/64/128/256/512)
+     * max_length를 넘는 버킷은 제외하고 max_length는 항상 마지막 버킷으로 포함
+     */
+    public int[] getLengthBuckets() {
+        int maxLength = getMaxLength();
+        TreeSet<Integer> buckets = new TreeSet<>();
+        
+        Object bucketsObj = config != null ? config.get("length_buckets") : null;
+        if (bucketsObj instanceof List) {
+            for (Object bucket : (List<?>) bucketsObj) {
+                if (bucket instanceof Number) {
+                    buckets.add(((Number) bucket).intValue());
+                }
+            }
+        } else {
+            for (int bucket : DEFAULT_LENGTH_BUCKETS) {
+                buckets.add(bucket);
+            }
+        }
+        
+        buckets.removeIf(bucket -> bucket <= 0 || bucket > maxLength);
+        buckets.add(maxLength);
+        return buckets.stream().mapToInt(Integer::intValue).toArray();
+    }
+    
     public int getNumLabels() {
         if (config != null && config.containsKey("num_labels")) {
             return (Integer) config.get("num_labels");
@@ -111,6 +176,13 @@ public class ConfigLoader {
         return "logits"; // 기본값
     }
     
+    /**
+     * 캐스케이드 1단계 분류기 (cascade.json이 있을 때만)
+     */
+    public Optional<NgramClassifier> getCascadeClassifier() {
+        return Optional.ofNullable(cascadeClassifier);
+    }
+    
     public Map<String, String> getLabelMapping() {
         return labelMapping != null ? new HashMap<>(labelMapping) : new HashMap<>();
     }
@@ -0,0 +1,44 @@
+package com.example.emotiondiary.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 일기 목록 키셋 페이지 커서 (마지막 항목의 created_at, diary_id)
+ * 클라이언트에는 내용을 알 수 없는 문자열(base64url)로 전달
+ */
+final class DiaryCursor {
+
+    final LocalDateTime createdAt;
+    final Long diaryId;
+
+    DiaryCursor(LocalDateTime createdAt, Long diaryId) {
+        this.createdAt = createdAt;
+        this.diaryId = diaryId;
+    }
+
+    String encode() {
+        String raw = createdAt + "|" + diaryId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException 형식이 올바르지 않은 커서
+     */
+    static DiaryCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            if (separator < 0) {
+                throw new IllegalArgumentException("잘못된 페이지 커서입니다.");
+            }
+            return new DiaryCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.valueOf(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            // base64 / 숫자 형식 오류도 같은 메시지로
+            throw new IllegalArgumentException("잘못된 페이지 커서입니다.", e);
+        }
+    }
+}
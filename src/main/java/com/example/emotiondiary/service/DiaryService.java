@@ -1,15 +1,26 @@
 package com.example.emotiondiary.service;
 
+import com.example.emotiondiary.dto.CalendarDay;
+import com.example.emotiondiary.dto.DiaryListItem;
+import com.example.emotiondiary.dto.DiaryListPage;
 import com.example.emotiondiary.entity.Diary;
 import com.example.emotiondiary.entity.User;
+import com.example.emotiondiary.repository.DiaryImageRepository;
 import com.example.emotiondiary.repository.DiaryRepository;
 import com.example.emotiondiary.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -17,7 +28,14 @@ import java.util.Optional;
 @Transactional(readOnly = true)
 public class DiaryService {
     
+    // 목록 페이지 크기 (기본값, 최댓값)
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+    
     private final DiaryRepository diaryRepository;
+    private final DiaryImageRepository diaryImageRepository;
+    private final EmotionRollupService emotionRollupService;
+    private final AnalysisJobService analysisJobService;
     private final UserRepository userRepository;
     
     /**
@@ -35,10 +53,70 @@ public class DiaryService {
     }
     
     /**
-     * 사용자 ID로 일기 목록 조회 (최신순)
+     * 사용자의 일기 ID 목록 (본문을 읽지 않음)
      */
-    public List<Diary> findByUserId(Long userId) {
-        return diaryRepository.findByUserUserIdOrderByCreatedAtDesc(userId);
+    public List<Long> findIdsByUserId(Long userId) {
+        return diaryRepository.findIdsByUserId(userId);
+    }
+    
+    /**
+     * 사용자 일기 목록 한 페이지 (최신순, (created_at, diary_id) 키셋 페이지)
+     * 일기 + 감정은 조인 한 번, 이미지 URL은 페이지의 일기 ID IN 목록으로 한 번 조회
+     * 페이지 깊이와 관계없이 쿼리 두 번이며, 엔티티 대신 프로젝션을 바로 응답 DTO로 변환
+     *
+     * @param from   일기 날짜 하한 (포함, null이면 제한 없음)
+     * @param to     일기 날짜 상한 (포함, null이면 제한 없음)
+     * @param cursor 이전 페이지의 nextCursor (첫 페이지면 null)
+     * @param size   페이지 크기 (1 ~ MAX_PAGE_SIZE로 보정)
+     * @throws IllegalArgumentException 커서 형식이 올바르지 않은 경우
+     */
+    public DiaryListPage findListPage(Long userId, LocalDate from, LocalDate to, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(MAX_PAGE_SIZE, size));
+        // 한 건 더 읽어 다음 페이지 유무 확인
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        
+        List<DiaryRepository.DiarySummary> summaries;
+        if (cursor == null || cursor.isBlank()) {
+            summaries = diaryRepository.findFirstSummaries(userId, from, to, limit);
+        } else {
+            DiaryCursor after = DiaryCursor.decode(cursor);
+            summaries = diaryRepository.findSummariesBefore(userId, from, to, after.createdAt, after.diaryId, limit);
+        }
+        
+        String nextCursor = null;
+        if (summaries.size() > pageSize) {
+            summaries = summaries.subList(0, pageSize);
+            DiaryRepository.DiarySummary last = summaries.get(pageSize - 1);
+            nextCursor = new DiaryCursor(last.getCreatedAt(), last.getDiaryId()).encode();
+        }
+        return new DiaryListPage(toListItems(summaries), nextCursor);
+    }
+    
+    private List<DiaryListItem> toListItems(List<DiaryRepository.DiarySummary> summaries) {
+        Map<Long, List<String>> imageUrls = new HashMap<>();
+        if (!summaries.isEmpty()) {
+            List<Long> diaryIds = summaries.stream()
+                    .map(DiaryRepository.DiarySummary::getDiaryId)
+                    .toList();
+            for (DiaryImageRepository.ImageUrl image : diaryImageRepository.findUrlsByDiaryIds(diaryIds)) {
+                imageUrls.computeIfAbsent(image.getDiaryId(), id -> new ArrayList<>()).add(image.getImageUrl());
+            }
+        }
+        
+        List<DiaryListItem> items = new ArrayList<>(summaries.size());
+        for (DiaryRepository.DiarySummary summary : summaries) {
+            items.add(new DiaryListItem(
+                    summary.getDiaryId().toString(),
+                    summary.getTitle(),
+                    summary.getExcerpt(),
+                    summary.getCharCount(),
+                    summary.getTokenCount(),
+                    summary.getDiaryDate().toString(),
+                    summary.getCreatedAt() != null ? summary.getCreatedAt().toString() : null,
+                    summary.getEmotion() != null ? summary.getEmotion().name().toLowerCase() : null,
+                    imageUrls.getOrDefault(summary.getDiaryId(), List.of())));
+        }
+        return items;
     }
     
     /**
@@ -49,10 +127,63 @@ public class DiaryService {
     }
     
     /**
-     * 사용자 ID와 년월로 일기 목록 조회
+     * 사용자 ID와 년월로 일기 목록 조회 (해당 월 1일 이상, 다음 달 1일 미만)
      */
     public List<Diary> findByUserIdAndYearMonth(Long userId, int year, int month) {
-        return diaryRepository.findByUserAndYearMonth(userId, year, month);
+        YearMonth yearMonth = YearMonth.of(year, month);
+        return diaryRepository.findByUserAndDateRange(userId, yearMonth.atDay(1), yearMonth.plusMonths(1).atDay(1));
+    }
+    
+    /**
+     * 달력 한 달 요약 (일기가 있는 날짜마다 하나, 날짜순)
+     * 일기 날짜 + 감정 조회 1회, 첫 번째 이미지 조회 1회로 끝나며 본문은 읽지 않음
+     *
+     * @throws java.time.DateTimeException 월이 1 ~ 12가 아닌 경우
+     */
+    public List<CalendarDay> findCalendarDays(Long userId, int year, int month) {
+        YearMonth yearMonth = YearMonth.of(year, month);
+        List<DiaryRepository.CalendarEntry> entries = diaryRepository.findCalendarEntries(
+                userId, yearMonth.atDay(1), yearMonth.plusMonths(1).atDay(1));
+        if (entries.isEmpty()) {
+            return List.of();
+        }
+        
+        Map<Long, String> thumbnails = new HashMap<>();
+        List<Long> diaryIds = entries.stream()
+                .map(DiaryRepository.CalendarEntry::getDiaryId)
+                .toList();
+        for (DiaryImageRepository.ImageUrl image : diaryImageRepository.findFirstUrlsByDiaryIds(diaryIds)) {
+            thumbnails.putIfAbsent(image.getDiaryId(), image.getImageUrl());
+        }
+        
+        // 같은 날짜는 최신 작성순으로 오므로 처음 나온 감정 / 이미지를 그날 대표로 사용
+        Map<LocalDate, List<DiaryRepository.CalendarEntry>> byDate = new LinkedHashMap<>();
+        for (DiaryRepository.CalendarEntry entry : entries) {
+            byDate.computeIfAbsent(entry.getDiaryDate(), date -> new ArrayList<>()).add(entry);
+        }
+        
+        List<CalendarDay> days = new ArrayList<>(byDate.size());
+        for (Map.Entry<LocalDate, List<DiaryRepository.CalendarEntry>> day : byDate.entrySet()) {
+            String emotion = null;
+            String thumbnail = null;
+            for (DiaryRepository.CalendarEntry entry : day.getValue()) {
+                if (emotion == null && entry.getEmotion() != null) {
+                    emotion = entry.getEmotion().name().toLowerCase();
+                }
+                if (thumbnail == null) {
+                    thumbnail = thumbnails.get(entry.getDiaryId());
+                }
+            }
+            days.add(new CalendarDay(day.getKey().toString(), emotion, day.getValue().size(), thumbnail));
+        }
+        return days;
+    }
+    
+    /**
+     * 하루 일기 목록 응답 조회 (최신 작성순, 달력에서 날짜 선택 시)
+     */
+    public List<DiaryListItem> findListItemsByDate(Long userId, LocalDate date) {
+        return toListItems(diaryRepository.findSummariesByDate(userId, date));
     }
     
     /**
@@ -73,9 +204,34 @@ public class DiaryService {
                     .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다. ID: " + diary.getUser().getUserId()));
             diary.setUser(user);
         }
+        // 미리보기와 글자 수는 엔티티 저장 시 계산, 토큰 수는 커밋 후 DiarySummaryBackfill이 트랜잭션 밖에서 채움
         return diaryRepository.save(diary);
     }
     
+    /**
+     * 일기 생성 (analyzeAsync면 같은 트랜잭션에서 감정 분석 작업도 등록해, 일기만 저장되고 작업이 빠지는 경우가 없음)
+     */
+    @Transactional
+    public Diary save(Diary diary, boolean analyzeAsync) {
+        Diary savedDiary = save(diary);
+        if (analyzeAsync) {
+            analysisJobService.enqueue(savedDiary.getDiaryId());
+        }
+        return savedDiary;
+    }
+    
+    /**
+     * 일기 정보 수정 (analyzeAsync이고 내용이 바뀌면 같은 트랜잭션에서 감정 분석 작업 재등록)
+     */
+    @Transactional
+    public Diary update(Long diaryId, Diary updatedDiary, boolean analyzeAsync) {
+        Diary diary = update(diaryId, updatedDiary);
+        if (analyzeAsync && updatedDiary.getContent() != null) {
+            analysisJobService.enqueue(diaryId);
+        }
+        return diary;
+    }
+    
     /**
      * 일기 정보 수정
      */
@@ -89,9 +245,14 @@ public class DiaryService {
         }
         if (updatedDiary.getContent() != null) {
             diary.setContent(updatedDiary.getContent());
+            // 이전 본문의 토큰 수는 비우고 커밋 후 다시 계산
+            diary.setTokenCount(null);
         }
         if (updatedDiary.getDiaryDate() != null) {
+            LocalDate previousDate = diary.getDiaryDate();
             diary.setDiaryDate(updatedDiary.getDiaryDate());
+            // 다른 달로 옮기면 월별 감정 집계도 함께 이동
+            emotionRollupService.moved(diary, previousDate);
         }
         
         return diaryRepository.save(diary);
@@ -102,18 +263,48 @@ public class DiaryService {
      */
     @Transactional
     public void delete(Long diaryId) {
-        if (!diaryRepository.existsById(diaryId)) {
-            throw new IllegalArgumentException("일기를 찾을 수 없습니다. ID: " + diaryId);
+        Diary diary = diaryRepository.findById(diaryId)
+                .orElseThrow(() -> new IllegalArgumentException("일기를 찾을 수 없습니다. ID: " + diaryId));
+        // 감정 분석 결과는 cascade로 함께 삭제되므로 월별 감정 집계에서 먼저 뺌
+        if (diary.getSentimentAnalysis() != null) {
+            emotionRollupService.removed(diary.getSentimentAnalysis());
+        }
+        diaryRepository.delete(diary);
+    }
+    
+    /**
+     * 미리보기/글자 수가 없거나 (withTokens면) 토큰 수가 없는 일기 한 페이지 (diary_id 오름차순)
+     */
+    public List<DiaryRepository.UnsummarizedDiary> findUnsummarized(Long afterId, boolean withTokens, int size) {
+        return diaryRepository.findUnsummarizedAfter(afterId, withTokens, PageRequest.of(0, size));
+    }
+    
+    /**
+     * 토큰 수가 없는 일기 한 건 (이미 채워졌거나 없으면 empty)
+     */
+    public Optional<DiaryRepository.UnsummarizedDiary> findWithoutTokenCount(Long diaryId) {
+        return diaryRepository.findWithoutTokenCount(diaryId);
+    }
+    
+    /**
+     * 미리보기/글자 수와 미리 계산한 토큰 수 저장 (토큰 수가 없는 일기는 기존 값 유지)
+     * 읽은 뒤 수정된 일기는 건너뜀 (수정 시 토큰 수를 비우므로 다음에 새 본문으로 다시 채움)
+     */
+    @Transactional
+    public void fillSummaries(List<DiaryRepository.UnsummarizedDiary> diaries, Map<Long, Integer> tokenCounts) {
+        for (DiaryRepository.UnsummarizedDiary diary : diaries) {
+            String content = diary.getContent();
+            diaryRepository.updateSummary(diary.getDiaryId(), diary.getUpdatedAt(),
+                    Diary.excerptOf(content), Diary.charCountOf(content),
+                    tokenCounts.get(diary.getDiaryId()));
         }
-        diaryRepository.deleteById(diaryId);
     }
     
     /**
      * 사용자의 특정 날짜 일기 존재 여부 확인
      */
     public boolean existsByUserIdAndDate(Long userId, LocalDate date) {
-        List<Diary> diaries = diaryRepository.findByUserUserIdAndDiaryDateOrderByCreatedAtDesc(userId, date);
-        return !diaries.isEmpty();
+        return diaryRepository.existsByUserUserIdAndDiaryDate(userId, date);
     }
 }
 
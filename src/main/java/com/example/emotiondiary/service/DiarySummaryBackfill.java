@@ -0,0 +1,110 @@
+package com.example.emotiondiary.service;
+
+import com.example.emotiondiary.repository.DiaryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * 미리보기 컬럼(excerpt, char_count, token_count) 추가 이전에 저장된 일기 채우기
+ * 기동 후 전용 스레드에서 diary_id 키셋 페이지 단위로 처리하며, 채울 일기가 없으면 조회 한 번으로 끝남
+ * 저장/수정된 일기의 토큰 수도 커밋 후 같은 스레드에서 채움 (토크나이저를 쓰기 트랜잭션 밖에서 실행)
+ * 모델이 로드되지 않은 상태면 토큰 수는 비워 두고 다음 기동(또는 일기 수정) 때 채움
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class DiarySummaryBackfill {
+
+    private static final int PAGE_SIZE = 500;
+
+    private final DiaryService diaryService;
+    private final EmotionAnalysisService emotionAnalysisService;
+
+    private final ExecutorService runner = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "diary-summary-backfill");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+
+    private volatile boolean stopRequested;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        runner.execute(this::run);
+    }
+
+    private void run() {
+        long startNanos = System.nanoTime();
+        long lastDiaryId = 0L;
+        int pages = 0;
+        try {
+            while (!stopRequested) {
+                boolean withTokens = emotionAnalysisService.isModelLoaded();
+                List<DiaryRepository.UnsummarizedDiary> page = diaryService.findUnsummarized(lastDiaryId, withTokens, PAGE_SIZE);
+                if (page.isEmpty()) {
+                    break;
+                }
+                Map<Long, Integer> tokenCounts = new HashMap<>();
+                if (withTokens) {
+                    for (DiaryRepository.UnsummarizedDiary diary : page) {
+                        tokenCounts.put(diary.getDiaryId(), emotionAnalysisService.countTokens(diary.getContent()));
+                    }
+                }
+                diaryService.fillSummaries(page, tokenCounts);
+                lastDiaryId = page.get(page.size() - 1).getDiaryId();
+                pages++;
+            }
+            if (pages > 0) {
+                log.info("✅ 일기 미리보기 채우기 완료: {}페이지, 마지막 diary_id {} ({}ms)",
+                        pages, lastDiaryId, (System.nanoTime() - startNanos) / 1_000_000);
+            }
+        } catch (Exception e) {
+            log.warn("⚠️ 일기 미리보기 채우기 실패 (diary_id {} 이후, 다음 기동 시 다시 시도): {}", lastDiaryId, e.getMessage());
+        }
+    }
+
+    /**
+     * 저장/수정이 커밋된 일기의 토큰 수를 백그라운드에서 채움 (모델 미로드 시 다음 기동 때 채움)
+     */
+    public void fillTokenCount(Long diaryId) {
+        if (stopRequested || !emotionAnalysisService.isModelLoaded()) {
+            return;
+        }
+        try {
+            runner.execute(() -> fillTokenCountNow(diaryId));
+        } catch (RejectedExecutionException e) {
+            // 종료 중
+        }
+    }
+
+    private void fillTokenCountNow(Long diaryId) {
+        try {
+            diaryService.findWithoutTokenCount(diaryId).ifPresent(diary -> {
+                Integer tokenCount = emotionAnalysisService.countTokens(diary.getContent());
+                if (tokenCount != null) {
+                    diaryService.fillSummaries(List.of(diary), Map.of(diaryId, tokenCount));
+                }
+            });
+        } catch (Exception e) {
+            log.warn("⚠️ 일기 토큰 수 채우기 실패 (diary_id {}, 다음 기동 시 다시 시도): {}", diaryId, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        stopRequested = true;
+        runner.shutdownNow();
+    }
+}
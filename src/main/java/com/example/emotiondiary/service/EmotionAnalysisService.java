@@ -1,20 +1,37 @@
 package com.example.emotiondiary.service;
 
 import ai.onnxruntime.*;
+import com.example.emotiondiary.config.InferenceProperties;
 import com.example.emotiondiary.entity.SentimentAnalysis;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
-import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * PyTorch 모델을 사용한 감정 분석 서비스
  * ONNX Runtime을 통해 모델 추론 수행
+ * 모델 파일이 바뀌면 무중단 재로드 가능 (백그라운드에서 새 모델 구성 + 워밍업 후 교체, 이전 세션은 진행 중인 요청이 끝나면 해제)
  */
 @Service
 @Slf4j
@@ -23,70 +40,414 @@ public class EmotionAnalysisService {
     
     private final BertTokenizer tokenizer;
     private final ConfigLoader configLoader;
+    private final ModelResources modelResources;
+    private final InferenceResultCache resultCache;
+    private final KeywordEmotionAnalyzer keywordAnalyzer;
+    private final OrtSessionFactory sessionFactory;
+    private final InferenceProperties inferenceProperties;
+    private final MeterRegistry meterRegistry;
     
     private OrtEnvironment env;
-    private OrtSession session;
     
-    // 모델 파일 경로
-    private static final String MODEL_PATH = "models/emotion_model_onnx/model.onnx";
+    // 현재 모델 (미로드 시 null, 재로드 시 통째로 교체)
+    private final AtomicReference<LoadedModel> model = new AtomicReference<>();
     
-    // 감정 라벨 매핑 (모델 출력 인덱스 → 감정 Enum)
-    private Map<Integer, SentimentAnalysis.Emotion> emotionLabels;
+    // 모델 재로드 (한 번에 하나만)
+    private final ExecutorService reloader = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "emotion-model-reload");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+    private final AtomicBoolean reloading = new AtomicBoolean();
+    private volatile CompletableFuture<Void> pendingLoad = CompletableFuture.completedFuture(null);
+    private volatile LocalDateTime loadedAt;
+    private volatile String lastReloadError;
     
-    private boolean modelLoaded = false;
-    private int maxLength;
-    private String[] inputNames;
-    private String outputName;
+    // 기동 모드별 비용 보고용 (모델 준비 시간, 첫 모델 추론 요청 지연)
+    private final AtomicBoolean lazyLoadStarted = new AtomicBoolean();
+    private final AtomicBoolean firstRequestRecorded = new AtomicBoolean();
+    private volatile long modelReadyMillis;
+    private volatile long firstRequestMillis;
+    
+    // 파일 감시용 모델 파일 지문 (pending은 복사 중인 파일을 피하기 위해 한 주기 동안 그대로인지 확인하는 용도)
+    private volatile String watchedFingerprint = "";
+    private volatile String pendingFingerprint;
+    
+    // 추론 진입 제한 (비활성화 시 null)
+    private InferenceAdmission admission;
+    
+    // 응답 경로별 건수 (model, keyword, degraded)
+    private final Map<EmotionPrediction.Source, Counter> responseCounters = new ConcurrentHashMap<>();
+    
+    // 캐스케이드 단계별 지표
+    private double cascadeThreshold;
+    private Counter fastTierCounter;
+    private Counter modelTierCounter;
+    private Timer fastTierTimer;
+    private Timer modelTierTimer;
+    
+    // 긴 텍스트 윈도우 분할용 스레드별 전체 토큰 시퀀스 버퍼
+    private final ThreadLocal<IdBuffer> longTextBuffer = ThreadLocal.withInitial(() -> new IdBuffer(1024));
+    
+    // 모델 파일 이름 (ModelResources 모델 디렉토리 기준)
+    private static final String MODEL_FILE = "model.onnx";
+    
+    // 바뀌면 재로드하는 파일 (모델, 토크나이저, 설정, 라벨 매핑, 아티팩트, 캐스케이드 가중치)
+    private static final String[] WATCHED_FILES = {MODEL_FILE, "vocab.txt", "config.json", "label_mapping.json",
+            ModelArtifact.FILE_NAME, ConfigLoader.CASCADE_FILE};
     
     @PostConstruct
     public void initializeModel() {
+        env = OrtEnvironment.getEnvironment();
+        initializeMeters();
+        watchedFingerprint = filesFingerprint();
+        
+        if (startupMode() == InferenceProperties.StartupMode.LAZY) {
+            log.info("감정 분석 모델 지연 로딩: 첫 분석 요청 시 백그라운드에서 로드합니다. (그동안 키워드 기반 분석)");
+            return;
+        }
+        // 컨텍스트 초기화 중에 로드와 워밍업을 마치므로 readiness는 모델이 준비된 뒤에 통과
+        loadAtStartup();
+    }
+    
+    /**
+     * 기동 시 모델 로드 + 모든 길이 버킷 워밍업 후 공개
+     * EAGER는 컨텍스트 초기화 중에, LAZY는 첫 사용 시 백그라운드 스레드에서 실행
+     */
+    private void loadAtStartup() {
+        long start = System.nanoTime();
         try {
-            // 설정 로드
-            maxLength = configLoader.getMaxLength();
-            inputNames = configLoader.getInputNames();
-            outputName = configLoader.getOutputName();
-            
-            // 라벨 매핑 로드 및 변환
-            loadEmotionLabels();
-            
-            // ONNX 환경 및 세션 초기화
-            env = OrtEnvironment.getEnvironment();
-            OrtSession.SessionOptions opts = new OrtSession.SessionOptions();
-            
-            // 모델 파일 로드 시도
-            ClassPathResource resource = new ClassPathResource(MODEL_PATH);
-            
-            if (!resource.exists()) {
-                log.warn("⚠️ 감정 분석 모델 파일을 찾을 수 없습니다: {}. 키워드 기반 분석으로 대체됩니다.", MODEL_PATH);
-                log.warn("   모델 파일을 {} 경로에 저장해주세요.", MODEL_PATH);
-                modelLoaded = false;
+            configLoader.loadConfigs();
+            tokenizer.initialize(configLoader.getMaxLength());
+            LoadedModel loaded = loadModel(tokenizer, configLoader, modelResources);
+            if (loaded == null) {
+                log.warn("   모델 파일을 {}/{} 경로에 저장해주세요.", ModelResources.MODEL_DIR, MODEL_FILE);
                 return;
             }
+            long warmupStart = System.nanoTime();
+            warmUp(loaded);
+            publish(loaded);
             
-            InputStream modelInputStream = resource.getInputStream();
-            byte[] modelBytes = modelInputStream.readAllBytes();
+            long end = System.nanoTime();
+            modelReadyMillis = TimeUnit.NANOSECONDS.toMillis(end - start);
+            log.info("✅ 감정 분석 모델 준비 완료 ({}): {}ms (로드 {}ms + 워밍업 {}ms)", startupMode(), modelReadyMillis,
+                    TimeUnit.NANOSECONDS.toMillis(warmupStart - start), TimeUnit.NANOSECONDS.toMillis(end - warmupStart));
             
-            session = env.createSession(modelBytes, opts);
-            modelLoaded = true;
-            log.info("✅ 감정 분석 모델 로드 완료: {}", MODEL_PATH);
-            log.info("   - Max Length: {}", maxLength);
-            log.info("   - Input Names: {}", Arrays.toString(inputNames));
-            log.info("   - Output Name: {}", outputName);
-            log.info("   - Num Labels: {}", emotionLabels.size());
+            InferenceProperties.LongText longText = inferenceProperties.getLongText();
+            log.info("   - Max Batch Size: {} (대기 {}ms)",
+                    inferenceProperties.getBatch().getMaxBatchSize(), inferenceProperties.getBatch().getMaxWaitMillis());
+            if (longText.isEnabled()) {
+                log.info("   - Long Text: 윈도우 최대 {}개 (겹침 {} 토큰, {})",
+                        longText.getMaxWindows(), longText.getWindowOverlap(), longText.getAggregation());
+            }
+            if (admission != null) {
+                log.info("   - Admission: 동시 {}건, 대기 {}건 ({}ms)",
+                        inferenceProperties.getAdmission().getMaxConcurrent(),
+                        inferenceProperties.getAdmission().getMaxQueued(),
+                        inferenceProperties.getAdmission().getQueueTimeoutMillis());
+            }
+            if (loaded.cascade != null) {
+                log.info("   - Cascade: n-gram 분류기 확률 {} 이상이면 ONNX 생략", cascadeThreshold);
+            }
             
         } catch (Exception e) {
             log.error("❌ 감정 분석 모델 로드 실패: {}", e.getMessage(), e);
             log.warn("키워드 기반 분석으로 대체됩니다.");
-            modelLoaded = false;
         }
     }
     
+    /**
+     * 공개 전 워밍업 (ONNX 첫 실행 비용 + 토크나이저/배치 경로 JIT), 실패하면 모델을 닫고 예외 전달
+     */
+    private void warmUp(LoadedModel loaded) throws Exception {
+        InferenceProperties.Startup settings = inferenceProperties.getStartup();
+        try {
+            loaded.warmUp(settings.getWarmupRounds(), settings.getWarmupTimeoutMillis());
+        } catch (Exception e) {
+            loaded.retire();
+            throw e;
+        }
+    }
+    
+    private InferenceProperties.StartupMode startupMode() {
+        return inferenceProperties.getStartup().getMode();
+    }
+    
+    /**
+     * LAZY 모드에서 아직 모델이 없으면 백그라운드 로드 시작 (한 번만)
+     */
+    private void ensureModelLoading() {
+        if (model.get() == null && startupMode() == InferenceProperties.StartupMode.LAZY
+                && lazyLoadStarted.compareAndSet(false, true)) {
+            log.info("첫 분석 요청: 감정 분석 모델을 백그라운드에서 로드합니다.");
+            startLoad(this::loadAtStartup);
+        }
+    }
+    
+    /**
+     * 현재 모델 참조 획득, 아직 없고 로드가 진행 중이면 끝날 때까지 대기 (결과가 저장되는 백그라운드 작업용)
+     */
+    private LoadedModel awaitModel() {
+        LoadedModel current = acquireModel();
+        if (current != null) {
+            return current;
+        }
+        ensureModelLoading();
+        if (reloading.get()) {
+            try {
+                pendingLoad.get(inferenceProperties.getStartup().getWarmupTimeoutMillis(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException | TimeoutException e) {
+                log.debug("모델 로드 대기 실패: {}", e.getMessage());
+            }
+        }
+        return acquireModel();
+    }
+    
+    /**
+     * 모델 구성 요소 생성 (모델 파일이 없으면 null)
+     * 재로드 시에는 새로 읽은 토크나이저/설정/리소스를 넘겨 현재 모델과 완전히 분리된 인스턴스를 만듦
+     */
+    private LoadedModel loadModel(BertTokenizer tokenizer, ConfigLoader configLoader, ModelResources resources)
+            throws Exception {
+        Resource resource = resources.resolve(MODEL_FILE);
+        if (!resource.exists()) {
+            log.warn("⚠️ 감정 분석 모델 파일을 찾을 수 없습니다: {}. 키워드 기반 분석으로 대체됩니다.", resource.getDescription());
+            return null;
+        }
+        
+        // 라벨 매핑 로드 및 변환
+        Map<Integer, SentimentAnalysis.Emotion> emotionLabels = loadEmotionLabels(configLoader);
+        NgramClassifier cascade = selectCascade(configLoader, configLoader.getNumLabels());
+        
+        String version = resources.fingerprint(MODEL_FILE);
+        if (cascade != null) {
+            // 1단계 가중치/임계값이 바뀌어도 캐시된 결과가 달라지므로 버전에 포함
+            version += "+" + resources.fingerprint(ConfigLoader.CASCADE_FILE) + "#" + cascadeThreshold;
+        }
+        
+        // emotion.inference.session.* 설정 적용 (자동 보정/최적화 그래프 재사용 포함)
+        String[] inputNames = configLoader.getInputNames();
+        OrtSession session = sessionFactory.createSession(env, MODEL_FILE, inputNames, configLoader.getMaxLength());
+        LoadedModel loaded;
+        try {
+            loaded = new LoadedModel(version, env, session, tokenizer, configLoader, emotionLabels, cascade,
+                    inferenceProperties.getBatch(), meterRegistry);
+        } catch (RuntimeException e) {
+            session.close();
+            throw e;
+        }
+        
+        log.info("✅ 감정 분석 모델 로드 완료: {}", resource.getDescription());
+        log.info("   - Max Length: {}", loaded.maxLength);
+        log.info("   - Length Buckets: {}", loaded.lengthBuckets);
+        log.info("   - Input Names: {}", Arrays.toString(inputNames));
+        log.info("   - Output Name: {}", configLoader.getOutputName());
+        log.info("   - Num Labels: {}", emotionLabels.size());
+        return loaded;
+    }
+    
+    /**
+     * 새 모델 공개 (이전 모델은 진행 중인 요청이 끝나면 해제)
+     */
+    private void publish(LoadedModel next) {
+        LoadedModel previous = model.getAndSet(next);
+        resultCache.onModelChanged(next.version);
+        loadedAt = LocalDateTime.now();
+        if (previous != null) {
+            previous.retire();
+        }
+    }
+    
+    /**
+     * 모델 무중단 재로드 시작 (관리자 API/파일 감시)
+     * 모델 디렉토리의 파일을 새로 읽어 세션/토크나이저/라벨 매핑을 만들고 모든 길이 버킷을 워밍업한 뒤 교체
+     * 그동안 요청은 기존 모델로 처리되며, 실패하면 기존 모델을 그대로 유지
+     *
+     * @return 재로드 상태
+     */
+    public Map<String, Object> reload() {
+        startLoad(this::reloadModel);
+        return modelStatus();
+    }
+    
+    /**
+     * 로드 작업을 재로드 스레드에서 시작 (이미 진행 중이면 무시)
+     */
+    private void startLoad(Runnable task) {
+        if (!reloading.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            pendingLoad = CompletableFuture.runAsync(() -> {
+                try {
+                    task.run();
+                } finally {
+                    reloading.set(false);
+                }
+            }, reloader);
+        } catch (RuntimeException e) {
+            reloading.set(false);
+            throw e;
+        }
+    }
+    
+    /**
+     * 모델 상태 (버전, 로드 시각, 재로드 진행 여부, 마지막 재로드 오류)
+     */
+    public Map<String, Object> modelStatus() {
+        LoadedModel current = model.get();
+        Map<String, Object> status = new HashMap<>();
+        status.put("modelLoaded", current != null);
+        status.put("modelVersion", current != null ? current.version : "");
+        status.put("loadedAt", loadedAt != null ? loadedAt.toString() : null);
+        status.put("reloading", reloading.get());
+        status.put("lastReloadError", lastReloadError);
+        status.put("startupMode", startupMode().name().toLowerCase());
+        status.put("modelReadyMillis", modelReadyMillis);
+        status.put("firstRequestMillis", firstRequestRecorded.get() ? firstRequestMillis : null);
+        return status;
+    }
+    
+    private void reloadModel() {
+        long start = System.nanoTime();
+        try {
+            ModelResources resources = new ModelResources(inferenceProperties);
+            resources.initialize();
+            ConfigLoader config = new ConfigLoader(resources);
+            config.loadConfigs();
+            BertTokenizer nextTokenizer = new BertTokenizer(resources, inferenceProperties);
+            nextTokenizer.initialize(config.getMaxLength());
+            
+            LoadedModel next = loadModel(nextTokenizer, config, resources);
+            if (next == null) {
+                throw new IllegalStateException("모델 파일이 없습니다.");
+            }
+            warmUp(next);
+            
+            publish(next);
+            lastReloadError = null;
+            log.info("✅ 감정 분석 모델 교체 완료: {} ({}ms)", next.version,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (Exception e) {
+            lastReloadError = e.getMessage();
+            log.error("❌ 감정 분석 모델 재로드 실패, 기존 모델을 유지합니다: {}", e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * 모델 파일 감시 (emotion.inference.reload.watch=true일 때)
+     * 지문(크기 + 수정 시각)이 바뀐 뒤 한 주기 동안 그대로면 복사가 끝난 것으로 보고 재로드
+     */
+    @Scheduled(fixedDelayString = "${emotion.inference.reload.poll-interval-millis:10000}")
+    public void watchModelFiles() {
+        if (!inferenceProperties.getReload().isWatch()) {
+            return;
+        }
+        String fingerprint = filesFingerprint();
+        if (fingerprint.equals(watchedFingerprint)) {
+            pendingFingerprint = null;
+            return;
+        }
+        if (!fingerprint.equals(pendingFingerprint)) {
+            pendingFingerprint = fingerprint;
+            return;
+        }
+        
+        log.info("모델 파일 변경 감지: 무중단 재로드를 시작합니다.");
+        // 실패해도 같은 파일로 반복 재시도하지 않음 (파일이 다시 바뀌거나 관리자 API로 재시도)
+        watchedFingerprint = fingerprint;
+        pendingFingerprint = null;
+        reload();
+    }
+    
+    private String filesFingerprint() {
+        StringBuilder fingerprint = new StringBuilder();
+        for (String file : WATCHED_FILES) {
+            fingerprint.append(modelResources.resolve(file).exists() ? modelResources.fingerprint(file) : file + "@-")
+                    .append(';');
+        }
+        return fingerprint.toString();
+    }
+    
+    /**
+     * 요청 단위 지표와 진입 제한 준비 (모델이 교체되어도 같은 지표에 누적)
+     */
+    private void initializeMeters() {
+        if (inferenceProperties.getAdmission().isEnabled()) {
+            admission = new InferenceAdmission(inferenceProperties.getAdmission(), meterRegistry);
+        }
+        
+        Gauge.builder("emotion.inference.queue.depth", model, current -> {
+                    LoadedModel loaded = current.get();
+                    return loaded != null ? loaded.batcher.queueDepth() : 0;
+                })
+                .description("배치 대기 중인 요청 수")
+                .register(meterRegistry);
+        Gauge.builder("emotion.inference.model.ready.time", this, service -> service.modelReadyMillis)
+                .description("기동 후 모델 로드 + 워밍업에 걸린 시간 (LAZY는 첫 요청 이후 백그라운드 소요 시간)")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("emotion.inference.first.request.latency", this, service -> service.firstRequestMillis)
+                .description("기동 후 첫 모델 추론 요청의 지연 시간")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        
+        fastTierCounter = Counter.builder("emotion.inference.cascade.requests")
+                .description("캐스케이드 단계별 처리 건수 (fast: n-gram 분류기, model: ONNX 모델)")
+                .tag("tier", "fast")
+                .register(meterRegistry);
+        modelTierCounter = Counter.builder("emotion.inference.cascade.requests")
+                .description("캐스케이드 단계별 처리 건수 (fast: n-gram 분류기, model: ONNX 모델)")
+                .tag("tier", "model")
+                .register(meterRegistry);
+        Gauge.builder("emotion.inference.cascade.hit.ratio", this, service -> service.cascadeHitRatio())
+                .description("1단계 n-gram 분류기가 바로 응답한 비율")
+                .register(meterRegistry);
+        fastTierTimer = Timer.builder("emotion.inference.tier.latency")
+                .description("캐스케이드 단계별 지연 시간 (model은 배치 대기 포함)")
+                .tag("tier", "fast")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        modelTierTimer = Timer.builder("emotion.inference.tier.latency")
+                .description("캐스케이드 단계별 지연 시간 (model은 배치 대기 포함)")
+                .tag("tier", "model")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+    
+    /**
+     * 캐스케이드 1단계 분류기 선택
+     * 비활성화되었거나 라벨 수가 모델과 다르면 사용하지 않음
+     */
+    private NgramClassifier selectCascade(ConfigLoader configLoader, int numLabels) {
+        cascadeThreshold = inferenceProperties.getCascade().getThreshold();
+        if (!inferenceProperties.getCascade().isEnabled()) {
+            return null;
+        }
+        Optional<NgramClassifier> classifier = configLoader.getCascadeClassifier();
+        if (classifier.isPresent() && classifier.get().numLabels() != numLabels) {
+            log.warn("⚠️ 캐스케이드 분류기 라벨 수({})가 모델({})과 달라 사용하지 않습니다.",
+                    classifier.get().numLabels(), numLabels);
+            return null;
+        }
+        return classifier.orElse(null);
+    }
+    
+    private double cascadeHitRatio() {
+        double fast = fastTierCounter.count();
+        double total = fast + modelTierCounter.count();
+        return total > 0 ? fast / total : 0.0;
+    }
+    
     /**
      * config에서 라벨 매핑을 로드하고 Enum으로 변환
      */
-    private void loadEmotionLabels() {
+    private Map<Integer, SentimentAnalysis.Emotion> loadEmotionLabels(ConfigLoader configLoader) {
         Map<String, String> labelMapping = configLoader.getLabelMapping();
-        emotionLabels = new HashMap<>();
+        Map<Integer, SentimentAnalysis.Emotion> emotionLabels = new HashMap<>();
         
         // 한국어 라벨 → Enum 매핑
         Map<String, SentimentAnalysis.Emotion> koreanToEnum = Map.of(
@@ -119,7 +480,7 @@ public class EmotionAnalysisService {
         // 매핑이 비어있으면 기본값 사용
         if (emotionLabels.isEmpty()) {
             log.warn("라벨 매핑이 비어있어 기본 매핑을 사용합니다.");
-            emotionLabels = Map.of(
+            return Map.of(
                 0, SentimentAnalysis.Emotion.HAPPY,
                 1, SentimentAnalysis.Emotion.ANXIETY,
                 2, SentimentAnalysis.Emotion.EMBARRASSED,
@@ -128,13 +489,16 @@ public class EmotionAnalysisService {
                 5, SentimentAnalysis.Emotion.HURT
             );
         }
+        return emotionLabels;
     }
     
     @PreDestroy
     public void cleanup() {
         try {
-            if (session != null) {
-                session.close();
+            reloader.shutdownNow();
+            LoadedModel current = model.getAndSet(null);
+            if (current != null) {
+                current.retire();
             }
             if (env != null) {
                 env.close();
@@ -145,163 +509,357 @@ public class EmotionAnalysisService {
         }
     }
     
+    /**
+     * 현재 모델 참조 획득 (미로드 시 null, 사용 후 release 필요)
+     * 교체 직후 닫히는 중인 이전 모델을 읽은 경우 새 모델로 다시 시도
+     */
+    private LoadedModel acquireModel() {
+        while (true) {
+            LoadedModel current = model.get();
+            if (current == null || current.retain()) {
+                return current;
+            }
+        }
+    }
+    
     /**
      * 텍스트를 감정으로 분석
      * 모델이 로드되지 않은 경우 키워드 기반 분석으로 대체
-     * 
+     *
      * @param text 분석할 텍스트
      * @return 감정 Enum (HAPPY, ANXIETY, EMBARRASSED, SAD, ANGRY, HURT)
      */
     public SentimentAnalysis.Emotion analyzeEmotion(String text) {
+        return analyze(text).getEmotion();
+    }
+    
+    /**
+     * 텍스트를 감정과 신뢰도로 분석
+     * 모델이 로드되지 않은 경우 키워드 기반 분석으로 대체하고,
+     * 추론 과부하로 진입이 거절되면 키워드 기반으로 바로 응답 (source=DEGRADED)
+     *
+     * @param text 분석할 텍스트
+     * @return 감정 + 신뢰도 (모델 결과면 softmax 확률)
+     */
+    public EmotionPrediction analyze(String text) {
+        return analyze(text, true);
+    }
+    
+    /**
+     * 텍스트를 감정과 신뢰도로 분석
+     *
+     * @param text          분석할 텍스트
+     * @param shedWhenBusy  true면 추론 진입 제한을 적용 (사용자 요청),
+     *                      false면 제한 없이 결과를 기다림 (스레드 수가 정해진 백그라운드 작업, 결과가 저장되므로 키워드 응답을 피함)
+     */
+    public EmotionPrediction analyze(String text, boolean shedWhenBusy) {
+        long start = System.nanoTime();
+        EmotionPrediction prediction = predict(text, shedWhenBusy);
+        countResponse(prediction.getSource());
+        if (prediction.isModelBased() && !firstRequestRecorded.get() && firstRequestRecorded.compareAndSet(false, true)) {
+            firstRequestMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            log.info("첫 모델 추론 요청 지연: {}ms ({})", firstRequestMillis, startupMode());
+        }
+        return prediction;
+    }
+    
+    private EmotionPrediction predict(String text, boolean shedWhenBusy) {
         if (text == null || text.trim().isEmpty()) {
-            return SentimentAnalysis.Emotion.HAPPY; // 기본값
+            return new EmotionPrediction(SentimentAnalysis.Emotion.HAPPY, 0.0f, EmotionPrediction.Source.KEYWORD, null); // 기본값
         }
         
-        if (!modelLoaded) {
+        LoadedModel current = shedWhenBusy ? acquireModel() : awaitModel();
+        if (current == null) {
+            ensureModelLoading();
             log.debug("모델 미로드 상태: 키워드 기반 분석 수행");
-            return analyzeByKeywords(text);
+            return keywordAnalyzer.predict(text);
         }
         
         try {
-            // 1. 텍스트 토크나이징
-            BertTokenizer.TokenizationResult tokenResult = tokenizer.tokenize(text);
-            long[] inputIds = tokenResult.getInputIds();
-            long[] attentionMask = tokenResult.getAttentionMask();
-            
-            // 2. ONNX 입력 생성 (배치 차원 추가: [1, max_length])
-            long[][] inputIdsArray = new long[1][];
-            inputIdsArray[0] = inputIds;
-            
-            long[][] attentionMaskArray = new long[1][];
-            attentionMaskArray[0] = attentionMask;
-            
-            OnnxTensor inputIdsTensor = OnnxTensor.createTensor(env, inputIdsArray);
-            OnnxTensor attentionMaskTensor = OnnxTensor.createTensor(env, attentionMaskArray);
-            
-            // 3. 모델 추론 실행
-            Map<String, OnnxTensorLike> inputs = new HashMap<>();
-            inputs.put(inputNames[0], inputIdsTensor); // "input_ids"
-            inputs.put(inputNames[1], attentionMaskTensor); // "attention_mask"
+            InferenceAdmission gate = shedWhenBusy ? admission : null;
+            if (gate != null) {
+                // 이미 계산된 결과는 과부하와 관계없이 바로 응답
+                float[] cached = resultCache.getIfPresent(current.version, text);
+                if (cached != null) {
+                    return toPrediction(current, cached);
+                }
+                if (!gate.tryAcquire()) {
+                    log.debug("추론 과부하 (대기 {}건): 키워드 기반으로 응답", gate.waiting());
+                    return keywordAnalyzer.predict(text).withSource(EmotionPrediction.Source.DEGRADED);
+                }
+            }
             
-            try (OrtSession.Result output = session.run(inputs)) {
-                // 4. 출력 결과 추출 (logits: [batch_size, num_labels])
-                OnnxValue outputValue = output.get(outputName).orElseThrow();
-                float[][] logits = (float[][]) outputValue.getValue();
-                
-                // 5. Softmax 적용하여 확률 계산
-                float[] probabilities = softmax(logits[0]);
-                
-                // 6. 가장 높은 확률의 감정 선택
-                int predictedIndex = findMaxIndex(probabilities);
-                SentimentAnalysis.Emotion emotion = emotionLabels.get(predictedIndex);
-                
-                float confidence = probabilities[predictedIndex];
-                log.debug("감정 분석 결과: {} (확률: {:.4f})", emotion, confidence);
+            try {
+                // 1~3. 캐시 조회, 없으면 토크나이징 → 배치 스케줄러 등록 (길이 버킷까지만 패딩) → Softmax
+                // 캐시 키에는 요청이 잡은 모델의 버전을 사용 (교체 중에도 이전 모델 결과가 새 버전으로 저장되지 않음)
+                float[] probabilities = resultCache.get(current.version, text, normalized -> infer(current, normalized))
+                        .get(inferenceProperties.getBatch().getResultTimeoutMillis(), TimeUnit.MILLISECONDS);
                 
-                return emotion != null ? emotion : SentimentAnalysis.Emotion.HAPPY;
+                // 4. 가장 높은 확률의 감정 선택
+                return toPrediction(current, probabilities);
+            
+            } catch (Exception e) {
+                if (isRejected(e)) {
+                    // 배치 대기 큐가 가득 참: 진입 제한 거절과 같은 과부하 응답
+                    log.debug("추론 대기 큐 초과: 키워드 기반으로 응답");
+                    return keywordAnalyzer.predict(text).withSource(EmotionPrediction.Source.DEGRADED);
+                }
+                log.error("감정 분석 중 오류 발생, 키워드 기반 분석으로 대체: {}", e.getMessage(), e);
+                return keywordAnalyzer.predict(text);
             } finally {
-                inputIdsTensor.close();
-                attentionMaskTensor.close();
+                if (gate != null) {
+                    gate.release();
+                }
             }
+        } finally {
+            current.release();
+        }
+    }
+    
+    private void countResponse(EmotionPrediction.Source source) {
+        responseCounters.computeIfAbsent(source, key -> Counter.builder("emotion.inference.responses")
+                .description("응답 경로별 분석 건수 (model: 모델 추론, keyword: 모델 미로드/오류 대체, degraded: 과부하로 키워드 응답)")
+                .tag("path", key.name().toLowerCase())
+                .register(meterRegistry)).increment();
+    }
+    
+    /**
+     * 여러 텍스트를 한 번에 분석 (재분석 등 스레드 수가 정해진 백그라운드 작업용, 진입 제한 없이 결과를 기다림)
+     */
+    public List<EmotionPrediction> analyzeAll(List<String> texts) {
+        return analyzeAll(texts, false);
+    }
+    
+    /**
+     * 여러 텍스트를 한 번에 분석 (입력 순서대로 반환)
+     * 결과 캐시를 거치지 않고 배치 스케줄러에 여러 건을 한꺼번에 등록해 최대 배치 크기로 묶이도록 하며,
+     * 한 번에 등록하는 추론 요청 수(긴 텍스트 모드면 텍스트당 최대 윈도우 수)는 대기 큐의 절반으로 제한해
+     * 사용자 요청이 들어올 자리를 남김
+     * 모델 미로드/추론 실패 시 해당 항목은 키워드 결과이므로 저장하는 호출자는 isModelBased()를 확인해야 함
+     *
+     * @param shedWhenBusy true면 등록 단위(윈도우)마다 추론 진입 제한을 한 건으로 거치고,
+     *                     거절되거나 배치 대기 큐가 가득 찬 항목은 키워드 결과로 응답 (source=DEGRADED, 사용자 일괄 분석 요청)
+     */
+    public List<EmotionPrediction> analyzeAll(List<String> texts, boolean shedWhenBusy) {
+        LoadedModel current = shedWhenBusy ? acquireModel() : awaitModel();
+        InferenceAdmission gate = shedWhenBusy ? admission : null;
+        try {
+            List<EmotionPrediction> results = new ArrayList<>(texts.size());
+            InferenceProperties.LongText longText = inferenceProperties.getLongText();
+            int submissionsPerText = longText.isEnabled()
+                    ? Math.min(Math.max(1, longText.getMaxWindows()), Math.max(1, inferenceProperties.getBatch().getMaxBatchSize()))
+                    : 1;
+            int window = Math.max(1, inferenceProperties.getBatch().getQueueCapacity() / 2 / submissionsPerText);
             
-        } catch (Exception e) {
-            log.error("감정 분석 중 오류 발생, 키워드 기반 분석으로 대체: {}", e.getMessage(), e);
-            return analyzeByKeywords(text);
+            for (int from = 0; from < texts.size(); from += window) {
+                int to = Math.min(texts.size(), from + window);
+                boolean admitted = current != null && (gate == null || gate.tryAcquire());
+                try {
+                    List<CompletableFuture<float[]>> futures = new ArrayList<>(to - from);
+                    for (int i = from; i < to; i++) {
+                        String text = texts.get(i);
+                        boolean blank = text == null || text.trim().isEmpty();
+                        futures.add(admitted && !blank ? infer(current, text) : null);
+                    }
+                    
+                    for (int i = from; i < to; i++) {
+                        String text = texts.get(i);
+                        CompletableFuture<float[]> future = futures.get(i - from);
+                        if (future == null) {
+                            results.add(current != null && !admitted ? shed(current, text) : analyze(text, shedWhenBusy));
+                            continue;
+                        }
+                        try {
+                            float[] probabilities = future.get(inferenceProperties.getBatch().getResultTimeoutMillis(), TimeUnit.MILLISECONDS);
+                            results.add(toPrediction(current, probabilities));
+                        } catch (Exception e) {
+                            if (shedWhenBusy && isRejected(e)) {
+                                results.add(keywordAnalyzer.predict(text).withSource(EmotionPrediction.Source.DEGRADED));
+                            } else {
+                                log.warn("⚠️ 일괄 분석 중 추론 실패, 키워드 기반 분석으로 대체: {}", e.getMessage());
+                                results.add(keywordAnalyzer.predict(text));
+                            }
+                        }
+                        countResponse(results.get(results.size() - 1).getSource());
+                    }
+                } finally {
+                    if (admitted && gate != null) {
+                        gate.release();
+                    }
+                }
+            }
+            return results;
+        } finally {
+            if (current != null) {
+                current.release();
+            }
         }
     }
     
     /**
-     * Softmax 함수 적용
+     * 진입이 거절된 일괄 분석 항목 (이미 계산된 결과가 있으면 그대로, 없으면 키워드 결과로 응답)
      */
-    private float[] softmax(float[] logits) {
-        float[] expValues = new float[logits.length];
-        
-        // 최대값 찾기
-        float maxLogit = logits[0];
-        for (float logit : logits) {
-            if (logit > maxLogit) {
-                maxLogit = logit;
+    private EmotionPrediction shed(LoadedModel current, String text) {
+        if (text == null || text.trim().isEmpty()) {
+            return analyze(text, false);
+        }
+        float[] cached = resultCache.getIfPresent(current.version, text);
+        EmotionPrediction prediction = cached != null
+                ? toPrediction(current, cached)
+                : keywordAnalyzer.predict(text).withSource(EmotionPrediction.Source.DEGRADED);
+        countResponse(prediction.getSource());
+        return prediction;
+    }
+    
+    /**
+     * 배치 대기 큐 초과/스케줄러 종료로 등록이 거절된 추론인지 (ExecutionException 등으로 감싸진 경우 포함)
+     */
+    private static boolean isRejected(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof RejectedExecutionException) {
+                return true;
             }
         }
-        
-        float sum = 0.0f;
-        
-        // 수치 안정성을 위해 최대값을 빼줌
-        for (int i = 0; i < logits.length; i++) {
-            expValues[i] = (float) Math.exp(logits[i] - maxLogit);
-            sum += expValues[i];
+        return false;
+    }
+    
+    /**
+     * 모델 출력 인덱스 순서의 감정 라벨 (EmotionPrediction.getProbabilities()와 같은 순서, 매핑이 없는 인덱스는 null)
+     * 모델 미로드 시 빈 목록
+     */
+    public List<SentimentAnalysis.Emotion> getLabels() {
+        LoadedModel current = model.get();
+        if (current == null) {
+            return List.of();
         }
-        
-        // 정규화
-        for (int i = 0; i < expValues.length; i++) {
-            expValues[i] /= sum;
+        List<SentimentAnalysis.Emotion> labels = new ArrayList<>(current.numLabels);
+        for (int i = 0; i < current.numLabels; i++) {
+            labels.add(current.emotionLabels.get(i));
         }
-        
-        return expValues;
+        return labels;
+    }
+    
+    /**
+     * 모델 로드 여부
+     */
+    public boolean isModelLoaded() {
+        return model.get() != null;
+    }
+    
+    /**
+     * 로드된 모델 버전 (모델 파일 지문, 미로드 시 빈 문자열)
+     */
+    public String getModelVersion() {
+        LoadedModel current = model.get();
+        return current != null ? current.version : "";
     }
     
     /**
-     * 배열에서 최대값의 인덱스 찾기
+     * 본문 토큰 수 ([CLS]/[SEP] 제외, 최대 길이로 자르지 않은 전체 길이)
+     * 모델 미로드 시 null
      */
-    private int findMaxIndex(float[] array) {
-        if (array == null || array.length == 0) {
-            return 0;
+    public Integer countTokens(String text) {
+        LoadedModel current = model.get();
+        if (current == null) {
+            return null;
         }
+        IdBuffer ids = new IdBuffer(256);
+        current.tokenizer.tokenize(text, ids, Integer.MAX_VALUE);
+        return ids.size() >= 2 ? ids.size() - 2 : null;
+    }
+    
+    private EmotionPrediction toPrediction(LoadedModel current, float[] probabilities) {
+        int predictedIndex = Logits.findMaxIndex(probabilities);
+        SentimentAnalysis.Emotion emotion = current.emotionLabels.get(predictedIndex);
+        
+        float confidence = probabilities[predictedIndex];
+        log.debug("감정 분석 결과: {} (확률: {})", emotion, String.format("%.4f", confidence));
         
-        int maxIndex = 0;
-        float maxValue = array[0];
-        for (int i = 1; i < array.length; i++) {
-            if (array[i] > maxValue) {
-                maxValue = array[i];
-                maxIndex = i;
+        return new EmotionPrediction(emotion != null ? emotion : SentimentAnalysis.Emotion.HAPPY, confidence,
+                EmotionPrediction.Source.MODEL, probabilities);
+    }
+    
+    /**
+     * 단일 텍스트 추론 (결과 캐시 미스 시 호출)
+     * 캐스케이드 1단계 n-gram 분류기가 충분히 확신하면 바로 반환하고, 아니면 ONNX 모델로 추론
+     * 긴 텍스트 모드에서 최대 길이를 넘으면 슬라이딩 윈도우로 나눠 추론
+     *
+     * @return 감정별 확률
+     */
+    private CompletableFuture<float[]> infer(LoadedModel current, String text) {
+        if (current.cascade != null) {
+            long start = System.nanoTime();
+            float[] probabilities = current.cascade.predict(text);
+            fastTierTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (probabilities[Logits.findMaxIndex(probabilities)] >= cascadeThreshold) {
+                fastTierCounter.increment();
+                return CompletableFuture.completedFuture(probabilities);
             }
         }
-        return maxIndex;
+        
+        modelTierCounter.increment();
+        long start = System.nanoTime();
+        CompletableFuture<float[]> result;
+        InferenceProperties.LongText longText = inferenceProperties.getLongText();
+        if (longText.isEnabled()) {
+            result = inferWindows(current, text, longText);
+        } else {
+            // 가장 긴 버킷 길이로 자르고 [SEP]를 붙임 (배치 스케줄러가 다시 잘라 [SEP]가 빠지지 않도록)
+            IdBuffer inputIds = current.batcher.acquireIdBuffer();
+            current.tokenizer.tokenize(text, inputIds, current.lengthBuckets.maxLength());
+            result = current.batcher.submit(inputIds).thenApply(Logits::softmaxInPlace);
+        }
+        return result.whenComplete((probabilities, error) ->
+                modelTierTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
     }
     
     /**
-     * 키워드 기반 감정 분석 (모델 미로드 시 대체용)
+     * 슬라이딩 윈도우 추론
+     * 윈도우마다 [CLS] + 본문 일부 + [SEP]를 만들어 배치 스케줄러에 한 묶음으로 등록
+     * 묶음은 나뉘지 않고 한 번의 session.run으로 실행되므로 모델 실행 시간은 윈도우 수에 비례해 늘지 않음
+     * (윈도우 수는 최대 배치 크기로 제한, 앞서 대기 중인 요청이 있으면 그 대기 시간은 더해짐)
+     * 큐에 윈도우가 모두 들어갈 자리가 없으면 하나도 등록하지 않고 거절됨
      */
-    private SentimentAnalysis.Emotion analyzeByKeywords(String text) {
-        String lowerText = text.toLowerCase();
+    private CompletableFuture<float[]> inferWindows(LoadedModel current, String text, InferenceProperties.LongText settings) {
+        InferenceBatcher batcher = current.batcher;
+        int windowLength = current.lengthBuckets.maxLength();
+        int contentWindow = windowLength - 2;
+        int stride = Math.max(1, contentWindow - Math.max(0, settings.getWindowOverlap()));
+        int maxWindows = Math.min(Math.max(1, settings.getMaxWindows()), batcher.maxBatchSize());
         
-        Map<SentimentAnalysis.Emotion, Integer> scores = new HashMap<>();
-        scores.put(SentimentAnalysis.Emotion.HAPPY, 0);
-        scores.put(SentimentAnalysis.Emotion.ANXIETY, 0);
-        scores.put(SentimentAnalysis.Emotion.EMBARRASSED, 0);
-        scores.put(SentimentAnalysis.Emotion.SAD, 0);
-        scores.put(SentimentAnalysis.Emotion.ANGRY, 0);
-        scores.put(SentimentAnalysis.Emotion.HURT, 0);
+        IdBuffer sequence = longTextBuffer.get();
+        current.tokenizer.tokenize(text, sequence, contentWindow + (maxWindows - 1) * stride + 2);
         
-        // 키워드 매칭
-        String[] happyKeywords = {"행복", "기쁨", "좋아", "즐거", "웃", "신나", "최고", "사랑", "감사"};
-        String[] anxietyKeywords = {"불안", "걱정", "두렵", "무서", "조심", "긴장", "초조"};
-        String[] embarrassedKeywords = {"당황", "어색", "부끄", "창피", "민망"};
-        String[] sadKeywords = {"슬프", "우울", "눈물", "힘들", "외로", "아프"};
-        String[] angryKeywords = {"화", "짜증", "분노", "싫", "미워", "열받"};
-        String[] hurtKeywords = {"상처", "아픔", "서러", "서운", "섭섭"};
+        if (sequence.size() <= windowLength) {
+            IdBuffer inputIds = batcher.acquireIdBuffer();
+            for (int i = 0; i < sequence.size(); i++) {
+                inputIds.add(sequence.get(i));
+            }
+            return batcher.submit(inputIds).thenApply(Logits::softmaxInPlace);
+        }
         
-        countKeywords(lowerText, happyKeywords, scores, SentimentAnalysis.Emotion.HAPPY);
-        countKeywords(lowerText, anxietyKeywords, scores, SentimentAnalysis.Emotion.ANXIETY);
-        countKeywords(lowerText, embarrassedKeywords, scores, SentimentAnalysis.Emotion.EMBARRASSED);
-        countKeywords(lowerText, sadKeywords, scores, SentimentAnalysis.Emotion.SAD);
-        countKeywords(lowerText, angryKeywords, scores, SentimentAnalysis.Emotion.ANGRY);
-        countKeywords(lowerText, hurtKeywords, scores, SentimentAnalysis.Emotion.HURT);
+        int cls = sequence.get(0);
+        int sep = sequence.get(sequence.size() - 1);
+        int[] starts = SlidingWindows.starts(sequence.size() - 2, contentWindow, settings.getWindowOverlap(), maxWindows);
         
-        // 가장 높은 점수의 감정 반환
-        return scores.entrySet().stream()
-                .max(Map.Entry.comparingByValue())
-                .map(Map.Entry::getKey)
-                .orElse(SentimentAnalysis.Emotion.HAPPY);
-    }
-    
-    private void countKeywords(String text, String[] keywords, 
-                              Map<SentimentAnalysis.Emotion, Integer> scores, 
-                              SentimentAnalysis.Emotion emotion) {
-        for (String keyword : keywords) {
-            if (text.contains(keyword)) {
-                scores.put(emotion, scores.get(emotion) + 1);
+        IdBuffer[] rows = new IdBuffer[starts.length];
+        for (int w = 0; w < starts.length; w++) {
+            IdBuffer inputIds = batcher.acquireIdBuffer();
+            inputIds.add(cls);
+            for (int i = 1 + starts[w], end = i + contentWindow; i < end; i++) {
+                inputIds.add(sequence.get(i));
             }
+            inputIds.add(sep);
+            rows[w] = inputIds;
         }
+        CompletableFuture<float[]>[] windows = batcher.submitAll(rows);
+        
+        return CompletableFuture.allOf(windows).thenApply(ignored -> {
+            float[][] probabilities = new float[windows.length][];
+            for (int w = 0; w < windows.length; w++) {
+                probabilities[w] = Logits.softmaxInPlace(windows[w].join());
+            }
+            return SlidingWindows.aggregate(probabilities, settings.getAggregation());
+        });
     }
 }
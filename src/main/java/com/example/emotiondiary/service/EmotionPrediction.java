@@ -0,0 +1,44 @@
+package com.example.emotiondiary.service;
+
+import com.example.emotiondiary.entity.SentimentAnalysis;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 감정 분석 결과 (감정 + 신뢰도)
+ * 모델 결과면 softmax 확률, 키워드 분석 결과면 전체 매칭 중 해당 감정 키워드 비율
+ */
+@Getter
+@RequiredArgsConstructor
+public class EmotionPrediction {
+
+    private final SentimentAnalysis.Emotion emotion;
+    private final float confidence;
+
+    // 결과를 만든 경로
+    private final Source source;
+
+    // 모델 출력 인덱스 순서의 전체 softmax 확률 (키워드 분석이면 null, 캐시와 공유되므로 읽기 전용)
+    private final float[] probabilities;
+
+    // 분석 경로
+    public enum Source {
+        MODEL,      // 모델 추론 (캐스케이드 1단계 포함)
+        KEYWORD,    // 모델 미로드/추론 오류로 키워드 기반 대체 분석
+        DEGRADED    // 추론 과부하로 대기열이 가득 차 키워드 기반으로 응답
+    }
+
+    /**
+     * 모델 추론 결과인지 (false면 키워드 기반 대체 분석)
+     */
+    public boolean isModelBased() {
+        return source == Source.MODEL;
+    }
+
+    /**
+     * 같은 감정/신뢰도로 경로만 바꾼 결과
+     */
+    EmotionPrediction withSource(Source source) {
+        return new EmotionPrediction(emotion, confidence, source, probabilities);
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.emotiondiary.service;
+
+import com.example.emotiondiary.entity.Diary;
+import com.example.emotiondiary.entity.SentimentAnalysis;
+import com.example.emotiondiary.repository.EmotionRollupRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 사용자 월별 감정 집계 (user_emotion_monthly: 사용자, 월, 감정별 일기 수 / 신뢰도 합)
+ * 감정 분석 결과 생성/수정/삭제와 일기 날짜 이동을 같은 트랜잭션 안에서 증감으로 반영하고,
+ * 통계 조회는 집계 테이블의 기본 키 범위만 읽음
+ * 반영이 어긋난 경우(동시 수정, 직접 수정한 데이터 등)를 위해 주기적으로 원본 데이터로 다시 계산
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class EmotionRollupService {
+
+    private final EmotionRollupRepository emotionRollupRepository;
+
+    /**
+     * 감정 분석 결과 생성 반영 (diary, user가 채워진 결과)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void added(SentimentAnalysis analysis) {
+        apply(analysis.getDiary(), analysis.getDiary().getDiaryDate(), analysis.getEmotion(), analysis.getConfidence(), 1);
+    }
+
+    /**
+     * 감정 분석 결과 삭제 반영 (삭제 전에 호출)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void removed(SentimentAnalysis analysis) {
+        apply(analysis.getDiary(), analysis.getDiary().getDiaryDate(), analysis.getEmotion(), analysis.getConfidence(), -1);
+    }
+
+    /**
+     * 감정 분석 결과 수정 반영 (이전 감정 / 신뢰도를 빼고 현재 값을 더함)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void changed(SentimentAnalysis analysis, SentimentAnalysis.Emotion previousEmotion, Float previousConfidence) {
+        if (analysis.getEmotion() == previousEmotion && Objects.equals(analysis.getConfidence(), previousConfidence)) {
+            return;
+        }
+        Diary diary = analysis.getDiary();
+        apply(diary, diary.getDiaryDate(), previousEmotion, previousConfidence, -1);
+        apply(diary, diary.getDiaryDate(), analysis.getEmotion(), analysis.getConfidence(), 1);
+    }
+
+    /**
+     * 일기 날짜 변경 반영 (다른 달로 옮겨진 경우 이전 달에서 빼고 새 달에 더함)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void moved(Diary diary, LocalDate previousDate) {
+        SentimentAnalysis analysis = diary.getSentimentAnalysis();
+        if (analysis == null || previousDate == null
+                || YearMonth.from(previousDate).equals(YearMonth.from(diary.getDiaryDate()))) {
+            return;
+        }
+        apply(diary, previousDate, analysis.getEmotion(), analysis.getConfidence(), -1);
+        apply(diary, diary.getDiaryDate(), analysis.getEmotion(), analysis.getConfidence(), 1);
+    }
+
+    /**
+     * 사용자 집계 삭제 (회원 탈퇴 시)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void deleteUser(Long userId) {
+        emotionRollupRepository.deleteUser(userId);
+    }
+
+    private void apply(Diary diary, LocalDate diaryDate, SentimentAnalysis.Emotion emotion, Float confidence, int sign) {
+        emotionRollupRepository.add(diary.getUser().getUserId(), diaryDate.withDayOfMonth(1), emotion, sign,
+                sign * (confidence != null ? confidence.doubleValue() : 0.0));
+    }
+
+    /**
+     * 사용자 전체 기간 감정별 일기 수 (집계가 없는 감정은 빠짐)
+     */
+    public Map<SentimentAnalysis.Emotion, Long> countByEmotion(Long userId) {
+        return emotionRollupRepository.countByEmotion(userId);
+    }
+
+    /**
+     * 사용자 한 달 감정별 일기 수 (집계가 없는 감정은 빠짐)
+     */
+    public Map<SentimentAnalysis.Emotion, Long> countByEmotion(Long userId, YearMonth yearMonth) {
+        return emotionRollupRepository.countByEmotion(userId, yearMonth.atDay(1), yearMonth.plusMonths(1).atDay(1));
+    }
+
+    @Scheduled(cron = "${emotion.stats.repair-cron:0 30 4 * * *}")
+    public void scheduledRepair() {
+        try {
+            repair();
+        } catch (Exception e) {
+            log.error("❌ 월별 감정 집계 재계산 실패: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 모든 사용자의 집계를 원본 데이터로 다시 계산 (사용자마다 별도 트랜잭션)
+     * 재계산 중인 사용자의 감정 분석 결과 수정은 해당 트랜잭션이 끝날 때까지 대기
+     *
+     * @return 처리한 사용자 수, 집계 행 수, 소요 시간
+     */
+    public synchronized Map<String, Object> repair() {
+        long startNanos = System.nanoTime();
+        List<Long> userIds = emotionRollupRepository.findUserIds();
+        long rows = 0;
+        int failed = 0;
+        for (Long userId : userIds) {
+            try {
+                rows += emotionRollupRepository.rebuildUser(userId);
+            } catch (Exception e) {
+                // 동시 수정과 교착 상태 등 (다음 재계산에서 다시 시도)
+                failed++;
+                log.warn("⚠️ 사용자 {} 월별 감정 집계 재계산 실패: {}", userId, e.getMessage());
+            }
+        }
+        int orphans = emotionRollupRepository.deleteOrphans();
+        long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+
+        log.info("✅ 월별 감정 집계 재계산 완료: 사용자 {}명, 집계 {}행, 실패 {}명, 탈퇴 사용자 집계 {}행 삭제 ({}ms)",
+                userIds.size(), rows, failed, orphans, elapsedMillis);
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("users", userIds.size());
+        result.put("rows", rows);
+        result.put("failedUsers", failed);
+        result.put("orphanRows", orphans);
+        result.put("elapsedMillis", elapsedMillis);
+        return result;
+    }
+}
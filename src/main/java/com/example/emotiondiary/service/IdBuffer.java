@@ -0,0 +1,54 @@
+package com.example.emotiondiary.service;
+
+import java.util.Arrays;
+
+/**
+ * 재사용 가능한 토큰 ID 버퍼 (int 배열 기반, 필요 시 확장)
+ */
+public class IdBuffer {
+
+    private int[] ids;
+    private int size;
+
+    public IdBuffer(int initialCapacity) {
+        this.ids = new int[Math.max(16, initialCapacity)];
+    }
+
+    public void add(int id) {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, ids.length * 2);
+        }
+        ids[size++] = id;
+    }
+
+    public int get(int index) {
+        return ids[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * 앞에서부터 최대 limit개만 남김
+     */
+    public void truncate(int limit) {
+        size = Math.min(size, limit);
+    }
+
+    /**
+     * 앞에서부터 최대 limit개를 long 배열로 복사
+     */
+    public long[] toLongArray(int limit) {
+        int length = Math.min(size, limit);
+        long[] result = new long[length];
+        for (int i = 0; i < length; i++) {
+            result[i] = ids[i];
+        }
+        return result;
+    }
+}
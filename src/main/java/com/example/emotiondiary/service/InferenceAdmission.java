@@ -0,0 +1,89 @@
+package com.example.emotiondiary.service;
+
+import com.example.emotiondiary.config.InferenceProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 모델 추론 진입 제한 (admission control)
+ * 동시에 모델 경로에 들어가는 요청은 최대 maxConcurrent건, 초과 요청은 최대 maxQueued건까지 queueTimeoutMillis 동안 대기
+ * 대기열이 가득 찼거나 기한 안에 차례가 오지 않으면 거절하며, 호출자는 키워드 분석으로 응답
+ */
+final class InferenceAdmission {
+
+    private final int maxConcurrent;
+    private final int maxQueued;
+    private final long queueTimeoutNanos;
+    private final Semaphore permits;
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    private final Counter queueFullCounter;
+    private final Counter timeoutCounter;
+
+    InferenceAdmission(InferenceProperties.Admission settings, MeterRegistry meterRegistry) {
+        this.maxConcurrent = Math.max(1, settings.getMaxConcurrent());
+        this.maxQueued = Math.max(0, settings.getMaxQueued());
+        this.queueTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, settings.getQueueTimeoutMillis()));
+        this.permits = new Semaphore(maxConcurrent);
+
+        Gauge.builder("emotion.inference.admission.queue", waiting, AtomicInteger::get)
+                .description("모델 추론 차례를 기다리는 요청 수")
+                .register(meterRegistry);
+        Gauge.builder("emotion.inference.admission.active", this, admission -> admission.active())
+                .description("모델 추론 경로에 들어간 요청 수")
+                .register(meterRegistry);
+        queueFullCounter = Counter.builder("emotion.inference.admission.rejected")
+                .description("추론 진입 거절 건수 (queue_full: 대기열 초과, timeout: 대기 기한 초과)")
+                .tag("reason", "queue_full")
+                .register(meterRegistry);
+        timeoutCounter = Counter.builder("emotion.inference.admission.rejected")
+                .description("추론 진입 거절 건수 (queue_full: 대기열 초과, timeout: 대기 기한 초과)")
+                .tag("reason", "timeout")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 추론 진입 시도 (성공하면 처리 후 반드시 release 호출)
+     *
+     * @return false면 과부하로 거절됨
+     */
+    boolean tryAcquire() {
+        if (permits.tryAcquire()) {
+            return true;
+        }
+        if (waiting.incrementAndGet() > maxQueued) {
+            waiting.decrementAndGet();
+            queueFullCounter.increment();
+            return false;
+        }
+        try {
+            if (permits.tryAcquire(queueTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                return true;
+            }
+            timeoutCounter.increment();
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+
+    void release() {
+        permits.release();
+    }
+
+    int waiting() {
+        return waiting.get();
+    }
+
+    int active() {
+        return maxConcurrent - permits.availablePermits();
+    }
+}
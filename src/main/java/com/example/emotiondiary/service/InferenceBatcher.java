@@ -0,0 +1,335 @@
+package com.example.emotiondiary.service;
+
+import com.example.emotiondiary.config.InferenceProperties;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.FloatBuffer;
+import java.nio.LongBuffer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 추론 요청 마이크로 배치 스케줄러
+ * 요청을 큐에 모았다가 배치가 가득 차거나 대기 시간이 지나면 [N, L] 텐서 한 번으로 추론
+ * L은 512 고정이 아니라 요청 길이가 속한 길이 버킷이며, 버킷별로 나누어 실행
+ * 여러 행을 한 묶음으로 등록하면(submitAll) 모두 등록되거나 모두 거절되고, 항상 같은 배치에서 실행됨
+ */
+@Slf4j
+public class InferenceBatcher implements AutoCloseable {
+
+    /**
+     * 배치 단위 추론 실행기
+     * inputIds/attentionMask는 [batchSize * sequenceLength] 크기로 펼쳐진 direct 버퍼,
+     * 결과는 [batchSize * numLabels] 크기의 direct 버퍼 logits에 기록
+     */
+    @FunctionalInterface
+    public interface BatchExecutor {
+        void execute(LongBuffer inputIds, LongBuffer attentionMask, int batchSize, int sequenceLength,
+                     FloatBuffer logits) throws Exception;
+    }
+
+    private final BlockingQueue<PendingRequest> queue;
+    private final BatchExecutor executor;
+    private final LengthBuckets buckets;
+    private final long padTokenId;
+    private final TensorBufferPool bufferPool;
+    private final int maxBatchSize;
+    private final long maxWaitNanos;
+    private final Thread worker;
+    private volatile boolean running = true;
+
+    // 묶음 등록이 큐에서 연속된 자리를 차지하도록 등록을 직렬화 (꺼내는 쪽은 워커 하나)
+    private final ReentrantLock submitLock = new ReentrantLock();
+
+    private final DistributionSummary batchSizeSummary;
+    private final Timer queueWaitTimer;
+    private final Timer[] runTimers;
+
+    public InferenceBatcher(InferenceProperties.Batch settings, LengthBuckets buckets, long padTokenId,
+                            int numLabels, MeterRegistry meterRegistry, BatchExecutor executor) {
+        this.executor = executor;
+        this.buckets = buckets;
+        this.padTokenId = padTokenId;
+        this.maxBatchSize = Math.max(1, settings.getMaxBatchSize());
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, settings.getMaxWaitMillis()));
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, settings.getQueueCapacity()));
+        this.bufferPool = new TensorBufferPool(buckets, maxBatchSize, numLabels,
+                Math.max(1, settings.getQueueCapacity()) + maxBatchSize);
+
+        this.batchSizeSummary = DistributionSummary.builder("emotion.inference.batch.size")
+                .description("session.run 한 번에 묶인 요청 수")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.queueWaitTimer = Timer.builder("emotion.inference.queue.wait")
+                .description("요청이 큐에 들어간 뒤 배치로 실행되기까지의 대기 시간")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+
+        // 버킷별 session.run 지연 시간
+        this.runTimers = new Timer[buckets.count()];
+        for (int i = 0; i < buckets.count(); i++) {
+            runTimers[i] = Timer.builder("emotion.inference.run")
+                    .description("버킷 길이별 배치 추론 시간")
+                    .tag("bucket", String.valueOf(buckets.size(i)))
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+        }
+
+        this.worker = new Thread(this::runLoop, "emotion-inference-batcher");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * 배치 대기 중인 요청 수
+     */
+    public int queueDepth() {
+        return queue.size();
+    }
+
+    /**
+     * 요청용 토큰 ID 버퍼 대여 (submit으로 넘기면 배치에 복사된 뒤 자동 반납)
+     */
+    public IdBuffer acquireIdBuffer() {
+        return bufferPool.acquireIdBuffer();
+    }
+
+    /**
+     * 한 배치에 함께 실행할 수 있는 최대 행 수 (submitAll 묶음 크기 상한)
+     */
+    public int maxBatchSize() {
+        return maxBatchSize;
+    }
+
+    /**
+     * 추론 요청 등록
+     * 큐가 가득 차 있으면 RejectedExecutionException으로 실패한 future 반환
+     *
+     * @param inputIds 패딩되지 않은 토큰 ID (최대 버킷 길이까지만 사용, 소유권이 스케줄러로 넘어감)
+     * @return 해당 요청 행의 logits
+     */
+    public CompletableFuture<float[]> submit(IdBuffer inputIds) {
+        return submitAll(new IdBuffer[]{inputIds})[0];
+    }
+
+    /**
+     * 여러 행을 한 묶음으로 등록 (긴 텍스트 윈도우 등)
+     * 큐에 모두 들어갈 자리가 없으면 하나도 등록하지 않고 모든 future를 RejectedExecutionException으로 실패시키며,
+     * 등록된 묶음은 나뉘지 않고 같은 배치에서 실행됨
+     *
+     * @param rows 패딩되지 않은 토큰 ID (최대 maxBatchSize()개, 소유권이 스케줄러로 넘어감)
+     * @return 행 순서대로 logits
+     */
+    public CompletableFuture<float[]>[] submitAll(IdBuffer[] rows) {
+        if (rows.length > maxBatchSize) {
+            throw new IllegalArgumentException("한 묶음은 최대 " + maxBatchSize + "행입니다: " + rows.length);
+        }
+        @SuppressWarnings("unchecked")
+        CompletableFuture<float[]>[] futures = new CompletableFuture[rows.length];
+        PendingRequest[] requests = new PendingRequest[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            int length = Math.min(rows[i].size(), buckets.maxLength());
+            // 묶음의 첫 행만 묶음 크기를 가짐 (워커가 배치에 남은 자리를 확인)
+            requests[i] = new PendingRequest(rows[i], length, buckets.indexFor(length), i == 0 ? rows.length : 0);
+            futures[i] = requests[i].future;
+        }
+
+        boolean accepted = false;
+        submitLock.lock();
+        try {
+            if (running && queue.remainingCapacity() >= requests.length) {
+                // 워커는 꺼내기만 하므로 확인한 자리는 줄어들지 않음
+                for (PendingRequest request : requests) {
+                    queue.add(request);
+                }
+                accepted = true;
+            }
+        } finally {
+            submitLock.unlock();
+        }
+        if (!accepted) {
+            for (PendingRequest request : requests) {
+                bufferPool.releaseIdBuffer(request.inputIds);
+                request.future.completeExceptionally(new RejectedExecutionException("추론 대기 큐가 가득 찼습니다."));
+            }
+        }
+        return futures;
+    }
+
+    private void runLoop() {
+        List<PendingRequest> batch = new ArrayList<>(maxBatchSize);
+        while (running) {
+            try {
+                PendingRequest first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                int groupRows = take(batch, first);
+
+                // 배치가 가득 차거나 첫 요청 기준 대기 시간이 지날 때까지 수집
+                // 묶음은 나누지 않음: 남은 자리보다 큰 묶음은 다음 배치로 미루고, 받기 시작한 묶음은 끝까지 받음
+                long deadline = first.enqueuedAt + maxWaitNanos;
+                while (true) {
+                    if (groupRows > 0) {
+                        // 나머지 행은 등록 중이므로 곧 들어옴
+                        groupRows += take(batch, queue.take()) - 1;
+                        continue;
+                    }
+                    PendingRequest next = queue.peek();
+                    if (next != null) {
+                        if (batch.size() + next.groupSize > maxBatchSize) {
+                            break;
+                        }
+                        groupRows = take(batch, queue.poll());
+                        continue;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= maxBatchSize || remaining <= 0) {
+                        break;
+                    }
+                    next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    if (batch.size() + next.groupSize > maxBatchSize) {
+                        // 이미 꺼낸 묶음 첫 행은 되돌릴 수 없으므로 현재 배치를 먼저 실행하고 다음 배치로 시작
+                        flush(batch);
+                        batch.clear();
+                        deadline = next.enqueuedAt + maxWaitNanos;
+                    }
+                    groupRows = take(batch, next);
+                }
+
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                for (PendingRequest request : batch) {
+                    reject(request);
+                }
+                break;
+            } catch (Exception e) {
+                log.error("배치 추론 루프 오류", e);
+            } finally {
+                batch.clear();
+            }
+        }
+
+        // 종료 시 남은 요청은 실패 처리
+        PendingRequest remaining;
+        while ((remaining = queue.poll()) != null) {
+            reject(remaining);
+        }
+    }
+
+    /**
+     * 배치에 한 행 추가
+     *
+     * @return 이 행이 묶음의 첫 행이면 아직 받지 않은 묶음 행 수, 아니면 0
+     */
+    private static int take(List<PendingRequest> batch, PendingRequest request) {
+        batch.add(request);
+        return Math.max(0, request.groupSize - 1);
+    }
+
+    private void reject(PendingRequest request) {
+        bufferPool.releaseIdBuffer(request.inputIds);
+        request.future.completeExceptionally(new RejectedExecutionException("추론 배치 스케줄러가 종료되었습니다."));
+    }
+
+    private void flush(List<PendingRequest> batch) {
+        long now = System.nanoTime();
+        for (PendingRequest request : batch) {
+            queueWaitTimer.record(now - request.enqueuedAt, TimeUnit.NANOSECONDS);
+        }
+        batchSizeSummary.record(batch.size());
+
+        // 같은 버킷끼리 묶어 실행 (짧은 요청이 긴 요청 길이만큼 패딩되지 않도록)
+        batch.sort(Comparator.comparingInt(request -> request.bucketIndex));
+        int from = 0;
+        while (from < batch.size()) {
+            int bucketIndex = batch.get(from).bucketIndex;
+            int to = from + 1;
+            while (to < batch.size() && batch.get(to).bucketIndex == bucketIndex) {
+                to++;
+            }
+            runBucket(batch.subList(from, to), bucketIndex);
+            from = to;
+        }
+    }
+
+    private void runBucket(List<PendingRequest> group, int bucketIndex) {
+        int batchSize = group.size();
+        int sequenceLength = buckets.size(bucketIndex);
+
+        // 풀의 direct 버퍼에 요청별 ID를 바로 기록하고 버킷 길이까지 패딩
+        LongBuffer inputIds = bufferPool.inputIds(bucketIndex, batchSize);
+        LongBuffer attentionMask = bufferPool.attentionMask(bucketIndex, batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            PendingRequest request = group.get(i);
+            int offset = i * sequenceLength;
+            for (int j = 0; j < sequenceLength; j++) {
+                boolean token = j < request.length;
+                inputIds.put(offset + j, token ? request.inputIds.get(j) : padTokenId);
+                attentionMask.put(offset + j, token ? 1L : 0L);
+            }
+            bufferPool.releaseIdBuffer(request.inputIds);
+        }
+
+        long start = System.nanoTime();
+        try {
+            FloatBuffer logits = bufferPool.logits(batchSize);
+            executor.execute(inputIds, attentionMask, batchSize, sequenceLength, logits);
+            int numLabels = bufferPool.numLabels();
+            for (int i = 0; i < batchSize; i++) {
+                // logits 버퍼는 다음 배치가 덮어쓰므로 요청마다 한 행을 복사해 넘김 (호출자 소유, softmax도 이 배열에서 계산)
+                float[] row = new float[numLabels];
+                logits.get(i * numLabels, row);
+                group.get(i).future.complete(row);
+            }
+        } catch (Exception e) {
+            for (PendingRequest request : group) {
+                request.future.completeExceptionally(e);
+            }
+        } finally {
+            runTimers[bucketIndex].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        worker.interrupt();
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class PendingRequest {
+        private final IdBuffer inputIds;
+        private final int length;
+        private final int bucketIndex;
+        // 묶음 첫 행이면 묶음 행 수, 나머지 행은 0 (단일 요청은 1)
+        private final int groupSize;
+        private final long enqueuedAt = System.nanoTime();
+        private final CompletableFuture<float[]> future = new CompletableFuture<>();
+
+        private PendingRequest(IdBuffer inputIds, int length, int bucketIndex, int groupSize) {
+            this.inputIds = inputIds;
+            this.length = length;
+            this.bucketIndex = bucketIndex;
+            this.groupSize = groupSize;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.emotiondiary.service;
+
+import com.example.emotiondiary.config.InferenceProperties;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * 추론 결과 캐시 (정규화된 텍스트 해시 + 모델 버전 → 감정 확률)
+ * 같은 내용을 여러 번 분석해도 모델은 한 번만 실행되며, 진행 중인 추론도 공유됨
+ * 텍스트 원문은 보관하지 않고 SHA-256 해시만 키로 사용
+ */
+@Component
+@Slf4j
+public class InferenceResultCache {
+
+    private final boolean enabled;
+    private final AsyncCache<String, float[]> cache;
+
+    private volatile String modelVersion = "";
+
+    public InferenceResultCache(InferenceProperties inferenceProperties, MeterRegistry meterRegistry) {
+        InferenceProperties.Cache settings = inferenceProperties.getCache();
+        this.enabled = settings.isEnabled() && settings.getMaximumSize() > 0;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(Math.max(0, settings.getMaximumSize()))
+                .recordStats()
+                .buildAsync();
+
+        // cache.gets{result=hit|miss}, cache.evictions, cache.size
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "emotion.inference.result");
+    }
+
+    /**
+     * 캐시된 확률을 반환하고, 없으면 loader로 추론 (loader에는 정규화된 텍스트 전달)
+     * 실패한 추론은 캐시에 남지 않음
+     */
+    public CompletableFuture<float[]> get(String text, Function<String, CompletableFuture<float[]>> loader) {
+        return get(modelVersion, text, loader);
+    }
+
+    /**
+     * 지정한 모델 버전으로 조회 (모델 교체 중 요청이 잡은 모델의 결과가 다른 버전 키로 저장되지 않도록)
+     */
+    public CompletableFuture<float[]> get(String version, String text, Function<String, CompletableFuture<float[]>> loader) {
+        String normalized = normalize(text);
+        if (!enabled) {
+            return loader.apply(normalized);
+        }
+        String key = version + ":" + contentHash(normalized);
+        return cache.get(key, (k, executor) -> loader.apply(normalized));
+    }
+
+    /**
+     * 이미 완료된 결과만 조회 (없거나 추론 중이면 null, 추론을 시작하지 않음)
+     */
+    public float[] getIfPresent(String version, String text) {
+        if (!enabled) {
+            return null;
+        }
+        CompletableFuture<float[]> result = cache.getIfPresent(version + ":" + contentHash(normalize(text)));
+        if (result == null || !result.isDone() || result.isCompletedExceptionally()) {
+            return null;
+        }
+        return result.join();
+    }
+
+    /**
+     * 모델 로드/교체 시 호출. 버전이 바뀌면 기존 결과를 모두 무효화
+     * (키에 버전이 포함되어 있어 교체 중에도 이전 모델 결과는 조회되지 않음)
+     */
+    public void onModelChanged(String version) {
+        if (version.equals(modelVersion)) {
+            return;
+        }
+        modelVersion = version;
+        cache.synchronous().invalidateAll();
+        log.info("추론 결과 캐시 초기화: 모델 버전 {}", version);
+    }
+
+    public long size() {
+        return cache.synchronous().estimatedSize();
+    }
+
+    /**
+     * 토크나이저가 공백 단위로만 분리하므로 앞뒤 공백 제거 + 연속 공백을 한 칸으로 줄여도 결과가 같음
+     */
+    static String normalize(String text) {
+        StringBuilder sb = new StringBuilder(text.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (isWhitespace(c)) {
+                pendingSpace = sb.length() > 0;
+                continue;
+            }
+            if (pendingSpace) {
+                sb.append(' ');
+                pendingSpace = false;
+            }
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+
+    static String contentHash(String normalized) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(normalized.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // 정규식 \s와 동일한 범위
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+}
@@ -0,0 +1,275 @@
+package com.example.emotiondiary.service;
+
+import java.util.Arrays;
+
+/**
+ * 감정 키워드 Aho-Corasick 오토마톤
+ * 모든 감정의 키워드를 하나의 트라이 + 실패 링크로 컴파일해 텍스트를 한 번만 훑으며
+ * 감정별 점수(서로 다른 키워드 매칭 수)를 계산. 스캔 비용은 텍스트 길이에만 비례하고 키워드 수와 무관
+ * 대소문자는 문자 단위 소문자 변환으로 무시
+ */
+public class KeywordAutomaton {
+
+    private static final int NO_NODE = -1;
+    private static final long EMPTY_KEY = -1L;
+    private static final int ROOT = 0;
+
+    private final int labelCount;
+
+    // (부모 노드, 문자) → 자식 노드 오픈 어드레싱 테이블
+    private final long[] edgeKeys;
+    private final int[] edgeChildren;
+    private final int edgeMask;
+
+    // 실패 링크, 노드에서 끝나는 키워드의 라벨 비트마스크, 실패 링크를 따라 만나는 다음 키워드 끝 노드
+    private final int[] fail;
+    private final int[] labelMasks;
+    private final int[] outputLinks;
+
+    // 한 번의 스캔에서 같은 키워드를 중복 집계하지 않기 위한 스레드별 방문 표시 (세대 번호로 초기화 비용 없음)
+    private final ThreadLocal<Marks> marks;
+
+    private KeywordAutomaton(int labelCount, long[] edgeKeys, int[] edgeChildren,
+                             int[] fail, int[] labelMasks, int[] outputLinks) {
+        this.labelCount = labelCount;
+        this.edgeKeys = edgeKeys;
+        this.edgeChildren = edgeChildren;
+        this.edgeMask = edgeKeys.length - 1;
+        this.fail = fail;
+        this.labelMasks = labelMasks;
+        this.outputLinks = outputLinks;
+        this.marks = ThreadLocal.withInitial(() -> new Marks(fail.length));
+    }
+
+    /**
+     * @param labelCount 라벨(감정) 수, 최대 32
+     */
+    public static Builder builder(int labelCount) {
+        return new Builder(labelCount);
+    }
+
+    public int nodeCount() {
+        return fail.length;
+    }
+
+    /**
+     * 텍스트를 한 번 훑어 라벨별 점수를 계산 (인덱스 = 라벨 번호)
+     */
+    public int[] score(CharSequence text) {
+        int[] scores = new int[labelCount];
+        Marks seen = marks.get();
+        int generation = seen.next();
+
+        int node = ROOT;
+        for (int i = 0; i < text.length(); i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            int next = child(node, c);
+            while (next == NO_NODE && node != ROOT) {
+                node = fail[node];
+                next = child(node, c);
+            }
+            node = next == NO_NODE ? ROOT : next;
+
+            for (int match = labelMasks[node] != 0 ? node : outputLinks[node];
+                 match != NO_NODE; match = outputLinks[match]) {
+                if (seen.stamps[match] == generation) {
+                    continue;
+                }
+                seen.stamps[match] = generation;
+                int mask = labelMasks[match];
+                while (mask != 0) {
+                    scores[Integer.numberOfTrailingZeros(mask)]++;
+                    mask &= mask - 1;
+                }
+            }
+        }
+        return scores;
+    }
+
+    private int child(int node, char c) {
+        return child(edgeKeys, edgeChildren, edgeMask, node, c);
+    }
+
+    private static int child(long[] keys, int[] children, int mask, int node, char c) {
+        long key = edgeKey(node, c);
+        int slot = hash(key) & mask;
+        while (true) {
+            long current = keys[slot];
+            if (current == key) {
+                return children[slot];
+            }
+            if (current == EMPTY_KEY) {
+                return NO_NODE;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private static long edgeKey(int node, char c) {
+        return ((long) node << 16) | c;
+    }
+
+    private static int hash(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+
+    private static final class Marks {
+
+        private final int[] stamps;
+        private int generation;
+
+        private Marks(int nodeCount) {
+            this.stamps = new int[nodeCount];
+        }
+
+        private int next() {
+            if (++generation == 0) {
+                Arrays.fill(stamps, 0);
+                generation = 1;
+            }
+            return generation;
+        }
+    }
+
+    /**
+     * 오토마톤 빌더 (키워드 등록 후 build에서 실패 링크 계산)
+     */
+    public static class Builder {
+
+        private final int labelCount;
+        private int[] labelMasks = new int[256];
+        private int nodeCount;
+        private long[] edgeKeys = new long[1 << 10];
+        private int[] edgeChildren = new int[1 << 10];
+        private int edgeCount;
+
+        // 노드별 자식 목록 (실패 링크 계산용 BFS에만 사용)
+        private int[] firstChild = new int[256];
+        private int[] nextSibling = new int[256];
+        private char[] nodeChars = new char[256];
+
+        private Builder(int labelCount) {
+            if (labelCount < 1 || labelCount > Integer.SIZE) {
+                throw new IllegalArgumentException("라벨 수는 1~32 사이여야 합니다: " + labelCount);
+            }
+            this.labelCount = labelCount;
+            Arrays.fill(edgeKeys, EMPTY_KEY);
+            newNode((char) 0); // ROOT
+        }
+
+        /**
+         * 키워드 등록 (빈 문자열은 무시, 같은 키워드를 여러 라벨에 등록하면 각 라벨에 모두 집계)
+         */
+        public Builder add(String keyword, int label) {
+            if (label < 0 || label >= labelCount) {
+                throw new IllegalArgumentException("잘못된 라벨 번호: " + label);
+            }
+            if (keyword.isEmpty()) {
+                return this;
+            }
+            int node = ROOT;
+            for (int i = 0; i < keyword.length(); i++) {
+                char c = Character.toLowerCase(keyword.charAt(i));
+                int child = child(edgeKeys, edgeChildren, edgeKeys.length - 1, node, c);
+                if (child == NO_NODE) {
+                    child = newNode(c);
+                    putEdge(node, c, child);
+                    nextSibling[child] = firstChild[node];
+                    firstChild[node] = child;
+                }
+                node = child;
+            }
+            labelMasks[node] |= 1 << label;
+            return this;
+        }
+
+        public KeywordAutomaton build() {
+            int mask = edgeKeys.length - 1;
+            int[] fail = new int[nodeCount];
+            int[] outputLinks = new int[nodeCount];
+            int[] queue = new int[nodeCount];
+            int head = 0;
+            int tail = 0;
+
+            outputLinks[ROOT] = NO_NODE;
+            for (int child = firstChild[ROOT]; child != NO_NODE; child = nextSibling[child]) {
+                fail[child] = ROOT;
+                outputLinks[child] = NO_NODE;
+                queue[tail++] = child;
+            }
+
+            // BFS 순서로 실패 링크 계산 (부모의 실패 링크는 항상 먼저 계산됨)
+            while (head < tail) {
+                int node = queue[head++];
+                for (int child = firstChild[node]; child != NO_NODE; child = nextSibling[child]) {
+                    char c = nodeChars[child];
+                    int f = fail[node];
+                    int target = child(edgeKeys, edgeChildren, mask, f, c);
+                    while (target == NO_NODE && f != ROOT) {
+                        f = fail[f];
+                        target = child(edgeKeys, edgeChildren, mask, f, c);
+                    }
+                    fail[child] = target == NO_NODE ? ROOT : target;
+                    int suffix = fail[child];
+                    outputLinks[child] = labelMasks[suffix] != 0 ? suffix : outputLinks[suffix];
+                    queue[tail++] = child;
+                }
+            }
+
+            return new KeywordAutomaton(labelCount, edgeKeys, edgeChildren,
+                    fail, Arrays.copyOf(labelMasks, nodeCount), outputLinks);
+        }
+
+        private int newNode(char c) {
+            if (nodeCount == labelMasks.length) {
+                int capacity = nodeCount * 2;
+                labelMasks = Arrays.copyOf(labelMasks, capacity);
+                firstChild = Arrays.copyOf(firstChild, capacity);
+                nextSibling = Arrays.copyOf(nextSibling, capacity);
+                nodeChars = Arrays.copyOf(nodeChars, capacity);
+            }
+            labelMasks[nodeCount] = 0;
+            firstChild[nodeCount] = NO_NODE;
+            nextSibling[nodeCount] = NO_NODE;
+            nodeChars[nodeCount] = c;
+            return nodeCount++;
+        }
+
+        private void putEdge(int node, char c, int child) {
+            if ((edgeCount + 1) * 2 > edgeKeys.length) {
+                resizeEdges();
+            }
+            long key = edgeKey(node, c);
+            int mask = edgeKeys.length - 1;
+            int slot = hash(key) & mask;
+            while (edgeKeys[slot] != EMPTY_KEY) {
+                slot = (slot + 1) & mask;
+            }
+            edgeKeys[slot] = key;
+            edgeChildren[slot] = child;
+            edgeCount++;
+        }
+
+        private void resizeEdges() {
+            long[] oldKeys = edgeKeys;
+            int[] oldChildren = edgeChildren;
+            edgeKeys = new long[oldKeys.length * 2];
+            edgeChildren = new int[oldKeys.length * 2];
+            int mask = edgeKeys.length - 1;
+            Arrays.fill(edgeKeys, EMPTY_KEY);
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != EMPTY_KEY) {
+                    int slot = hash(oldKeys[i]) & mask;
+                    while (edgeKeys[slot] != EMPTY_KEY) {
+                        slot = (slot + 1) & mask;
+                    }
+                    edgeKeys[slot] = oldKeys[i];
+                    edgeChildren[slot] = oldChildren[i];
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.emotiondiary.service;
+
+import com.example.emotiondiary.config.InferenceProperties;
+import com.example.emotiondiary.entity.SentimentAnalysis;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import java.io.BufferedReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+
+/**
+ * 키워드 기반 감정 분석 (모델 미로드/추론 실패 시 대체용)
+ * 기본 키워드와 외부 사전(emotion.inference.keyword-lexicon)을 하나의 Aho-Corasick 오토마톤으로 컴파일해
+ * 텍스트를 한 번만 훑어 6개 감정 점수를 계산
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class KeywordEmotionAnalyzer {
+
+    private static final SentimentAnalysis.Emotion[] EMOTIONS = SentimentAnalysis.Emotion.values();
+
+    // 기본 키워드
+    private static final Map<SentimentAnalysis.Emotion, String[]> DEFAULT_KEYWORDS = Map.of(
+        SentimentAnalysis.Emotion.HAPPY, new String[]{"행복", "기쁨", "좋아", "즐거", "웃", "신나", "최고", "사랑", "감사"},
+        SentimentAnalysis.Emotion.ANXIETY, new String[]{"불안", "걱정", "두렵", "무서", "조심", "긴장", "초조"},
+        SentimentAnalysis.Emotion.EMBARRASSED, new String[]{"당황", "어색", "부끄", "창피", "민망"},
+        SentimentAnalysis.Emotion.SAD, new String[]{"슬프", "우울", "눈물", "힘들", "외로", "아프"},
+        SentimentAnalysis.Emotion.ANGRY, new String[]{"화", "짜증", "분노", "싫", "미워", "열받"},
+        SentimentAnalysis.Emotion.HURT, new String[]{"상처", "아픔", "서러", "서운", "섭섭"}
+    );
+
+    private final InferenceProperties inferenceProperties;
+
+    private KeywordAutomaton automaton;
+
+    @PostConstruct
+    public void initialize() {
+        KeywordAutomaton.Builder builder = KeywordAutomaton.builder(EMOTIONS.length);
+        int keywordCount = 0;
+        for (Map.Entry<SentimentAnalysis.Emotion, String[]> entry : DEFAULT_KEYWORDS.entrySet()) {
+            for (String keyword : entry.getValue()) {
+                builder.add(keyword, entry.getKey().ordinal());
+                keywordCount++;
+            }
+        }
+        keywordCount += loadLexicon(builder);
+
+        automaton = builder.build();
+        log.info("✅ 감정 키워드 오토마톤 구성 완료 (키워드 {}개, 노드 {}개)", keywordCount, automaton.nodeCount());
+    }
+
+    /**
+     * 점수가 가장 높은 감정 (동점이면 Enum 선언 순서가 앞선 감정, 매칭이 없으면 HAPPY)
+     */
+    public SentimentAnalysis.Emotion analyze(String text) {
+        return predict(text).getEmotion();
+    }
+
+    /**
+     * 점수가 가장 높은 감정과 신뢰도 (전체 매칭 수 중 해당 감정의 비율, 매칭이 없으면 0)
+     */
+    public EmotionPrediction predict(String text) {
+        int[] scores = automaton.score(text);
+        int best = 0;
+        int total = scores[0];
+        for (int i = 1; i < scores.length; i++) {
+            total += scores[i];
+            if (scores[i] > scores[best]) {
+                best = i;
+            }
+        }
+        float confidence = total == 0 ? 0.0f : (float) scores[best] / total;
+        return new EmotionPrediction(EMOTIONS[best], confidence, EmotionPrediction.Source.KEYWORD, null);
+    }
+
+    /**
+     * 외부 사전 로드 (한 줄에 "감정<TAB>키워드", 감정은 Enum 이름, #으로 시작하는 줄은 주석)
+     */
+    private int loadLexicon(KeywordAutomaton.Builder builder) {
+        String lexicon = inferenceProperties.getKeywordLexicon();
+        if (lexicon == null || lexicon.isBlank()) {
+            return 0;
+        }
+
+        Path path = Paths.get(lexicon);
+        int count = 0;
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                int tab = line.indexOf('\t');
+                if (tab < 0) {
+                    log.warn("잘못된 키워드 사전 항목: {}", line);
+                    continue;
+                }
+                try {
+                    SentimentAnalysis.Emotion emotion = SentimentAnalysis.Emotion.valueOf(line.substring(0, tab).trim());
+                    builder.add(line.substring(tab + 1).trim(), emotion.ordinal());
+                    count++;
+                } catch (IllegalArgumentException e) {
+                    log.warn("알 수 없는 감정: {}", line.substring(0, tab));
+                }
+            }
+            log.info("✅ 외부 키워드 사전 로드 완료: {} ({}개)", path, count);
+        } catch (Exception e) {
+            log.warn("⚠️ 외부 키워드 사전을 읽을 수 없어 기본 키워드만 사용합니다: {}", e.getMessage());
+        }
+        return count;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.emotiondiary.service;
+
+import java.util.Arrays;
+
+/**
+ * 시퀀스 길이 버킷
+ * 실제 토큰 길이를 가장 가까운 상위 버킷 길이로 올려 패딩 낭비를 줄임
+ */
+public class LengthBuckets {
+
+    private final int[] sizes;
+
+    /**
+     * @param sizes 오름차순 버킷 길이 (마지막 값이 최대 길이)
+     */
+    public LengthBuckets(int[] sizes) {
+        if (sizes == null || sizes.length == 0) {
+            throw new IllegalArgumentException("버킷이 비어 있습니다.");
+        }
+        this.sizes = Arrays.stream(sizes).filter(size -> size > 0).sorted().distinct().toArray();
+    }
+
+    /**
+     * 길이를 담을 수 있는 가장 작은 버킷 인덱스 (최대 버킷을 넘으면 마지막 인덱스)
+     */
+    public int indexFor(int length) {
+        for (int i = 0; i < sizes.length; i++) {
+            if (length <= sizes[i]) {
+                return i;
+            }
+        }
+        return sizes.length - 1;
+    }
+
+    /**
+     * 길이를 담을 수 있는 가장 작은 버킷 길이
+     */
+    public int bucketFor(int length) {
+        return sizes[indexFor(length)];
+    }
+
+    public int size(int index) {
+        return sizes[index];
+    }
+
+    public int count() {
+        return sizes.length;
+    }
+
+    public int maxLength() {
+        return sizes[sizes.length - 1];
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(sizes);
+    }
+}
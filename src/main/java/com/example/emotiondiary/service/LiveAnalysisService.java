@@ -0,0 +1,252 @@
+package com.example.emotiondiary.service;
+
+import com.example.emotiondiary.config.InferenceProperties;
+import com.example.emotiondiary.entity.SentimentAnalysis;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 작성 중 실시간 감정 분석
+ * 클라이언트는 초안 수정분(delta)을 보내고, 서버는 수정이 debounceMillis 동안 멈추면 분석해 SSE로 결과를 보냄
+ * 초안별로 문단 분석 결과를 보관해 바뀐 문단만 다시 분석하며, 유휴 초안은 idleTimeoutMillis 뒤 제거 (최대 maxDrafts개)
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class LiveAnalysisService {
+
+    private static final String EVENT_NAME = "analysis";
+
+    private final EmotionAnalysisService emotionAnalysisService;
+    private final KeywordEmotionAnalyzer keywordAnalyzer;
+    private final InferenceProperties inferenceProperties;
+    private final MeterRegistry meterRegistry;
+
+    // 사용자 ID + 초안 ID → 초안 상태 (조회/수정이 없으면 만료, 제거 시 SSE 연결 종료)
+    private Cache<String, LiveDraft> drafts;
+    private ScheduledExecutorService analyzers;
+
+    private Counter inferredCounter;
+    private Counter reusedCounter;
+
+    @PostConstruct
+    public void start() {
+        InferenceProperties.Live settings = inferenceProperties.getLive();
+        drafts = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofMillis(settings.getIdleTimeoutMillis()))
+                .maximumSize(Math.max(1, settings.getMaxDrafts()))
+                .scheduler(Scheduler.systemScheduler())
+                .removalListener((String key, LiveDraft draft, RemovalCause cause) -> {
+                    if (draft != null) {
+                        draft.close();
+                    }
+                })
+                .build();
+
+        AtomicInteger sequence = new AtomicInteger();
+        analyzers = Executors.newScheduledThreadPool(Math.max(1, settings.getThreads()), runnable -> {
+            Thread thread = new Thread(runnable, "emotion-live-analysis-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("emotion.live.drafts", this, service -> service.drafts.estimatedSize())
+                .description("실시간 분석 중인 초안 수")
+                .register(meterRegistry);
+        inferredCounter = Counter.builder("emotion.live.paragraphs")
+                .description("실시간 분석 문단 수 (inferred: 다시 분석, reused: 이전 결과 재사용)")
+                .tag("result", "inferred")
+                .register(meterRegistry);
+        reusedCounter = Counter.builder("emotion.live.paragraphs")
+                .description("실시간 분석 문단 수 (inferred: 다시 분석, reused: 이전 결과 재사용)")
+                .tag("result", "reused")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 초안 결과 구독 (같은 초안의 이전 연결은 종료)
+     * 재연결이면 마지막 분석 결과를 바로 보내고, 아직 분석하지 않은 수정분이 있으면 분석
+     */
+    public SseEmitter subscribe(Long userId, String draftId) {
+        LiveDraft draft = draft(userId, draftId);
+        SseEmitter emitter = new SseEmitter(inferenceProperties.getLive().getIdleTimeoutMillis());
+        emitter.onCompletion(() -> draft.detach(emitter));
+        emitter.onTimeout(() -> draft.detach(emitter));
+        emitter.onError(error -> draft.detach(emitter));
+
+        SseEmitter previous = draft.attach(emitter);
+        if (previous != null) {
+            previous.complete();
+        }
+        Object lastEvent = draft.lastEvent();
+        if (lastEvent != null) {
+            send(draft, lastEvent);
+        }
+        if (!draft.text().isEmpty()) {
+            schedule(draft, 0);
+        }
+        return emitter;
+    }
+
+    /**
+     * 수정분 적용 후 분석 예약
+     *
+     * @return 새 수정 번호
+     * @throws IllegalStateException    수정 번호가 맞지 않는 경우 (전체 본문으로 다시 동기화 필요)
+     * @throws IllegalArgumentException 범위가 올바르지 않거나 최대 길이를 넘는 경우
+     */
+    public long applyDelta(Long userId, String draftId, long baseRevision, int from, int to, String text) {
+        LiveDraft draft = draft(userId, draftId);
+        long revision = draft.apply(baseRevision, from, to, text, inferenceProperties.getLive().getMaxDraftLength());
+        schedule(draft, inferenceProperties.getLive().getDebounceMillis());
+        return revision;
+    }
+
+    /**
+     * 본문 전체 교체 후 분석 예약
+     */
+    public long replaceContent(Long userId, String draftId, String content) {
+        LiveDraft draft = draft(userId, draftId);
+        long revision = draft.replace(content, inferenceProperties.getLive().getMaxDraftLength());
+        schedule(draft, inferenceProperties.getLive().getDebounceMillis());
+        return revision;
+    }
+
+    /**
+     * 현재 수정 번호 (초안이 없으면 0)
+     */
+    public long revision(Long userId, String draftId) {
+        LiveDraft draft = drafts.getIfPresent(key(userId, draftId));
+        return draft != null ? draft.revision() : 0;
+    }
+
+    /**
+     * 초안 상태 제거 (저장/페이지 이탈 시, SSE 연결도 종료)
+     */
+    public void close(Long userId, String draftId) {
+        drafts.invalidate(key(userId, draftId));
+    }
+
+    private LiveDraft draft(Long userId, String draftId) {
+        return drafts.get(key(userId, draftId), key -> new LiveDraft());
+    }
+
+    private static String key(Long userId, String draftId) {
+        return userId + ":" + draftId;
+    }
+
+    private void schedule(LiveDraft draft, long delayMillis) {
+        draft.reschedule(analyzers.schedule(() -> analyze(draft), delayMillis, TimeUnit.MILLISECONDS));
+    }
+
+    private void analyze(LiveDraft draft) {
+        if (draft.emitter() == null) {
+            return; // 구독 전이면 구독 시점에 분석
+        }
+        try {
+            // 사용자 요청과 같은 경로 (결과 캐시, 과부하 시 키워드 응답)
+            LiveDraft.Analysis analysis = draft.analyze(emotionAnalysisService.getModelVersion(), emotionAnalysisService::analyze);
+            if (analysis == null) {
+                return;
+            }
+            inferredCounter.increment(analysis.inferred);
+            reusedCounter.increment(analysis.reused);
+            Map<String, Object> event = toEvent(analysis);
+            draft.remember(event);
+            send(draft, event);
+        } catch (Exception e) {
+            log.warn("⚠️ 실시간 감정 분석 실패: {}", e.getMessage());
+        }
+    }
+
+    private void send(LiveDraft draft, Object event) {
+        SseEmitter emitter = draft.emitter();
+        if (emitter == null) {
+            return;
+        }
+        try {
+            emitter.send(SseEmitter.event().name(EVENT_NAME).data(event));
+        } catch (Exception e) {
+            // 연결이 끊긴 경우 (초안 상태는 유휴 만료까지 유지되어 재연결 시 재사용)
+            log.debug("실시간 분석 결과 전송 실패: {}", e.getMessage());
+            draft.detach(emitter);
+        }
+    }
+
+    /**
+     * 분석 결과 이벤트
+     * 모든 문단이 모델 결과면 문단 길이 가중 평균 확률로, 아니면 본문 전체 키워드 분석으로 전체 감정을 정함
+     */
+    private Map<String, Object> toEvent(LiveDraft.Analysis analysis) {
+        Map<String, Object> event = new HashMap<>();
+        event.put("success", true);
+        event.put("revision", analysis.revision);
+        event.put("inferred", analysis.inferred);
+        event.put("reused", analysis.reused);
+
+        List<Map<String, Object>> paragraphs = new ArrayList<>(analysis.paragraphs.size());
+        EmotionPrediction.Source fallbackSource = EmotionPrediction.Source.KEYWORD;
+        for (EmotionPrediction prediction : analysis.paragraphs) {
+            Map<String, Object> paragraph = new HashMap<>();
+            paragraph.put("emotion", prediction.getEmotion().name().toLowerCase());
+            paragraph.put("confidence", prediction.getConfidence());
+            paragraph.put("source", prediction.getSource().name().toLowerCase());
+            paragraphs.add(paragraph);
+            if (prediction.getSource() == EmotionPrediction.Source.DEGRADED) {
+                fallbackSource = EmotionPrediction.Source.DEGRADED;
+            }
+        }
+        event.put("paragraphs", paragraphs);
+
+        List<SentimentAnalysis.Emotion> labels = emotionAnalysisService.getLabels();
+        if (analysis.probabilities != null && labels.size() == analysis.probabilities.length) {
+            int best = Logits.findMaxIndex(analysis.probabilities);
+            SentimentAnalysis.Emotion emotion = labels.get(best) != null ? labels.get(best) : SentimentAnalysis.Emotion.HAPPY;
+            Map<String, Float> probabilities = new LinkedHashMap<>();
+            for (int i = 0; i < labels.size(); i++) {
+                if (labels.get(i) != null) {
+                    probabilities.put(labels.get(i).name().toLowerCase(), analysis.probabilities[i]);
+                }
+            }
+            event.put("emotion", emotion.name().toLowerCase());
+            event.put("confidence", analysis.probabilities[best]);
+            event.put("source", EmotionPrediction.Source.MODEL.name().toLowerCase());
+            event.put("probabilities", probabilities);
+        } else {
+            EmotionPrediction prediction = keywordAnalyzer.predict(analysis.text);
+            event.put("emotion", prediction.getEmotion().name().toLowerCase());
+            event.put("confidence", prediction.getConfidence());
+            event.put("source", fallbackSource.name().toLowerCase());
+            event.put("probabilities", null);
+        }
+        return event;
+    }
+
+    @PreDestroy
+    public void stop() {
+        drafts.invalidateAll();
+        analyzers.shutdownNow();
+    }
+}
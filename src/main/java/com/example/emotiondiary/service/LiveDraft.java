@@ -0,0 +1,260 @@
+package com.example.emotiondiary.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+import java.util.function.Function;
+
+/**
+ * 작성 중인 초안 하나의 실시간 분석 상태
+ * 클라이언트가 보낸 수정분(delta)을 적용한 본문, 수정 번호(revision), SSE 연결, 문단별 분석 결과를 보관
+ * 분석 시 본문을 줄 단위 문단으로 나누고, 이전 분석과 내용이 같은 문단은 저장된 확률을 재사용
+ */
+final class LiveDraft {
+
+    private String text = "";
+    private long revision;
+    private SseEmitter emitter;
+    private ScheduledFuture<?> pending;
+    private Object lastEvent;
+
+    // analysisLock을 잡은 분석 스레드만 접근
+    private final Object analysisLock = new Object();
+    private Map<String, ParagraphResult> paragraphs = new HashMap<>();
+    private long analyzedRevision = -1;
+
+    /**
+     * [from, to) 구간을 insert로 교체
+     *
+     * @param baseRevision 클라이언트가 알고 있는 수정 번호 (현재 번호와 다르면 전체 본문 재전송 필요)
+     * @return 새 수정 번호
+     * @throws IllegalStateException 수정 번호가 맞지 않는 경우
+     */
+    synchronized long apply(long baseRevision, int from, int to, String insert, int maxLength) {
+        if (baseRevision != revision) {
+            throw new IllegalStateException("초안 수정 번호가 맞지 않습니다: " + baseRevision + " (현재 " + revision + ")");
+        }
+        if (from < 0 || to < from || to > text.length()) {
+            throw new IllegalArgumentException("수정 범위가 올바르지 않습니다: [" + from + ", " + to + ")");
+        }
+        String inserted = insert != null ? insert : "";
+        if (text.length() - (to - from) + inserted.length() > maxLength) {
+            throw new IllegalArgumentException("초안은 최대 " + maxLength + "자까지 분석할 수 있습니다.");
+        }
+        text = text.substring(0, from) + inserted + text.substring(to);
+        return ++revision;
+    }
+
+    /**
+     * 본문 전체 교체 (첫 연결, 수정 번호가 어긋난 뒤 재동기화)
+     */
+    synchronized long replace(String content, int maxLength) {
+        String next = content != null ? content : "";
+        if (next.length() > maxLength) {
+            throw new IllegalArgumentException("초안은 최대 " + maxLength + "자까지 분석할 수 있습니다.");
+        }
+        text = next;
+        return ++revision;
+    }
+
+    synchronized long revision() {
+        return revision;
+    }
+
+    synchronized String text() {
+        return text;
+    }
+
+    /**
+     * SSE 연결 교체 (이전 연결을 반환하므로 호출자가 종료)
+     */
+    synchronized SseEmitter attach(SseEmitter next) {
+        SseEmitter previous = emitter;
+        emitter = next;
+        return previous;
+    }
+
+    synchronized void detach(SseEmitter current) {
+        if (emitter == current) {
+            emitter = null;
+        }
+    }
+
+    synchronized SseEmitter emitter() {
+        return emitter;
+    }
+
+    /**
+     * 마지막으로 보낸 분석 결과 (재연결 시 다시 보냄)
+     */
+    synchronized void remember(Object event) {
+        lastEvent = event;
+    }
+
+    synchronized Object lastEvent() {
+        return lastEvent;
+    }
+
+    /**
+     * 예약된 분석을 취소하고 새로 예약 (debounce)
+     */
+    synchronized void reschedule(ScheduledFuture<?> next) {
+        if (pending != null) {
+            pending.cancel(false);
+        }
+        pending = next;
+    }
+
+    /**
+     * 예약된 분석 취소 + SSE 연결 종료 (초안 제거 시)
+     */
+    synchronized void close() {
+        if (pending != null) {
+            pending.cancel(false);
+            pending = null;
+        }
+        if (emitter != null) {
+            emitter.complete();
+            emitter = null;
+        }
+    }
+
+    /**
+     * 현재 본문 분석 (같은 초안의 분석은 한 번에 하나씩 실행)
+     * 내용과 모델 버전이 같은 문단은 이전 확률을 재사용하고, 나머지만 analyzer로 분석
+     * 모델 결과가 아닌 문단(키워드/과부하 응답)은 저장하지 않아 다음 분석에서 다시 시도
+     *
+     * @return 이미 분석한 수정 번호면 null
+     */
+    Analysis analyze(String modelVersion, Function<String, EmotionPrediction> analyzer) {
+        synchronized (analysisLock) {
+            return analyzeLatest(modelVersion, analyzer);
+        }
+    }
+
+    private Analysis analyzeLatest(String modelVersion, Function<String, EmotionPrediction> analyzer) {
+        String snapshot;
+        long snapshotRevision;
+        synchronized (this) {
+            snapshot = text;
+            snapshotRevision = revision;
+        }
+        if (snapshotRevision == analyzedRevision) {
+            return null;
+        }
+
+        Map<String, ParagraphResult> next = new HashMap<>();
+        List<EmotionPrediction> results = new ArrayList<>();
+        List<Integer> weights = new ArrayList<>();
+        int inferred = 0;
+        int reused = 0;
+
+        for (String paragraph : paragraphs(snapshot)) {
+            ParagraphResult result = next.get(paragraph);
+            if (result == null) {
+                result = paragraphs.get(paragraph);
+                if (result != null && result.modelVersion.equals(modelVersion)) {
+                    reused++;
+                } else {
+                    result = new ParagraphResult(modelVersion, analyzer.apply(paragraph));
+                    inferred++;
+                }
+                if (result.prediction.isModelBased()) {
+                    next.put(paragraph, result);
+                }
+            } else {
+                reused++;
+            }
+            results.add(result.prediction);
+            weights.add(paragraph.length());
+        }
+
+        paragraphs = next;
+        analyzedRevision = snapshotRevision;
+        return new Analysis(snapshotRevision, snapshot, results, meanProbabilities(results, weights), inferred, reused);
+    }
+
+    /**
+     * 줄 단위 문단 (앞뒤 공백 제거, 빈 줄 제외)
+     */
+    static List<String> paragraphs(String text) {
+        List<String> paragraphs = new ArrayList<>();
+        int start = 0;
+        while (start <= text.length()) {
+            int end = text.indexOf('\n', start);
+            if (end < 0) {
+                end = text.length();
+            }
+            String paragraph = text.substring(start, end).strip();
+            if (!paragraph.isEmpty()) {
+                paragraphs.add(paragraph);
+            }
+            start = end + 1;
+        }
+        return paragraphs;
+    }
+
+    // 문단 길이로 가중 평균한 확률 (모델 결과가 아닌 문단이 있으면 null)
+    private static float[] meanProbabilities(List<EmotionPrediction> results, List<Integer> weights) {
+        if (results.isEmpty()) {
+            return null;
+        }
+        float[] mean = null;
+        long total = 0;
+        for (int i = 0; i < results.size(); i++) {
+            float[] probabilities = results.get(i).getProbabilities();
+            if (!results.get(i).isModelBased() || probabilities == null
+                    || (mean != null && mean.length != probabilities.length)) {
+                return null;
+            }
+            if (mean == null) {
+                mean = new float[probabilities.length];
+            }
+            for (int j = 0; j < mean.length; j++) {
+                mean[j] += probabilities[j] * weights.get(i);
+            }
+            total += weights.get(i);
+        }
+        for (int j = 0; j < mean.length; j++) {
+            mean[j] /= total;
+        }
+        return mean;
+    }
+
+    private static final class ParagraphResult {
+        private final String modelVersion;
+        private final EmotionPrediction prediction;
+
+        private ParagraphResult(String modelVersion, EmotionPrediction prediction) {
+            this.modelVersion = modelVersion;
+            this.prediction = prediction;
+        }
+    }
+
+    /**
+     * 한 번의 분석 결과
+     * probabilities: 문단 길이 가중 평균 확률 (모든 문단이 모델 결과일 때만, 아니면 null)
+     */
+    static final class Analysis {
+        final long revision;
+        final String text;
+        final List<EmotionPrediction> paragraphs;
+        final float[] probabilities;
+        final int inferred;
+        final int reused;
+
+        private Analysis(long revision, String text, List<EmotionPrediction> paragraphs, float[] probabilities,
+                         int inferred, int reused) {
+            this.revision = revision;
+            this.text = text;
+            this.paragraphs = paragraphs;
+            this.probabilities = probabilities;
+            this.inferred = inferred;
+            this.reused = reused;
+        }
+    }
+}
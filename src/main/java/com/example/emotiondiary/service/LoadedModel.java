@@ -0,0 +1,151 @@
+package com.example.emotiondiary.service;
+
+import ai.onnxruntime.OnnxTensor;
+import ai.onnxruntime.OnnxTensorLike;
+import ai.onnxruntime.OrtEnvironment;
+import ai.onnxruntime.OrtException;
+import ai.onnxruntime.OrtSession;
+import com.example.emotiondiary.config.InferenceProperties;
+import com.example.emotiondiary.entity.SentimentAnalysis;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.nio.FloatBuffer;
+import java.nio.LongBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 한 번에 교체되는 모델 구성 요소 묶음 (세션, 배치 스케줄러, 토크나이저, 라벨 매핑, 캐스케이드 분류기)
+ * 완전히 만들어진 뒤에만 공개되며, 요청은 retain/release로 참조를 잡고 사용
+ * 교체된 모델은 retire 후 마지막 참조가 풀리는 시점(진행 중인 요청이 모두 끝난 뒤)에 세션을 닫음
+ */
+@Slf4j
+final class LoadedModel {
+
+    // 워밍업 입력 (버킷 길이를 채울 만큼 반복)
+    private static final String WARMUP_TEXT = "오늘 하루 ";
+
+    final String version;
+    final BertTokenizer tokenizer;
+    final Map<Integer, SentimentAnalysis.Emotion> emotionLabels;
+    final int maxLength;
+    final int numLabels;
+    final LengthBuckets lengthBuckets;
+    final NgramClassifier cascade;
+    final InferenceBatcher batcher;
+
+    private final OrtEnvironment env;
+    private final OrtSession session;
+    private final String[] inputNames;
+    private final String outputName;
+
+    // 공개 참조(1) + 사용 중인 요청 수, 0이 되면 닫힘
+    private final ReferenceCount refs = new ReferenceCount(this::close);
+
+    LoadedModel(String version, OrtEnvironment env, OrtSession session, BertTokenizer tokenizer, ConfigLoader configLoader,
+                Map<Integer, SentimentAnalysis.Emotion> emotionLabels, NgramClassifier cascade,
+                InferenceProperties.Batch batchSettings, MeterRegistry meterRegistry) {
+        this.version = version;
+        this.env = env;
+        this.session = session;
+        this.tokenizer = tokenizer;
+        this.emotionLabels = emotionLabels;
+        this.cascade = cascade;
+        this.maxLength = configLoader.getMaxLength();
+        this.numLabels = configLoader.getNumLabels();
+        this.lengthBuckets = new LengthBuckets(configLoader.getLengthBuckets());
+        this.inputNames = configLoader.getInputNames();
+        this.outputName = configLoader.getOutputName();
+        // 나머지 필드가 모두 설정된 뒤 워커 시작
+        this.batcher = new InferenceBatcher(batchSettings, lengthBuckets, tokenizer.getPadTokenId(),
+                numLabels, meterRegistry, this::runBatch);
+    }
+
+    /**
+     * 사용 참조 획득 (이미 닫힌 모델이면 false)
+     */
+    boolean retain() {
+        return refs.retain();
+    }
+
+    void release() {
+        refs.release();
+    }
+
+    /**
+     * 공개 참조 해제 (교체/종료 시 한 번만 호출, 사용 중인 요청이 끝나면 닫힘)
+     */
+    void retire() {
+        release();
+    }
+
+    /**
+     * 모든 길이 버킷을 rounds번씩 실행 (공개 전 호출)
+     * 버킷별 첫 실행의 메모리 할당/커널 선택 비용을 미리 치르고, 출력 형식까지 검증
+     */
+    void warmUp(int rounds, long timeoutMillis) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        for (int round = 0; round < Math.max(1, rounds); round++) {
+            warmUpRound(deadline);
+        }
+    }
+
+    private void warmUpRound(long deadline) throws Exception {
+        @SuppressWarnings("unchecked")
+        CompletableFuture<float[]>[] runs = new CompletableFuture[lengthBuckets.count()];
+        for (int i = 0; i < runs.length; i++) {
+            int length = lengthBuckets.size(i);
+            IdBuffer inputIds = batcher.acquireIdBuffer();
+            tokenizer.tokenize(WARMUP_TEXT.repeat(length), inputIds, length);
+            if (inputIds.size() != length) {
+                throw new IllegalStateException("워밍업 입력을 만들 수 없습니다 (vocab 확인 필요): 버킷 " + length
+                        + ", 토큰 " + inputIds.size());
+            }
+            runs[i] = batcher.submit(inputIds);
+        }
+        CompletableFuture.allOf(runs).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+
+        for (CompletableFuture<float[]> run : runs) {
+            for (float logit : run.join()) {
+                if (!Float.isFinite(logit)) {
+                    throw new IllegalStateException("모델 출력에 유효하지 않은 값이 있습니다: " + logit);
+                }
+            }
+        }
+    }
+
+    /**
+     * 배치 단위 모델 추론 (InferenceBatcher 워커 스레드에서 호출)
+     * 입력/출력 모두 풀의 direct 버퍼 위에 텐서를 만들어 복사 없이 실행하고,
+     * logits [batch_size, num_labels]는 출력 버퍼에 직접 기록됨 (pinned output)
+     */
+    private void runBatch(LongBuffer inputIds, LongBuffer attentionMask, int batchSize, int sequenceLength,
+                          FloatBuffer logits) throws OrtException {
+        long[] shape = {batchSize, sequenceLength};
+        long[] outputShape = {batchSize, numLabels};
+
+        try (OnnxTensor inputIdsTensor = OnnxTensor.createTensor(env, inputIds, shape);
+             OnnxTensor attentionMaskTensor = OnnxTensor.createTensor(env, attentionMask, shape);
+             OnnxTensor logitsTensor = OnnxTensor.createTensor(env, logits, outputShape)) {
+
+            Map<String, OnnxTensorLike> inputs = new HashMap<>();
+            inputs.put(inputNames[0], inputIdsTensor); // "input_ids"
+            inputs.put(inputNames[1], attentionMaskTensor); // "attention_mask"
+
+            session.run(inputs, Map.of(outputName, logitsTensor)).close();
+        }
+    }
+
+    private void close() {
+        batcher.close();
+        try {
+            session.close();
+            log.info("감정 분석 모델 세션 해제: {}", version);
+        } catch (Exception e) {
+            log.warn("⚠️ 모델 세션 해제 실패: {}", e.getMessage());
+        }
+    }
+}
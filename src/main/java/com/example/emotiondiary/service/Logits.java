@@ -0,0 +1,58 @@
+package com.example.emotiondiary.service;
+
+/**
+ * 모델 출력(logits) 후처리
+ */
+public final class Logits {
+    
+    private Logits() {
+    }
+    
+    /**
+     * Softmax 함수 적용 (결과를 logits 배열에 덮어쓰고 그 배열을 반환)
+     * 배치 스케줄러가 요청마다 돌려주는 행을 그대로 확률로 바꿈
+     */
+    public static float[] softmaxInPlace(float[] logits) {
+        // 최대값 찾기
+        float maxLogit = logits[0];
+        for (float logit : logits) {
+            if (logit > maxLogit) {
+                maxLogit = logit;
+            }
+        }
+        
+        float sum = 0.0f;
+        
+        // 수치 안정성을 위해 최대값을 빼줌
+        for (int i = 0; i < logits.length; i++) {
+            logits[i] = (float) Math.exp(logits[i] - maxLogit);
+            sum += logits[i];
+        }
+        
+        // 정규화
+        for (int i = 0; i < logits.length; i++) {
+            logits[i] /= sum;
+        }
+        
+        return logits;
+    }
+    
+    /**
+     * 배열에서 최대값의 인덱스 찾기
+     */
+    public static int findMaxIndex(float[] array) {
+        if (array == null || array.length == 0) {
+            return 0;
+        }
+        
+        int maxIndex = 0;
+        float maxValue = array[0];
+        for (int i = 1; i < array.length; i++) {
+            if (array[i] > maxValue) {
+                maxValue = array[i];
+                maxIndex = i;
+            }
+        }
+        return maxIndex;
+    }
+}
@@ -0,0 +1,312 @@
+package com.example.emotiondiary.service;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 사전 컴파일된 모델 바이너리 아티팩트 (model.bin)
+ * vocab, WordPiece 트라이, config.json, label_mapping.json을 한 파일에 담고
+ * 실행 시에는 메모리 매핑한 영역을 파싱/복사 없이 그대로 사용
+ *
+ * 레이아웃: MAGIC, VERSION, 원본 파일 지문, config 항목, 라벨 매핑, Vocabulary 영역, WordPieceTrie 영역
+ * 원본 파일 지문(크기 + SHA-256)은 아티팩트를 만든 원본과 현재 원본이 같은지 확인하는 데 사용
+ */
+public class ModelArtifact {
+
+    public static final String FILE_NAME = "model.bin";
+
+    private static final int MAGIC = 0x45444D41; // "EDMA"
+    private static final int VERSION = 2;
+
+    // 아티팩트로 컴파일되는 원본 파일 (모델 디렉토리 기준)
+    public static final List<String> SOURCE_FILES = List.of("vocab.txt", "config.json", "label_mapping.json");
+
+    // 원본 파일이 없을 때의 지문
+    public static final String MISSING_SOURCE = "-";
+
+    // config 값 타입
+    private static final byte TYPE_INT = 0;
+    private static final byte TYPE_INT_LIST = 1;
+    private static final byte TYPE_STRING_LIST = 2;
+    private static final byte TYPE_DOUBLE = 3;
+
+    private final Map<String, String> sourceStamps;
+    private final Map<String, Object> config;
+    private final Map<String, String> labelMapping;
+    private final Vocabulary vocabulary;
+    private final WordPieceTrie trie;
+
+    private ModelArtifact(Map<String, String> sourceStamps, Map<String, Object> config, Map<String, String> labelMapping,
+                          Vocabulary vocabulary, WordPieceTrie trie) {
+        this.sourceStamps = sourceStamps;
+        this.config = config;
+        this.labelMapping = labelMapping;
+        this.vocabulary = vocabulary;
+        this.trie = trie;
+    }
+
+    /**
+     * 아티팩트를 만든 원본 파일 지문 (파일 이름 → 크기:SHA-256)
+     */
+    public Map<String, String> getSourceStamps() {
+        return sourceStamps;
+    }
+
+    public Map<String, Object> getConfig() {
+        return config;
+    }
+
+    public Map<String, String> getLabelMapping() {
+        return labelMapping;
+    }
+
+    public Vocabulary getVocabulary() {
+        return vocabulary;
+    }
+
+    public WordPieceTrie getTrie() {
+        return trie;
+    }
+
+    /**
+     * 아티팩트 파일을 읽기 전용으로 메모리 매핑
+     */
+    public static ModelArtifact open(Path path) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        if (buffer.getInt() != MAGIC) {
+            throw new IOException("모델 아티팩트 형식이 아닙니다: " + path);
+        }
+        int version = buffer.getInt();
+        if (version != VERSION) {
+            throw new IOException("지원하지 않는 모델 아티팩트 버전입니다: " + version);
+        }
+
+        Map<String, String> sourceStamps = new LinkedHashMap<>();
+        int sourceCount = buffer.getInt();
+        for (int i = 0; i < sourceCount; i++) {
+            sourceStamps.put(readString(buffer), readString(buffer));
+        }
+
+        Map<String, Object> config = new LinkedHashMap<>();
+        int configCount = buffer.getInt();
+        for (int i = 0; i < configCount; i++) {
+            String key = readString(buffer);
+            byte type = buffer.get();
+            if (type == TYPE_INT) {
+                config.put(key, buffer.getInt());
+            } else if (type == TYPE_DOUBLE) {
+                config.put(key, buffer.getDouble());
+            } else if (type == TYPE_INT_LIST) {
+                int count = buffer.getInt();
+                List<Integer> values = new ArrayList<>(count);
+                for (int j = 0; j < count; j++) {
+                    values.add(buffer.getInt());
+                }
+                config.put(key, values);
+            } else if (type == TYPE_STRING_LIST) {
+                int count = buffer.getInt();
+                List<String> values = new ArrayList<>(count);
+                for (int j = 0; j < count; j++) {
+                    values.add(readString(buffer));
+                }
+                config.put(key, values);
+            } else {
+                throw new IOException("알 수 없는 config 값 타입: " + type);
+            }
+        }
+
+        Map<String, String> labelMapping = new LinkedHashMap<>();
+        int labelCount = buffer.getInt();
+        for (int i = 0; i < labelCount; i++) {
+            labelMapping.put(readString(buffer), readString(buffer));
+        }
+
+        align(buffer, Long.BYTES);
+        Vocabulary vocabulary = Vocabulary.readFrom(buffer);
+        align(buffer, Long.BYTES);
+        WordPieceTrie trie = WordPieceTrie.readFrom(buffer);
+
+        return new ModelArtifact(Collections.unmodifiableMap(sourceStamps), Collections.unmodifiableMap(config), Collections.unmodifiableMap(labelMapping),
+                vocabulary, trie);
+    }
+
+    /**
+     * 아티팩트 파일 생성
+     * config는 숫자(정수/실수), 정수 목록, 문자열 목록 값만 기록하고 나머지(실수 목록 등)는 무시
+     *
+     * @param sourceStamps 원본 파일 지문 (stamp()로 계산, 실행 시 현재 원본과 비교)
+     */
+    public static void write(Path target, Map<String, String> sourceStamps, Map<String, Object> config,
+                             Map<String, String> labelMapping, Vocabulary vocabulary, WordPieceTrie trie) throws IOException {
+        Files.createDirectories(target.toAbsolutePath().getParent());
+        try (OutputStream os = Files.newOutputStream(target);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(os))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+
+            out.writeInt(sourceStamps.size());
+            for (Map.Entry<String, String> entry : sourceStamps.entrySet()) {
+                writeString(out, entry.getKey());
+                writeString(out, entry.getValue());
+            }
+
+            Map<String, Object> supported = new LinkedHashMap<>();
+            for (Map.Entry<String, Object> entry : config.entrySet()) {
+                if (entry.getValue() instanceof Number || isIntList(entry.getValue())
+                        || isListOf(entry.getValue(), String.class)) {
+                    supported.put(entry.getKey(), entry.getValue());
+                }
+            }
+            out.writeInt(supported.size());
+            for (Map.Entry<String, Object> entry : supported.entrySet()) {
+                writeString(out, entry.getKey());
+                Object value = entry.getValue();
+                if (isInt(value)) {
+                    out.writeByte(TYPE_INT);
+                    out.writeInt(((Number) value).intValue());
+                } else if (value instanceof Number) {
+                    // eps, 임계값 등 정수가 아닌 값은 잘리지 않도록 double로 기록
+                    out.writeByte(TYPE_DOUBLE);
+                    out.writeDouble(((Number) value).doubleValue());
+                } else if (isIntList(value)) {
+                    List<?> list = (List<?>) value;
+                    out.writeByte(TYPE_INT_LIST);
+                    out.writeInt(list.size());
+                    for (Object item : list) {
+                        out.writeInt(((Number) item).intValue());
+                    }
+                } else {
+                    List<?> list = (List<?>) value;
+                    out.writeByte(TYPE_STRING_LIST);
+                    out.writeInt(list.size());
+                    for (Object item : list) {
+                        writeString(out, (String) item);
+                    }
+                }
+            }
+
+            out.writeInt(labelMapping.size());
+            for (Map.Entry<String, String> entry : labelMapping.entrySet()) {
+                writeString(out, entry.getKey());
+                writeString(out, entry.getValue());
+            }
+
+            align(out, Long.BYTES);
+            vocabulary.writeTo(out);
+            align(out, Long.BYTES);
+            trie.writeTo(out);
+        }
+    }
+
+    /**
+     * 기록 위치를 alignment 배수로 맞춤 (스트림 시작 = 파일 시작 기준)
+     */
+    static void align(DataOutputStream out, int alignment) throws IOException {
+        while (out.size() % alignment != 0) {
+            out.writeByte(0);
+        }
+    }
+
+    static void align(ByteBuffer buffer, int alignment) {
+        int remainder = buffer.position() % alignment;
+        if (remainder != 0) {
+            buffer.position(buffer.position() + alignment - remainder);
+        }
+    }
+
+    /**
+     * 현재 위치부터 length 바이트 영역을 잘라내고 position을 그 뒤로 이동
+     */
+    static ByteBuffer slice(ByteBuffer buffer, int length) {
+        ByteBuffer slice = buffer.slice(buffer.position(), length);
+        buffer.position(buffer.position() + length);
+        return slice;
+    }
+
+    /**
+     * 원본 파일 지문 (크기:SHA-256, 스트림은 닫지 않음)
+     */
+    public static String stamp(InputStream in) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        byte[] chunk = new byte[8192];
+        long size = 0;
+        int read;
+        while ((read = in.read(chunk)) != -1) {
+            digest.update(chunk, 0, read);
+            size += read;
+        }
+        return size + ":" + HexFormat.of().formatHex(digest.digest());
+    }
+
+    // int로 손실 없이 기록할 수 있는 정수 값 (JSON 실수 값은 Double이므로 제외)
+    private static boolean isInt(Object value) {
+        if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return true;
+        }
+        return value instanceof Long longValue && longValue >= Integer.MIN_VALUE && longValue <= Integer.MAX_VALUE;
+    }
+
+    private static boolean isIntList(Object value) {
+        if (!isListOf(value, Number.class)) {
+            return false;
+        }
+        for (Object item : (List<?>) value) {
+            if (!isInt(item)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isListOf(Object value, Class<?> type) {
+        if (!(value instanceof List)) {
+            return false;
+        }
+        for (Object item : (List<?>) value) {
+            if (!type.isInstance(item)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
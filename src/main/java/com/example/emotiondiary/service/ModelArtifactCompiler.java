@@ -0,0 +1,73 @@
+package com.example.emotiondiary.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 빌드 시 모델 바이너리 아티팩트(model.bin) 생성
+ * ./gradlew compileModelArtifact 로 실행 (processResources 전에 자동 실행)
+ *
+ * 사용법: ModelArtifactCompiler <모델 디렉토리> <출력 파일>
+ */
+@Slf4j
+public class ModelArtifactCompiler {
+
+    private static final String UNK_TOKEN = "[UNK]";
+
+    public static void main(String[] args) throws Exception {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("사용법: ModelArtifactCompiler <모델 디렉토리> <출력 파일>");
+        }
+        Path modelDir = Paths.get(args[0]);
+        Path target = Paths.get(args[1]);
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        Map<String, Object> config = readJson(objectMapper, modelDir.resolve("config.json"));
+        Map<String, String> labelMapping = new HashMap<>();
+        for (Map.Entry<String, Object> entry : readJson(objectMapper, modelDir.resolve("label_mapping.json")).entrySet()) {
+            labelMapping.put(entry.getKey(), String.valueOf(entry.getValue()));
+        }
+
+        Vocabulary vocabulary;
+        try (BufferedReader reader = Files.newBufferedReader(modelDir.resolve("vocab.txt"), StandardCharsets.UTF_8)) {
+            vocabulary = Vocabulary.read(reader);
+        }
+        WordPieceTrie trie = WordPieceTrie.fromVocabulary(vocabulary, UNK_TOKEN);
+
+        // 실행 시 원본이 바뀌었는지 확인할 수 있도록 원본 파일 지문을 함께 기록
+        Map<String, String> sourceStamps = new LinkedHashMap<>();
+        for (String fileName : ModelArtifact.SOURCE_FILES) {
+            Path source = modelDir.resolve(fileName);
+            if (!Files.exists(source)) {
+                sourceStamps.put(fileName, ModelArtifact.MISSING_SOURCE);
+                continue;
+            }
+            try (InputStream in = Files.newInputStream(source)) {
+                sourceStamps.put(fileName, ModelArtifact.stamp(in));
+            }
+        }
+
+        ModelArtifact.write(target, sourceStamps, config, labelMapping, vocabulary, trie);
+        log.info("모델 아티팩트 생성 완료: {} ({} bytes, 어휘 {}개, 트라이 노드 {}개)",
+                target, Files.size(target), vocabulary.size(), trie.nodeCount());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> readJson(ObjectMapper objectMapper, Path path) throws Exception {
+        if (!Files.exists(path)) {
+            log.warn("파일이 없어 빈 값으로 기록합니다: {}", path);
+            return new HashMap<>();
+        }
+        return objectMapper.readValue(path.toFile(), Map.class);
+    }
+}
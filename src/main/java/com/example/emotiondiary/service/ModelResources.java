@@ -0,0 +1,149 @@
+package com.example.emotiondiary.service;
+
+import com.example.emotiondiary.config.InferenceProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Optional;
+
+/**
+ * 모델 파일 위치 해석
+ * emotion.inference.model-dir이 지정되면 해당 디렉토리, 아니면 클래스패스의 models/emotion_model_onnx 사용
+ * 사전 컴파일된 model.bin이 파일로 존재하고 기록된 원본 지문이 현재 원본과 같으면
+ * 메모리 매핑해 vocab/config/라벨 매핑 원본 대신 사용
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ModelResources {
+    
+    public static final String MODEL_DIR = "models/emotion_model_onnx";
+    
+    private final InferenceProperties inferenceProperties;
+    
+    private Path modelDir;
+    private ModelArtifact artifact;
+    
+    @PostConstruct
+    public void initialize() {
+        modelDir = resolveModelDir();
+        
+        Optional<Path> artifactPath = findFile(ModelArtifact.FILE_NAME);
+        if (artifactPath.isEmpty()) {
+            log.info("모델 바이너리 아티팩트 없음: 원본 vocab/config 파일을 사용합니다.");
+            return;
+        }
+        
+        try {
+            ModelArtifact opened = ModelArtifact.open(artifactPath.get());
+            String changed = changedSource(opened);
+            if (changed != null) {
+                // 원본만 갱신하고 model.bin을 다시 만들지 않은 경우 오래된 vocab/라벨을 쓰지 않도록 원본 사용
+                log.warn("⚠️ 모델 바이너리 아티팩트가 원본 {}과(와) 다릅니다: 원본 파일을 사용합니다. (model.bin 재생성 필요)", changed);
+                return;
+            }
+            artifact = opened;
+            log.info("✅ 모델 바이너리 아티팩트 매핑 완료: {} (어휘 크기: {})",
+                    artifactPath.get(), artifact.getVocabulary().size());
+        } catch (Exception e) {
+            log.warn("⚠️ 모델 바이너리 아티팩트를 읽을 수 없어 원본 파일을 사용합니다: {}", e.getMessage());
+            artifact = null;
+        }
+    }
+    
+    /**
+     * 아티팩트를 만든 원본과 현재 원본이 다른 파일 이름 (모두 같으면 null)
+     */
+    private String changedSource(ModelArtifact opened) {
+        for (String fileName : ModelArtifact.SOURCE_FILES) {
+            String expected = opened.getSourceStamps().get(fileName);
+            if (expected == null || !expected.equals(sourceStamp(fileName))) {
+                return fileName;
+            }
+        }
+        return null;
+    }
+    
+    private String sourceStamp(String fileName) {
+        Resource resource = resolve(fileName);
+        if (!resource.exists()) {
+            return ModelArtifact.MISSING_SOURCE;
+        }
+        try (InputStream in = resource.getInputStream()) {
+            return ModelArtifact.stamp(in);
+        } catch (IOException e) {
+            log.debug("원본 파일 지문을 계산할 수 없습니다: {}", e.getMessage());
+            return null;
+        }
+    }
+    
+    /**
+     * 메모리 매핑된 모델 아티팩트
+     */
+    public Optional<ModelArtifact> getArtifact() {
+        return Optional.ofNullable(artifact);
+    }
+    
+    /**
+     * 모델 디렉토리 안의 파일 리소스 (파일 시스템 또는 클래스패스)
+     */
+    public Resource resolve(String fileName) {
+        if (modelDir != null) {
+            return new FileSystemResource(modelDir.resolve(fileName));
+        }
+        return new ClassPathResource(MODEL_DIR + "/" + fileName);
+    }
+    
+    /**
+     * 모델 디렉토리 안의 파일 경로 (파일 시스템에 실제로 있는 경우에만)
+     */
+    public Optional<Path> findFile(String fileName) {
+        if (modelDir == null) {
+            return Optional.empty();
+        }
+        Path path = modelDir.resolve(fileName);
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+    
+    /**
+     * 모델 파일 식별자 (크기 + 수정 시각)
+     * 모델 파일이 교체되면 값이 달라지므로 추론 결과 캐시 키의 모델 버전으로 사용
+     */
+    public String fingerprint(String fileName) {
+        try {
+            Resource resource = resolve(fileName);
+            return fileName + "@" + resource.contentLength() + "-" + resource.lastModified();
+        } catch (Exception e) {
+            log.debug("모델 파일 식별자를 계산할 수 없습니다: {}", e.getMessage());
+            return fileName + "@" + System.currentTimeMillis();
+        }
+    }
+    
+    private Path resolveModelDir() {
+        String configuredDir = inferenceProperties.getModelDir();
+        if (configuredDir != null && !configuredDir.isBlank()) {
+            return Paths.get(configuredDir);
+        }
+        
+        // 클래스패스가 디렉토리인 경우 (bootRun, IDE 실행) 실제 경로 사용
+        try {
+            ClassPathResource resource = new ClassPathResource(MODEL_DIR);
+            if (resource.exists() && resource.isFile()) {
+                return resource.getFile().toPath();
+            }
+        } catch (Exception e) {
+            log.debug("모델 디렉토리를 파일 경로로 해석할 수 없습니다: {}", e.getMessage());
+        }
+        return null;
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.emotiondiary.service;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 문자 n-gram 해싱 기반 로지스틱 회귀 분류기 (캐스케이드 1단계, 순수 Java)
+ * 가중치는 오프라인 학습 후 cascade.json으로 배포하며, 학습 스크립트도 아래와 같은 특징을 만들어야 함
+ * - 입력: 앞뒤 공백 제거 + 연속 공백을 공백 하나로 바꾼 뒤 양 끝에 공백 한 칸씩 추가
+ * - 특징: ngram_min~ngram_max 길이의 모든 문자(UTF-16) n-gram을 FNV-1a 32비트로 해싱해 num_buckets로 나눈 버킷
+ * - 값: 버킷별 등장 횟수 / 전체 n-gram 수
+ * - 출력: softmax(bias + 특징 · weights), 라벨 순서는 label_mapping.json 인덱스와 동일
+ */
+public final class NgramClassifier {
+
+    private static final int FNV_OFFSET = 0x811c9dc5;
+    private static final int FNV_PRIME = 0x01000193;
+
+    private final int ngramMin;
+    private final int ngramMax;
+    private final int bucketMask;
+    private final int numLabels;
+    private final float[] bias;
+    // [numBuckets * numLabels], 버킷 단위로 연속 배치
+    private final float[] weights;
+
+    public NgramClassifier(int ngramMin, int ngramMax, int numBuckets, float[] bias, float[] weights) {
+        if (ngramMin < 1 || ngramMax < ngramMin) {
+            throw new IllegalArgumentException("잘못된 n-gram 범위: " + ngramMin + "~" + ngramMax);
+        }
+        if (numBuckets <= 0 || Integer.bitCount(numBuckets) != 1) {
+            throw new IllegalArgumentException("num_buckets는 2의 거듭제곱이어야 합니다: " + numBuckets);
+        }
+        if (bias.length == 0 || weights.length != numBuckets * bias.length) {
+            throw new IllegalArgumentException("가중치 크기가 맞지 않습니다: " + weights.length
+                    + " (기대값 " + numBuckets + " x " + bias.length + ")");
+        }
+        this.ngramMin = ngramMin;
+        this.ngramMax = ngramMax;
+        this.bucketMask = numBuckets - 1;
+        this.numLabels = bias.length;
+        this.bias = bias;
+        this.weights = weights;
+    }
+
+    /**
+     * cascade.json 내용으로 생성
+     * weights는 little-endian float32 배열의 Base64 문자열
+     */
+    public static NgramClassifier fromConfig(Map<String, Object> config) {
+        int ngramMin = ((Number) config.getOrDefault("ngram_min", 1)).intValue();
+        int ngramMax = ((Number) config.getOrDefault("ngram_max", 3)).intValue();
+        int numBuckets = ((Number) config.get("num_buckets")).intValue();
+
+        List<?> biasList = (List<?>) config.get("bias");
+        float[] bias = new float[biasList.size()];
+        for (int i = 0; i < bias.length; i++) {
+            bias[i] = ((Number) biasList.get(i)).floatValue();
+        }
+
+        byte[] bytes = Base64.getDecoder().decode((String) config.get("weights"));
+        float[] weights = new float[bytes.length / Float.BYTES];
+        ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer().get(weights);
+
+        return new NgramClassifier(ngramMin, ngramMax, numBuckets, bias, weights);
+    }
+
+    public int numLabels() {
+        return numLabels;
+    }
+
+    /**
+     * 라벨별 확률 (softmax)
+     */
+    public float[] predict(String text) {
+        String padded = " " + InferenceResultCache.normalize(text) + " ";
+        int length = padded.length();
+
+        float[] logits = new float[numLabels];
+        int count = 0;
+        for (int start = 0; start < length; start++) {
+            int hash = FNV_OFFSET;
+            int end = Math.min(length, start + ngramMax);
+            for (int i = start; i < end; i++) {
+                hash = (hash ^ padded.charAt(i)) * FNV_PRIME;
+                if (i - start + 1 >= ngramMin) {
+                    int offset = (hash & bucketMask) * numLabels;
+                    for (int label = 0; label < numLabels; label++) {
+                        logits[label] += weights[offset + label];
+                    }
+                    count++;
+                }
+            }
+        }
+
+        float scale = count > 0 ? 1.0f / count : 0.0f;
+        for (int label = 0; label < numLabels; label++) {
+            logits[label] = bias[label] + logits[label] * scale;
+        }
+        return Logits.softmaxInPlace(logits);
+    }
+}
@@ -0,0 +1,245 @@
+package com.example.emotiondiary.service;
+
+import ai.onnxruntime.OnnxTensor;
+import ai.onnxruntime.OrtEnvironment;
+import ai.onnxruntime.OrtException;
+import ai.onnxruntime.OrtSession;
+import com.example.emotiondiary.config.InferenceProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.LongBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+
+/**
+ * ONNX Runtime 세션 생성
+ * emotion.inference.session.* 설정으로 SessionOptions를 구성하고,
+ * 최적화된 그래프 저장/재사용과 기동 시 intra-op 스레드 수 자동 보정을 담당
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class OrtSessionFactory {
+
+    private static final int WARMUP_RUNS = 2;
+
+    // 최적화 그래프 옆에 저장하는 원본 모델 지문 파일 접미사 (크기:SHA-256)
+    private static final String SOURCE_STAMP_SUFFIX = ".source";
+
+    private final ModelResources modelResources;
+    private final InferenceProperties inferenceProperties;
+
+    // 자동 보정 결과 (모델 재로드 시 재사용, 운영 중 보정은 실제 요청과 CPU를 다투고 측정값도 왜곡됨)
+    private volatile int calibratedThreads;
+
+    /**
+     * 모델 파일로 세션 생성
+     *
+     * @param inputNames 모델 입력 이름 (input_ids, attention_mask 순서, 자동 보정에 사용)
+     * @param maxLength  최대 시퀀스 길이
+     */
+    public OrtSession createSession(OrtEnvironment env, String modelFile, String[] inputNames, int maxLength)
+            throws OrtException, IOException {
+        InferenceProperties.Session settings = inferenceProperties.getSession();
+        Optional<Path> modelPath = modelResources.findFile(modelFile);
+
+        Path optimizedPath = settings.getOptimizedModelPath().isBlank() ? null : Paths.get(settings.getOptimizedModelPath());
+        String sourceStamp = optimizedPath != null ? sourceStamp(modelFile, modelPath) : null;
+        boolean reuseOptimized = optimizedPath != null && isUpToDate(optimizedPath, sourceStamp);
+
+        SessionLoader loader;
+        if (reuseOptimized) {
+            log.info("최적화된 그래프 재사용: {}", optimizedPath);
+            loader = opts -> env.createSession(optimizedPath.toString(), opts);
+        } else if (modelPath.isPresent()) {
+            // 파일 경로에서 직접 로드 (힙에 모델 전체를 복사하지 않음)
+            loader = opts -> env.createSession(modelPath.get().toString(), opts);
+        } else {
+            // jar/war 내부 리소스인 경우에만 바이트 배열로 로드
+            byte[] modelBytes = readAllBytes(modelResources.resolve(modelFile));
+            loader = opts -> env.createSession(modelBytes, opts);
+        }
+
+        int intraOpThreads = settings.getIntraOpThreads();
+        if (settings.getCalibration().isEnabled()) {
+            if (calibratedThreads == 0) {
+                calibratedThreads = calibrate(env, loader, settings, reuseOptimized, inputNames, maxLength);
+            }
+            intraOpThreads = calibratedThreads;
+        }
+
+        try (OrtSession.SessionOptions opts = buildOptions(settings, intraOpThreads, reuseOptimized)) {
+            if (optimizedPath != null && !reuseOptimized) {
+                Path parent = optimizedPath.toAbsolutePath().getParent();
+                if (parent != null) {
+                    Files.createDirectories(parent);
+                }
+                // 그래프 저장이 끝나기 전에 중단되어도 이전 지문으로 재사용되지 않도록 먼저 삭제
+                Files.deleteIfExists(stampPath(optimizedPath));
+                opts.setOptimizedModelFilePath(optimizedPath.toString());
+                log.info("최적화된 그래프 저장: {}", optimizedPath);
+            }
+            OrtSession session = loader.load(opts);
+            if (optimizedPath != null && !reuseOptimized) {
+                Files.writeString(stampPath(optimizedPath), sourceStamp);
+            }
+            log.info("   - Session: {} / intra-op {} / inter-op {} / {} / arena {} / mem-pattern {}",
+                    reuseOptimized ? "NO_OPT (최적화 그래프)" : settings.getOptimizationLevel(),
+                    intraOpThreads == 0 ? "기본값" : intraOpThreads,
+                    settings.getInterOpThreads() == 0 ? "기본값" : settings.getInterOpThreads(),
+                    settings.getExecutionMode(), settings.isMemoryArena(), settings.isMemoryPattern());
+            return session;
+        }
+    }
+
+    private OrtSession.SessionOptions buildOptions(InferenceProperties.Session settings, int intraOpThreads,
+                                                   boolean preOptimized) throws OrtException {
+        OrtSession.SessionOptions opts = new OrtSession.SessionOptions();
+        // 저장된 그래프는 이미 최적화되어 있으므로 다시 최적화하지 않음
+        opts.setOptimizationLevel(preOptimized ? OrtSession.SessionOptions.OptLevel.NO_OPT : settings.getOptimizationLevel());
+        opts.setExecutionMode(settings.getExecutionMode());
+        opts.setCPUArenaAllocator(settings.isMemoryArena());
+        opts.setMemoryPatternOptimization(settings.isMemoryPattern());
+        if (intraOpThreads > 0) {
+            opts.setIntraOpNumThreads(intraOpThreads);
+        }
+        if (settings.getInterOpThreads() > 0) {
+            opts.setInterOpNumThreads(settings.getInterOpThreads());
+        }
+        return opts;
+    }
+
+    /**
+     * 후보 스레드 수마다 합성 배치를 실행해 중앙값 지연이 가장 짧은 값을 선택
+     * 모든 후보가 실패하면 설정값 유지
+     */
+    private int calibrate(OrtEnvironment env, SessionLoader loader, InferenceProperties.Session settings,
+                          boolean preOptimized, String[] inputNames, int maxLength) {
+        InferenceProperties.Calibration calibration = settings.getCalibration();
+        int batchSize = Math.max(1, calibration.getBatchSize());
+        int sequenceLength = Math.max(2, Math.min(calibration.getSequenceLength(), maxLength));
+        int iterations = Math.max(1, calibration.getIterations());
+
+        long[] shape = {batchSize, sequenceLength};
+        long[] inputIds = new long[batchSize * sequenceLength];
+        long[] attentionMask = new long[batchSize * sequenceLength];
+        Arrays.fill(attentionMask, 1L);
+
+        List<Integer> candidates = threadCandidates(calibration);
+        log.info("ONNX 세션 스레드 자동 보정 시작: 후보 {} (코어 {}, 입력 [{}, {}])",
+                candidates, Runtime.getRuntime().availableProcessors(), batchSize, sequenceLength);
+
+        int best = settings.getIntraOpThreads();
+        long bestNanos = Long.MAX_VALUE;
+        for (int threads : candidates) {
+            try (OrtSession.SessionOptions opts = buildOptions(settings, threads, preOptimized);
+                 OrtSession trial = loader.load(opts);
+                 OnnxTensor inputIdsTensor = OnnxTensor.createTensor(env, LongBuffer.wrap(inputIds), shape);
+                 OnnxTensor attentionMaskTensor = OnnxTensor.createTensor(env, LongBuffer.wrap(attentionMask), shape)) {
+
+                Map<String, OnnxTensor> inputs = Map.of(inputNames[0], inputIdsTensor, inputNames[1], attentionMaskTensor);
+                for (int i = 0; i < WARMUP_RUNS; i++) {
+                    trial.run(inputs).close();
+                }
+                long[] elapsed = new long[iterations];
+                for (int i = 0; i < iterations; i++) {
+                    long start = System.nanoTime();
+                    trial.run(inputs).close();
+                    elapsed[i] = System.nanoTime() - start;
+                }
+                Arrays.sort(elapsed);
+                long median = elapsed[iterations / 2];
+                log.info("   - intra-op {} 스레드: {} ms", threads, String.format("%.2f", median / 1_000_000.0));
+
+                if (median < bestNanos) {
+                    bestNanos = median;
+                    best = threads;
+                }
+            } catch (Exception e) {
+                log.warn("⚠️ intra-op {} 스레드 보정 실패: {}", threads, e.getMessage());
+            }
+        }
+
+        if (bestNanos == Long.MAX_VALUE) {
+            log.warn("⚠️ 스레드 자동 보정 실패: 설정값을 사용합니다.");
+        } else {
+            log.info("✅ 스레드 자동 보정 완료: intra-op {} 스레드", best);
+        }
+        return best;
+    }
+
+    private static List<Integer> threadCandidates(InferenceProperties.Calibration calibration) {
+        TreeSet<Integer> candidates = new TreeSet<>();
+        for (Integer threads : calibration.getThreadCandidates()) {
+            if (threads != null && threads > 0) {
+                candidates.add(threads);
+            }
+        }
+        if (candidates.isEmpty()) {
+            int cores = Runtime.getRuntime().availableProcessors();
+            for (int threads = 1; threads < cores; threads *= 2) {
+                candidates.add(threads);
+            }
+            candidates.add(cores);
+        }
+        return new ArrayList<>(candidates);
+    }
+
+    /**
+     * 저장된 최적화 그래프가 현재 원본 모델로 만든 것인지
+     * 수정 시각은 복사/배포 과정에서 바뀌거나 jar 내부 리소스에는 없으므로 그래프 옆에 저장한 원본 크기와 해시로 비교
+     */
+    private static boolean isUpToDate(Path optimizedPath, String sourceStamp) {
+        if (!Files.isRegularFile(optimizedPath)) {
+            return false;
+        }
+        Path stampPath = stampPath(optimizedPath);
+        try {
+            if (Files.isRegularFile(stampPath) && Files.readString(stampPath).trim().equals(sourceStamp)) {
+                return true;
+            }
+        } catch (IOException e) {
+            log.debug("최적화 그래프 원본 지문 읽기 실패: {}", e.getMessage());
+        }
+        log.info("저장된 최적화 그래프가 현재 원본 모델과 다릅니다: 다시 최적화합니다. ({})", optimizedPath);
+        return false;
+    }
+
+    /**
+     * 원본 모델 지문 (파일이면 경로에서, jar 내부 리소스면 스트림으로 읽음)
+     */
+    private String sourceStamp(String modelFile, Optional<Path> modelPath) throws IOException {
+        try (InputStream inputStream = modelPath.isPresent()
+                ? Files.newInputStream(modelPath.get())
+                : modelResources.resolve(modelFile).getInputStream()) {
+            return ModelArtifact.stamp(inputStream);
+        }
+    }
+
+    private static Path stampPath(Path optimizedPath) {
+        return optimizedPath.resolveSibling(optimizedPath.getFileName() + SOURCE_STAMP_SUFFIX);
+    }
+
+    private static byte[] readAllBytes(Resource resource) throws IOException {
+        try (InputStream inputStream = resource.getInputStream()) {
+            return inputStream.readAllBytes();
+        }
+    }
+
+    @FunctionalInterface
+    private interface SessionLoader {
+        OrtSession load(OrtSession.SessionOptions opts) throws OrtException;
+    }
+}
@@ -0,0 +1,319 @@
+package com.example.emotiondiary.service;
+
+import com.example.emotiondiary.config.InferenceProperties;
+import com.example.emotiondiary.entity.Diary;
+import com.example.emotiondiary.entity.ReanalysisRun;
+import com.example.emotiondiary.entity.SentimentAnalysis;
+import com.example.emotiondiary.repository.DiaryRepository;
+import com.example.emotiondiary.repository.ReanalysisRunRepository;
+import com.example.emotiondiary.repository.SentimentAnalysisBatchRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 모델 교체 후 전체 일기 재분석
+ * diary_id 키셋 페이지 단위로 읽어 일괄 추론 → JDBC 배치 upsert → 체크포인트 저장을 반복하며,
+ * 초당 처리 건수를 제한해 사용자 요청의 추론 자원을 남김
+ * 한 번에 하나의 실행만 전용 스레드에서 진행
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ReanalysisService {
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    // 모델 결과가 아닌 응답(모델 미로드, 추론 시간 초과, 대기 큐 초과)이 섞인 페이지의 최대 시도 횟수
+    private static final int MAX_PAGE_ATTEMPTS = 3;
+
+    private final DiaryRepository diaryRepository;
+    private final ReanalysisRunRepository reanalysisRunRepository;
+    private final SentimentAnalysisBatchRepository sentimentAnalysisBatchRepository;
+    private final EmotionAnalysisService emotionAnalysisService;
+    private final InferenceProperties inferenceProperties;
+
+    private final ExecutorService runner = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "emotion-reanalysis");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // 현재 실행 상태 (진행률/속도 보고용)
+    private volatile ReanalysisRun current;
+    private volatile boolean stopRequested;
+    private volatile long sessionStartNanos;
+    private volatile long sessionStartProcessed;
+
+    /**
+     * 기동 시 자동 재분석 (새 모델 버전이면 시작, 중단된 실행이면 체크포인트부터 재개)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void autoStart() {
+        if (!inferenceProperties.getReanalysis().isAutoStart() || !emotionAnalysisService.isModelLoaded()) {
+            return;
+        }
+        Optional<ReanalysisRun> latest = reanalysisRunRepository
+                .findTopByModelVersionOrderByRunIdDesc(emotionAnalysisService.getModelVersion());
+        if (latest.isPresent() && latest.get().getStatus() == ReanalysisRun.Status.DONE) {
+            return;
+        }
+        log.info("새 모델 버전 감지: 전체 일기 재분석을 시작합니다. ({})", emotionAnalysisService.getModelVersion());
+        start(false);
+    }
+
+    /**
+     * 재분석 시작 (현재 모델 버전의 미완료 실행이 있으면 이어서, restart면 처음부터)
+     *
+     * @return 현재 상태
+     */
+    public synchronized Map<String, Object> start(boolean restart) {
+        if (current != null) {
+            return status();
+        }
+        if (!emotionAnalysisService.isModelLoaded()) {
+            throw new IllegalStateException("감정 분석 모델이 로드되지 않아 재분석할 수 없습니다.");
+        }
+
+        String modelVersion = emotionAnalysisService.getModelVersion();
+        ReanalysisRun run = reanalysisRunRepository.findTopByModelVersionOrderByRunIdDesc(modelVersion)
+                .filter(previous -> !restart && previous.getStatus() != ReanalysisRun.Status.DONE)
+                .orElseGet(() -> ReanalysisRun.builder().modelVersion(modelVersion).build());
+
+        run.setStatus(ReanalysisRun.Status.RUNNING);
+        run.setLastError(null);
+        run.setFinishedAt(null);
+        run.setTotal(run.getProcessed() + diaryRepository.countByDiaryIdGreaterThan(run.getLastDiaryId()));
+        run = reanalysisRunRepository.save(run);
+
+        current = run;
+        stopRequested = false;
+        sessionStartNanos = System.nanoTime();
+        sessionStartProcessed = run.getProcessed();
+        ReanalysisRun started = run;
+        runner.execute(() -> execute(started));
+
+        log.info("✅ 재분석 {} (실행 {}, 체크포인트 diary_id > {}, 대상 {}건)",
+                started.getProcessed() > 0 ? "재개" : "시작", started.getRunId(),
+                started.getLastDiaryId(), started.getTotal() - started.getProcessed());
+        return status();
+    }
+
+    /**
+     * 재분석 중지 요청 (현재 페이지까지 저장 후 PAUSED)
+     */
+    public Map<String, Object> stop() {
+        stopRequested = true;
+        return status();
+    }
+
+    /**
+     * 진행 상태 (처리 건수, 초당 처리 건수, 남은 예상 시간)
+     */
+    public Map<String, Object> status() {
+        ReanalysisRun run = current;
+        boolean running = run != null;
+        if (run == null) {
+            run = reanalysisRunRepository.findTopByOrderByRunIdDesc().orElse(null);
+        }
+
+        Map<String, Object> status = new HashMap<>();
+        status.put("running", running);
+        if (run == null) {
+            return status;
+        }
+        status.put("runId", run.getRunId());
+        status.put("modelVersion", run.getModelVersion());
+        status.put("status", run.getStatus().name().toLowerCase());
+        status.put("processed", run.getProcessed());
+        status.put("total", run.getTotal());
+        status.put("lastDiaryId", run.getLastDiaryId());
+        if (run.getLastError() != null) {
+            status.put("error", run.getLastError());
+        }
+        if (running) {
+            double rowsPerSecond = rowsPerSecond(run);
+            status.put("rowsPerSecond", Math.round(rowsPerSecond * 10) / 10.0);
+            long remaining = Math.max(0, run.getTotal() - run.getProcessed());
+            status.put("etaSeconds", rowsPerSecond > 0 ? Math.round(remaining / rowsPerSecond) : null);
+        }
+        return status;
+    }
+
+    private void execute(ReanalysisRun run) {
+        InferenceProperties.Reanalysis settings = inferenceProperties.getReanalysis();
+        int pageSize = Math.max(1, settings.getPageSize());
+        String pauseReason = null;
+
+        try {
+            while (!stopRequested) {
+                List<DiaryRepository.DiaryContent> page =
+                        diaryRepository.findContentAfter(run.getLastDiaryId(), PageRequest.of(0, pageSize));
+                if (page.isEmpty()) {
+                    break;
+                }
+
+                // 일괄 추론 (입력 순서대로 결과 반환)
+                List<String> texts = new ArrayList<>(page.size());
+                for (DiaryRepository.DiaryContent diary : page) {
+                    texts.add(diary.getContent());
+                }
+                List<EmotionPrediction> predictions = analyzePage(texts);
+                if (predictions == null) {
+                    // 키워드 결과를 새 모델 점수로 저장하지 않도록 체크포인트를 옮기지 않고 멈춤 (재개 시 이 페이지부터)
+                    if (!stopRequested) {
+                        pauseReason = "모델 추론 결과를 얻지 못해 diary_id " + run.getLastDiaryId() + " 이후 페이지에서 중지했습니다.";
+                    }
+                    break;
+                }
+
+                // 배치 upsert 후 체크포인트 저장 (upsert는 멱등이므로 그 사이 중단되면 해당 페이지만 다시 처리)
+                List<SentimentAnalysis> analyses = new ArrayList<>(page.size());
+                for (int i = 0; i < page.size(); i++) {
+                    analyses.add(SentimentAnalysis.builder()
+                            .diary(Diary.builder().diaryId(page.get(i).getDiaryId()).build())
+                            .emotion(predictions.get(i).getEmotion())
+                            .confidence(predictions.get(i).getConfidence())
+                            .build());
+                }
+                sentimentAnalysisBatchRepository.upsertAll(analyses);
+
+                run.setLastDiaryId(page.get(page.size() - 1).getDiaryId());
+                run.setProcessed(run.getProcessed() + page.size());
+                run.setTotal(Math.max(run.getTotal(), run.getProcessed()));
+                run = reanalysisRunRepository.save(run);
+                current = run;
+
+                double rowsPerSecond = rowsPerSecond(run);
+                long remaining = Math.max(0, run.getTotal() - run.getProcessed());
+                log.info("재분석 진행: {}/{} ({} rows/s, 남은 시간 약 {}초)", run.getProcessed(), run.getTotal(),
+                        String.format("%.1f", rowsPerSecond),
+                        rowsPerSecond > 0 ? Math.round(remaining / rowsPerSecond) : "?");
+
+                throttle(run, settings.getMaxRowsPerSecond());
+            }
+
+            boolean paused = stopRequested || pauseReason != null;
+            run.setStatus(paused ? ReanalysisRun.Status.PAUSED : ReanalysisRun.Status.DONE);
+            run.setLastError(pauseReason);
+            if (!paused) {
+                run.setFinishedAt(LocalDateTime.now());
+            }
+            reanalysisRunRepository.save(run);
+            if (pauseReason != null) {
+                log.warn("⚠️ 재분석 중지: {} ({}건 처리, 실행 {})", pauseReason, run.getProcessed(), run.getRunId());
+            } else {
+                log.info("✅ 재분석 {}: {}건 처리 (실행 {})",
+                        stopRequested ? "중지" : "완료", run.getProcessed(), run.getRunId());
+            }
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            savePaused(run);
+        } catch (Exception e) {
+            log.error("❌ 재분석 실패 (체크포인트 diary_id {}): {}", run.getLastDiaryId(), e.getMessage(), e);
+            run.setStatus(ReanalysisRun.Status.FAILED);
+            String error = e.getMessage();
+            run.setLastError(error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+            try {
+                reanalysisRunRepository.save(run);
+            } catch (Exception saveFailure) {
+                log.warn("⚠️ 재분석 상태 저장 실패: {}", saveFailure.getMessage());
+            }
+        } finally {
+            current = null;
+        }
+    }
+
+    /**
+     * 한 페이지 일괄 추론
+     * 모델 결과가 아닌 응답(키워드 대체)이 섞이면 잠시 기다렸다가 해당 항목만 다시 추론하며,
+     * 빈 본문은 모델을 거치지 않으므로 제외
+     *
+     * @return MAX_PAGE_ATTEMPTS번 시도 후에도 모델 결과가 아닌 응답이 남으면 null
+     */
+    private List<EmotionPrediction> analyzePage(List<String> texts) throws InterruptedException {
+        List<EmotionPrediction> predictions = new ArrayList<>(emotionAnalysisService.analyzeAll(texts));
+        for (int attempt = 1; ; attempt++) {
+            List<Integer> fallbacks = new ArrayList<>();
+            for (int i = 0; i < texts.size(); i++) {
+                String text = texts.get(i);
+                if (!predictions.get(i).isModelBased() && text != null && !text.trim().isEmpty()) {
+                    fallbacks.add(i);
+                }
+            }
+            if (fallbacks.isEmpty()) {
+                return predictions;
+            }
+            if (attempt >= MAX_PAGE_ATTEMPTS || stopRequested) {
+                return null;
+            }
+            log.warn("⚠️ 재분석 페이지에 모델 결과가 아닌 응답 {}건: {}초 후 다시 시도 ({}/{})",
+                    fallbacks.size(), attempt, attempt, MAX_PAGE_ATTEMPTS);
+            TimeUnit.SECONDS.sleep(attempt);
+
+            List<String> retryTexts = new ArrayList<>(fallbacks.size());
+            for (int index : fallbacks) {
+                retryTexts.add(texts.get(index));
+            }
+            List<EmotionPrediction> retried = emotionAnalysisService.analyzeAll(retryTexts);
+            for (int i = 0; i < fallbacks.size(); i++) {
+                predictions.set(fallbacks.get(i), retried.get(i));
+            }
+        }
+    }
+
+    /**
+     * 이번 실행(재개 시점 기준) 처리량이 초당 maxRowsPerSecond를 넘지 않도록 대기
+     */
+    private void throttle(ReanalysisRun run, double maxRowsPerSecond) throws InterruptedException {
+        if (maxRowsPerSecond <= 0) {
+            return;
+        }
+        long processed = run.getProcessed() - sessionStartProcessed;
+        long expectedNanos = (long) (processed / maxRowsPerSecond * 1_000_000_000L);
+        long aheadNanos = expectedNanos - (System.nanoTime() - sessionStartNanos);
+        if (aheadNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(aheadNanos);
+        }
+    }
+
+    private double rowsPerSecond(ReanalysisRun run) {
+        double elapsedSeconds = (System.nanoTime() - sessionStartNanos) / 1_000_000_000.0;
+        long processed = run.getProcessed() - sessionStartProcessed;
+        return elapsedSeconds > 0 ? processed / elapsedSeconds : 0;
+    }
+
+    private void savePaused(ReanalysisRun run) {
+        try {
+            run.setStatus(ReanalysisRun.Status.PAUSED);
+            reanalysisRunRepository.save(run);
+        } catch (Exception e) {
+            log.warn("⚠️ 재분석 상태 저장 실패: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        // 진행 중인 페이지까지 저장하고 멈춤 (다음 기동 시 체크포인트부터 재개)
+        stopRequested = true;
+        runner.shutdown();
+        if (!runner.awaitTermination(10, TimeUnit.SECONDS)) {
+            runner.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.emotiondiary.service;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 참조 수 기반 해제 (LoadedModel 수명 관리)
+ * 생성 시 공개 참조 1개를 가지고, 참조 수가 0이 되는 순간 onClose를 한 번만 실행하며 이후 retain은 실패
+ */
+final class ReferenceCount {
+
+    // 공개 참조(1) + 사용 중인 요청 수, 0이 되면 닫힘
+    private final AtomicInteger refs = new AtomicInteger(1);
+    private final Runnable onClose;
+
+    ReferenceCount(Runnable onClose) {
+        this.onClose = onClose;
+    }
+
+    /**
+     * 사용 참조 획득 (이미 닫혔으면 false)
+     */
+    boolean retain() {
+        while (true) {
+            int count = refs.get();
+            if (count == 0) {
+                return false;
+            }
+            if (refs.compareAndSet(count, count + 1)) {
+                return true;
+            }
+        }
+    }
+
+    void release() {
+        if (refs.decrementAndGet() == 0) {
+            onClose.run();
+        }
+    }
+}
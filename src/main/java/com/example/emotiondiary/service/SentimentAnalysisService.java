@@ -8,6 +8,9 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.YearMonth;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -17,6 +20,7 @@ public class SentimentAnalysisService {
     
     private final SentimentAnalysisRepository sentimentAnalysisRepository;
     private final DiaryRepository diaryRepository;
+    private final EmotionRollupService emotionRollupService;
     
     /**
      * 일기 ID로 감정 분석 결과 조회
@@ -25,6 +29,30 @@ public class SentimentAnalysisService {
         return sentimentAnalysisRepository.findByDiaryDiaryId(diaryId);
     }
     
+    /**
+     * 사용자 전체 기간 감정별 일기 수 (소문자 감정 이름 → 개수, 모든 감정 포함)
+     * 월별 감정 집계에서 읽음
+     */
+    public Map<String, Long> countByEmotion(Long userId) {
+        return toCounts(emotionRollupService.countByEmotion(userId));
+    }
+    
+    /**
+     * 사용자 한 달 감정별 일기 수 (소문자 감정 이름 → 개수, 모든 감정 포함)
+     * 월별 감정 집계에서 읽음
+     */
+    public Map<String, Long> countByEmotion(Long userId, int year, int month) {
+        return toCounts(emotionRollupService.countByEmotion(userId, YearMonth.of(year, month)));
+    }
+    
+    private static Map<String, Long> toCounts(Map<SentimentAnalysis.Emotion, Long> rollup) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (SentimentAnalysis.Emotion emotion : SentimentAnalysis.Emotion.values()) {
+            counts.put(emotion.name().toLowerCase(), rollup.getOrDefault(emotion, 0L));
+        }
+        return counts;
+    }
+    
     /**
      * 감정 분석 결과 생성
      */
@@ -36,7 +64,9 @@ public class SentimentAnalysisService {
                     .orElseThrow(() -> new IllegalArgumentException("일기를 찾을 수 없습니다. ID: " + sentimentAnalysis.getDiary().getDiaryId()));
             sentimentAnalysis.setDiary(diary);
         }
-        return sentimentAnalysisRepository.save(sentimentAnalysis);
+        SentimentAnalysis saved = sentimentAnalysisRepository.save(sentimentAnalysis);
+        emotionRollupService.added(saved);
+        return saved;
     }
     
     /**
@@ -48,19 +78,25 @@ public class SentimentAnalysisService {
         
         if (existing.isPresent()) {
             SentimentAnalysis sentimentAnalysis = existing.get();
+            SentimentAnalysis.Emotion previousEmotion = sentimentAnalysis.getEmotion();
+            Float previousConfidence = sentimentAnalysis.getConfidence();
             if (updatedAnalysis.getEmotion() != null) {
                 sentimentAnalysis.setEmotion(updatedAnalysis.getEmotion());
             }
             if (updatedAnalysis.getConfidence() != null) {
                 sentimentAnalysis.setConfidence(updatedAnalysis.getConfidence());
             }
-            return sentimentAnalysisRepository.save(sentimentAnalysis);
+            SentimentAnalysis saved = sentimentAnalysisRepository.save(sentimentAnalysis);
+            emotionRollupService.changed(saved, previousEmotion, previousConfidence);
+            return saved;
         } else {
             // 새로운 감정 분석 결과 생성
             Diary diary = diaryRepository.findById(diaryId)
                     .orElseThrow(() -> new IllegalArgumentException("일기를 찾을 수 없습니다. ID: " + diaryId));
             updatedAnalysis.setDiary(diary);
-            return sentimentAnalysisRepository.save(updatedAnalysis);
+            SentimentAnalysis saved = sentimentAnalysisRepository.save(updatedAnalysis);
+            emotionRollupService.added(saved);
+            return saved;
         }
     }
     
@@ -71,6 +107,7 @@ public class SentimentAnalysisService {
     public void deleteByDiaryId(Long diaryId) {
         Optional<SentimentAnalysis> analysis = sentimentAnalysisRepository.findByDiaryDiaryId(diaryId);
         if (analysis.isPresent()) {
+            emotionRollupService.removed(analysis.get());
             sentimentAnalysisRepository.delete(analysis.get());
         }
     }
@@ -0,0 +1,63 @@
+package com.example.emotiondiary.service;
+
+import com.example.emotiondiary.config.InferenceProperties;
+
+/**
+ * 긴 토큰 시퀀스의 슬라이딩 윈도우 분할과 윈도우별 확률 결합
+ * 모든 윈도우를 같은 길이로 맞춰(마지막 윈도우는 끝에 정렬) 같은 길이 버킷의 한 배치로 실행되도록 함
+ */
+final class SlidingWindows {
+
+    private SlidingWindows() {
+    }
+
+    /**
+     * 윈도우 시작 위치 ([CLS]/[SEP]를 제외한 본문 토큰 기준)
+     *
+     * @param contentLength 본문 토큰 수
+     * @param windowLength  윈도우당 본문 토큰 수
+     * @param overlap       인접 윈도우가 겹치는 토큰 수
+     * @param maxWindows    최대 윈도우 수 (넘는 부분은 잘라냄)
+     */
+    static int[] starts(int contentLength, int windowLength, int overlap, int maxWindows) {
+        if (contentLength <= windowLength) {
+            return new int[]{0};
+        }
+        int stride = Math.max(1, windowLength - Math.max(0, overlap));
+        int needed = (contentLength - windowLength + stride - 1) / stride + 1;
+        int count = Math.max(1, Math.min(needed, maxWindows));
+
+        int[] starts = new int[count];
+        for (int i = 0; i < count; i++) {
+            starts[i] = i * stride;
+        }
+        // 마지막 윈도우는 본문 끝에 맞춰 길이를 채움 (윈도우 수 제한으로 잘리는 경우는 그대로)
+        starts[count - 1] = Math.min(starts[count - 1], contentLength - windowLength);
+        return starts;
+    }
+
+    /**
+     * 윈도우별 softmax 확률 결합
+     * MEAN은 단순 평균, CONFIDENCE_WEIGHTED는 윈도우별 최대 확률을 가중치로 한 가중 평균
+     */
+    static float[] aggregate(float[][] probabilities, InferenceProperties.Aggregation aggregation) {
+        if (probabilities.length == 1) {
+            return probabilities[0];
+        }
+        float[] combined = new float[probabilities[0].length];
+        float totalWeight = 0.0f;
+        for (float[] window : probabilities) {
+            float weight = aggregation == InferenceProperties.Aggregation.CONFIDENCE_WEIGHTED
+                    ? window[Logits.findMaxIndex(window)]
+                    : 1.0f;
+            for (int i = 0; i < combined.length; i++) {
+                combined[i] += weight * window[i];
+            }
+            totalWeight += weight;
+        }
+        for (int i = 0; i < combined.length; i++) {
+            combined[i] /= totalWeight;
+        }
+        return combined;
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.emotiondiary.service;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.LongBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * 배치 추론용 버퍼 풀
+ * 버킷별 input_ids/attention_mask([maxBatchSize * 버킷 길이])와 logits([maxBatchSize * numLabels])를
+ * native 바이트 순서의 direct 버퍼로 한 번만 할당해 재사용 (ONNX Runtime이 복사 없이 텐서로 사용)
+ * 텐서 버퍼는 배치 워커 스레드 전용이며, 요청별 토큰 ID 버퍼(IdBuffer)는 스레드 간에 빌려주고 회수
+ */
+class TensorBufferPool {
+
+    private final LengthBuckets buckets;
+    private final int maxBatchSize;
+    private final int numLabels;
+    private final int idBufferCapacity;
+
+    private final LongBuffer[] inputIds;
+    private final LongBuffer[] attentionMasks;
+    private final FloatBuffer logits;
+    private final BlockingQueue<IdBuffer> idBuffers;
+
+    TensorBufferPool(LengthBuckets buckets, int maxBatchSize, int numLabels, int idBufferPoolSize) {
+        this.buckets = buckets;
+        this.maxBatchSize = maxBatchSize;
+        this.numLabels = numLabels;
+        this.idBufferCapacity = buckets.maxLength();
+        this.inputIds = new LongBuffer[buckets.count()];
+        this.attentionMasks = new LongBuffer[buckets.count()];
+        this.logits = allocateFloats(maxBatchSize * numLabels);
+        this.idBuffers = new ArrayBlockingQueue<>(Math.max(1, idBufferPoolSize));
+    }
+
+    /**
+     * 버킷의 input_ids 버퍼 ([batchSize * 버킷 길이]만큼 limit 설정)
+     */
+    LongBuffer inputIds(int bucketIndex, int batchSize) {
+        if (inputIds[bucketIndex] == null) {
+            inputIds[bucketIndex] = allocateLongs(maxBatchSize * buckets.size(bucketIndex));
+        }
+        return limit(inputIds[bucketIndex], batchSize * buckets.size(bucketIndex));
+    }
+
+    /**
+     * 버킷의 attention_mask 버퍼 ([batchSize * 버킷 길이]만큼 limit 설정)
+     */
+    LongBuffer attentionMask(int bucketIndex, int batchSize) {
+        if (attentionMasks[bucketIndex] == null) {
+            attentionMasks[bucketIndex] = allocateLongs(maxBatchSize * buckets.size(bucketIndex));
+        }
+        return limit(attentionMasks[bucketIndex], batchSize * buckets.size(bucketIndex));
+    }
+
+    /**
+     * 출력 logits 버퍼 ([batchSize * numLabels]만큼 limit 설정)
+     */
+    FloatBuffer logits(int batchSize) {
+        logits.clear();
+        logits.limit(batchSize * numLabels);
+        return logits;
+    }
+
+    int numLabels() {
+        return numLabels;
+    }
+
+    /**
+     * 요청용 토큰 ID 버퍼 대여 (풀이 비어 있으면 새로 생성)
+     */
+    IdBuffer acquireIdBuffer() {
+        IdBuffer buffer = idBuffers.poll();
+        return buffer != null ? buffer : new IdBuffer(idBufferCapacity);
+    }
+
+    /**
+     * 토큰 ID 버퍼 반납 (풀이 가득 차 있으면 버림)
+     */
+    void releaseIdBuffer(IdBuffer buffer) {
+        buffer.clear();
+        idBuffers.offer(buffer);
+    }
+
+    private static LongBuffer limit(LongBuffer buffer, int length) {
+        buffer.clear();
+        buffer.limit(length);
+        return buffer;
+    }
+
+    private static LongBuffer allocateLongs(int length) {
+        return ByteBuffer.allocateDirect(length * Long.BYTES).order(ByteOrder.nativeOrder()).asLongBuffer();
+    }
+
+    private static FloatBuffer allocateFloats(int length) {
+        return ByteBuffer.allocateDirect(length * Float.BYTES).order(ByteOrder.nativeOrder()).asFloatBuffer();
+    }
+}
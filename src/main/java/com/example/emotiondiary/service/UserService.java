@@ -14,6 +14,7 @@ import java.util.Optional;
 public class UserService {
     
     private final UserRepository userRepository;
+    private final EmotionRollupService emotionRollupService;
     
     /**
      * 사용자 ID로 조회
@@ -59,6 +60,8 @@ public class UserService {
         if (!userRepository.existsById(userId)) {
             throw new IllegalArgumentException("사용자를 찾을 수 없습니다. ID: " + userId);
         }
+        // 일기는 cascade로 함께 삭제되므로 월별 감정 집계도 사용자 단위로 삭제
+        emotionRollupService.deleteUser(userId);
         userRepository.deleteById(userId);
     }
 }
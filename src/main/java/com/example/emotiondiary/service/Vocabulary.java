@@ -0,0 +1,225 @@
+package com.example.emotiondiary.service;
+
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+/**
+ * 압축된 vocab 저장소
+ * 모든 토큰 문자를 하나의 char 풀에 이어 붙이고 ID별 시작 오프셋만 보관하며,
+ * 토큰 → ID 조회는 int ID만 담는 오픈 어드레싱 해시 테이블로 수행 (박싱/엔트리 객체 없음)
+ * 저장 영역은 버퍼이므로 model.bin을 메모리 매핑한 영역을 복사 없이 그대로 사용할 수 있음
+ */
+public class Vocabulary {
+
+    private static final int EMPTY = -1;
+
+    private final CharBuffer pool;
+    private final IntBuffer offsets;
+    private final IntBuffer table;
+    private final int mask;
+    private final int size;
+
+    private Vocabulary(CharBuffer pool, IntBuffer offsets, IntBuffer table, int size) {
+        this.pool = pool;
+        this.offsets = offsets;
+        this.table = table;
+        this.mask = table.capacity() - 1;
+        this.size = size;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * vocab.txt 형식 (한 줄에 토큰 하나, 앞뒤 공백 제거, 빈 줄 제외)을 읽어 구성
+     */
+    public static Vocabulary read(BufferedReader reader) throws IOException {
+        Builder builder = builder();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            line = line.trim();
+            if (!line.isEmpty()) {
+                builder.add(line);
+            }
+        }
+        return builder.build();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 토큰의 ID (없으면 defaultId)
+     */
+    public int getOrDefault(CharSequence token, int defaultId) {
+        int id = idOf(token, 0, token.length());
+        return id >= 0 ? id : defaultId;
+    }
+
+    public boolean contains(CharSequence token) {
+        return idOf(token, 0, token.length()) >= 0;
+    }
+
+    /**
+     * text[start, end) 구간 토큰의 ID (없으면 -1)
+     */
+    public int idOf(CharSequence text, int start, int end) {
+        int h = 0;
+        for (int i = start; i < end; i++) {
+            h = 31 * h + text.charAt(i);
+        }
+        int slot = mix(h) & mask;
+        while (true) {
+            int id = table.get(slot);
+            if (id == EMPTY) {
+                return -1;
+            }
+            if (equalsToken(id, text, start, end)) {
+                return id;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * ID → 토큰 (풀에서 바로 잘라냄)
+     */
+    public String token(int id) {
+        int start = offsets.get(id);
+        int end = offsets.get(id + 1);
+        return pool.subSequence(start, end).toString();
+    }
+
+    /**
+     * 대략적인 힙 사용량 (바이트, 메모리 매핑된 경우 0에 가까움)
+     */
+    public long estimatedHeapBytes() {
+        if (pool.isDirect()) {
+            return 0L;
+        }
+        return 16L + pool.capacity() * 2L + 16L + offsets.capacity() * 4L + 16L + table.capacity() * 4L + 40L;
+    }
+
+    /**
+     * 바이너리 아티팩트로 기록 (size, poolLength, tableLength, pool, offsets, table)
+     */
+    public void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(size);
+        out.writeInt(pool.capacity());
+        out.writeInt(table.capacity());
+        for (int i = 0; i < pool.capacity(); i++) {
+            out.writeChar(pool.get(i));
+        }
+        ModelArtifact.align(out, Integer.BYTES);
+        for (int i = 0; i < offsets.capacity(); i++) {
+            out.writeInt(offsets.get(i));
+        }
+        for (int i = 0; i < table.capacity(); i++) {
+            out.writeInt(table.get(i));
+        }
+    }
+
+    /**
+     * writeTo로 기록된 영역을 복사 없이 읽음 (buffer의 position은 영역 끝으로 이동)
+     */
+    public static Vocabulary readFrom(ByteBuffer buffer) {
+        int size = buffer.getInt();
+        int poolLength = buffer.getInt();
+        int tableLength = buffer.getInt();
+        CharBuffer pool = ModelArtifact.slice(buffer, poolLength * Character.BYTES).asCharBuffer();
+        ModelArtifact.align(buffer, Integer.BYTES);
+        IntBuffer offsets = ModelArtifact.slice(buffer, (size + 1) * Integer.BYTES).asIntBuffer();
+        IntBuffer table = ModelArtifact.slice(buffer, tableLength * Integer.BYTES).asIntBuffer();
+        return new Vocabulary(pool, offsets, table, size);
+    }
+
+    private boolean equalsToken(int id, CharSequence text, int start, int end) {
+        int tokenStart = offsets.get(id);
+        int length = offsets.get(id + 1) - tokenStart;
+        if (length != end - start) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (pool.get(tokenStart + i) != text.charAt(start + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        return h;
+    }
+
+    /**
+     * vocab.txt 줄 순서대로 토큰을 추가하는 빌더 (추가 순서가 곧 ID)
+     */
+    public static class Builder {
+
+        private char[] pool = new char[1 << 16];
+        private int poolLength;
+        private int[] offsets = new int[1 << 12];
+        private int size;
+
+        public Builder add(String token) {
+            if (poolLength + token.length() > pool.length) {
+                pool = Arrays.copyOf(pool, Math.max(pool.length * 2, poolLength + token.length()));
+            }
+            if (size + 2 > offsets.length) {
+                offsets = Arrays.copyOf(offsets, offsets.length * 2);
+            }
+            token.getChars(0, token.length(), pool, poolLength);
+            offsets[size] = poolLength;
+            poolLength += token.length();
+            size++;
+            offsets[size] = poolLength;
+            return this;
+        }
+
+        public Vocabulary build() {
+            char[] finalPool = Arrays.copyOf(pool, poolLength);
+            int[] finalOffsets = Arrays.copyOf(offsets, size + 1);
+
+            int capacity = Integer.highestOneBit(Math.max(2, size * 2 - 1)) << 1;
+            int tableMask = capacity - 1;
+            int[] table = new int[capacity];
+            Arrays.fill(table, EMPTY);
+
+            for (int id = 0; id < size; id++) {
+                int start = finalOffsets[id];
+                int end = finalOffsets[id + 1];
+                int h = 0;
+                for (int i = start; i < end; i++) {
+                    h = 31 * h + finalPool[i];
+                }
+                int slot = mix(h) & tableMask;
+                while (true) {
+                    int existing = table[slot];
+                    if (existing == EMPTY) {
+                        table[slot] = id;
+                        break;
+                    }
+                    int existingStart = finalOffsets[existing];
+                    int existingEnd = finalOffsets[existing + 1];
+                    if (Arrays.equals(finalPool, existingStart, existingEnd, finalPool, start, end)) {
+                        table[slot] = id; // 중복 토큰은 나중 ID가 우선
+                        break;
+                    }
+                    slot = (slot + 1) & tableMask;
+                }
+            }
+
+            return new Vocabulary(CharBuffer.wrap(finalPool), IntBuffer.wrap(finalOffsets), IntBuffer.wrap(table), size);
+        }
+    }
+}
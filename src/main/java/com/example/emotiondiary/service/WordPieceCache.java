@@ -0,0 +1,112 @@
+package com.example.emotiondiary.service;
+
+import com.example.emotiondiary.config.InferenceProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * 단어 → WordPiece ID 캐시 (기본 토크나이징과 WordPiece 사이)
+ * 일기에는 같은 단어가 반복되므로 한 번 분해한 결과를 재사용
+ * 크기는 항목 수가 아니라 보관 중인 ID 합계로 제한 (긴 단어일수록 많은 몫을 차지)
+ * vocab별로 만들어지므로 모델 재로드 시 새 토크나이저와 함께 교체됨
+ * 조회는 입력 텍스트의 문자 범위를 그대로 가리키는 스레드별 키로 하므로 캐시 적중 시 단어 문자열을 만들지 않음
+ */
+final class WordPieceCache {
+
+    private final WordPieceTrie trie;
+    private final int maxWordLength;
+    private final Cache<WordKey, int[]> cache;
+    private final ThreadLocal<WordKey> probe = ThreadLocal.withInitial(WordKey::new);
+
+    WordPieceCache(WordPieceTrie trie, InferenceProperties.Tokenizer settings) {
+        this.trie = trie;
+        this.maxWordLength = settings.getWordCacheMaxWordLength();
+        this.cache = settings.getWordCacheMaxIds() > 0
+                ? Caffeine.newBuilder()
+                        .maximumWeight(settings.getWordCacheMaxIds())
+                        .weigher((WordKey word, int[] ids) -> ids.length)
+                        .build()
+                : null;
+    }
+
+    /**
+     * 단어 하나(text[start, end))의 WordPiece ID를 out에 추가 (WordPieceTrie.tokenize와 같은 결과)
+     */
+    void tokenize(CharSequence text, int start, int end, IdBuffer out) {
+        if (cache == null || end - start > maxWordLength) {
+            trie.tokenize(text, start, end, out);
+            return;
+        }
+
+        WordKey lookup = probe.get().set(text, start, end);
+        int[] ids = cache.getIfPresent(lookup);
+        // 요청 텍스트를 스레드에 붙잡아 두지 않음
+        lookup.text = null;
+        if (ids == null) {
+            int from = out.size();
+            trie.tokenize(text, start, end, out);
+            ids = new int[out.size() - from];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = out.get(from + i);
+            }
+            // 캐시에는 단어 문자열을 소유한 키만 넣음 (조회용 키는 다음 조회에서 바뀜)
+            String word = text.subSequence(start, end).toString();
+            cache.put(new WordKey().set(word, 0, word.length()), ids);
+            return;
+        }
+        for (int id : ids) {
+            out.add(id);
+        }
+    }
+
+    /**
+     * 캐시된 단어 수 (근사값)
+     */
+    long size() {
+        return cache == null ? 0 : cache.estimatedSize();
+    }
+
+    /**
+     * 캐시 키: 문자 범위 text[start, end) (같은 문자열이면 같은 키)
+     */
+    private static final class WordKey {
+
+        private CharSequence text;
+        private int start;
+        private int end;
+        private int hash;
+
+        WordKey set(CharSequence text, int start, int end) {
+            this.text = text;
+            this.start = start;
+            this.end = end;
+            int h = 0;
+            for (int i = start; i < end; i++) {
+                h = 31 * h + text.charAt(i);
+            }
+            this.hash = h;
+            return this;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof WordKey other) || hash != other.hash || end - start != other.end - other.start) {
+                return false;
+            }
+            for (int i = 0; i < end - start; i++) {
+                if (text.charAt(start + i) != other.text.charAt(other.start + i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
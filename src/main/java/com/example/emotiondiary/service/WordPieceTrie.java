@@ -0,0 +1,284 @@
+package com.example.emotiondiary.service;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.Arrays;
+
+/**
+ * 접두사 트라이 기반 WordPiece 토크나이저
+ * 단어 시작 조각용 루트와 "##" 이어지는 조각용 루트를 따로 두고,
+ * 단어의 코드 포인트를 한 번씩만 따라가며 가장 긴 조각의 ID를 버퍼에 기록 (문자열 생성 없음)
+ * 노드/간선 테이블은 버퍼이므로 model.bin을 메모리 매핑한 영역을 그대로 사용할 수 있음
+ */
+public class WordPieceTrie {
+
+    private static final String SUBWORD_PREFIX = "##";
+    private static final int NO_NODE = -1;
+    private static final long EMPTY_KEY = -1L;
+    private static final int WORD_ROOT = 0;
+    private static final int SUBWORD_ROOT = 1;
+
+    private final int unkTokenId;
+
+    // 노드별 토큰 ID (조각의 끝이 아니면 -1)
+    private final IntBuffer nodeTokenIds;
+
+    // (부모 노드, 코드 포인트) → 자식 노드 오픈 어드레싱 테이블
+    private final LongBuffer edgeKeys;
+    private final IntBuffer edgeChildren;
+    private final int edgeMask;
+
+    private WordPieceTrie(int unkTokenId, IntBuffer nodeTokenIds, LongBuffer edgeKeys, IntBuffer edgeChildren) {
+        this.unkTokenId = unkTokenId;
+        this.nodeTokenIds = nodeTokenIds;
+        this.edgeKeys = edgeKeys;
+        this.edgeChildren = edgeChildren;
+        this.edgeMask = edgeKeys.capacity() - 1;
+    }
+
+    public static Builder builder(int unkTokenId) {
+        return new Builder(unkTokenId);
+    }
+
+    /**
+     * vocab 전체로 트라이 구성 (ID 순서대로 넣어 중복 토큰은 나중 ID가 우선)
+     */
+    public static WordPieceTrie fromVocabulary(Vocabulary vocabulary, String unkToken) {
+        Builder builder = builder(vocabulary.getOrDefault(unkToken, 0));
+        for (int id = 0; id < vocabulary.size(); id++) {
+            builder.insert(vocabulary.token(id), id);
+        }
+        return builder.build();
+    }
+
+    /**
+     * 단어 하나(text[start, end))를 WordPiece ID로 변환해 out에 추가
+     * 가장 긴 조각부터 탐욕적으로 매칭하며, 더 이상 매칭되지 않으면 [UNK]를 추가하고 종료
+     */
+    public void tokenize(CharSequence text, int start, int end, IdBuffer out) {
+        if (start >= end) {
+            out.add(unkTokenId);
+            return;
+        }
+
+        int position = start;
+        while (position < end) {
+            int node = position == start ? WORD_ROOT : SUBWORD_ROOT;
+            int matchedId = -1;
+            int matchedEnd = position;
+
+            int i = position;
+            while (i < end) {
+                int codePoint = codePointAt(text, i, end);
+                node = child(node, codePoint);
+                if (node == NO_NODE) {
+                    break;
+                }
+                i += Character.charCount(codePoint);
+                int tokenId = nodeTokenIds.get(node);
+                if (tokenId >= 0) {
+                    matchedId = tokenId;
+                    matchedEnd = i;
+                }
+            }
+
+            if (matchedId < 0) {
+                out.add(unkTokenId);
+                return;
+            }
+            out.add(matchedId);
+            position = matchedEnd;
+        }
+    }
+
+    public int nodeCount() {
+        return nodeTokenIds.capacity();
+    }
+
+    /**
+     * 바이너리 아티팩트로 기록 (unkTokenId, nodeCount, edgeTableLength, nodeTokenIds, edgeKeys, edgeChildren)
+     */
+    public void writeTo(DataOutputStream out) throws IOException {
+        out.writeInt(unkTokenId);
+        out.writeInt(nodeTokenIds.capacity());
+        out.writeInt(edgeKeys.capacity());
+        for (int i = 0; i < nodeTokenIds.capacity(); i++) {
+            out.writeInt(nodeTokenIds.get(i));
+        }
+        ModelArtifact.align(out, Long.BYTES);
+        for (int i = 0; i < edgeKeys.capacity(); i++) {
+            out.writeLong(edgeKeys.get(i));
+        }
+        for (int i = 0; i < edgeChildren.capacity(); i++) {
+            out.writeInt(edgeChildren.get(i));
+        }
+    }
+
+    /**
+     * writeTo로 기록된 영역을 복사 없이 읽음 (buffer의 position은 영역 끝으로 이동)
+     */
+    public static WordPieceTrie readFrom(ByteBuffer buffer) {
+        int unkTokenId = buffer.getInt();
+        int nodeCount = buffer.getInt();
+        int edgeTableLength = buffer.getInt();
+        IntBuffer nodeTokenIds = ModelArtifact.slice(buffer, nodeCount * Integer.BYTES).asIntBuffer();
+        ModelArtifact.align(buffer, Long.BYTES);
+        LongBuffer edgeKeys = ModelArtifact.slice(buffer, edgeTableLength * Long.BYTES).asLongBuffer();
+        IntBuffer edgeChildren = ModelArtifact.slice(buffer, edgeTableLength * Integer.BYTES).asIntBuffer();
+        return new WordPieceTrie(unkTokenId, nodeTokenIds, edgeKeys, edgeChildren);
+    }
+
+    private static int codePointAt(CharSequence text, int index, int end) {
+        char high = text.charAt(index);
+        if (Character.isHighSurrogate(high) && index + 1 < end) {
+            char low = text.charAt(index + 1);
+            if (Character.isLowSurrogate(low)) {
+                return Character.toCodePoint(high, low);
+            }
+        }
+        return high;
+    }
+
+    private int child(int node, int codePoint) {
+        long key = edgeKey(node, codePoint);
+        int slot = hash(key) & edgeMask;
+        while (true) {
+            long current = edgeKeys.get(slot);
+            if (current == key) {
+                return edgeChildren.get(slot);
+            }
+            if (current == EMPTY_KEY) {
+                return NO_NODE;
+            }
+            slot = (slot + 1) & edgeMask;
+        }
+    }
+
+    private static long edgeKey(int node, int codePoint) {
+        return ((long) node << 32) | (codePoint & 0xFFFFFFFFL);
+    }
+
+    private static int hash(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+
+    /**
+     * 트라이 빌더 (vocab 로드 또는 아티팩트 컴파일 시에만 사용)
+     */
+    public static class Builder {
+
+        private final int unkTokenId;
+        private int[] nodeTokenIds = new int[1024];
+        private int nodeCount;
+        private long[] edgeKeys = new long[1 << 12];
+        private int[] edgeChildren = new int[1 << 12];
+        private int edgeCount;
+
+        private Builder(int unkTokenId) {
+            this.unkTokenId = unkTokenId;
+            Arrays.fill(edgeKeys, EMPTY_KEY);
+            newNode(); // WORD_ROOT
+            newNode(); // SUBWORD_ROOT
+        }
+
+        /**
+         * vocab 토큰 등록
+         * 모든 토큰은 단어 시작 루트에 그대로 등록하고, "##"로 시작하는 토큰은 접두사를 뗀 형태로 이어지는 조각 루트에도 등록
+         */
+        public Builder insert(String token, int tokenId) {
+            insert(WORD_ROOT, token, 0, tokenId);
+            if (token.startsWith(SUBWORD_PREFIX) && token.length() > SUBWORD_PREFIX.length()) {
+                insert(SUBWORD_ROOT, token, SUBWORD_PREFIX.length(), tokenId);
+            }
+            return this;
+        }
+
+        public WordPieceTrie build() {
+            return new WordPieceTrie(unkTokenId,
+                    IntBuffer.wrap(Arrays.copyOf(nodeTokenIds, nodeCount)),
+                    LongBuffer.wrap(edgeKeys),
+                    IntBuffer.wrap(edgeChildren));
+        }
+
+        private void insert(int root, String token, int start, int tokenId) {
+            int node = root;
+            int i = start;
+            while (i < token.length()) {
+                int codePoint = token.codePointAt(i);
+                int child = child(node, codePoint);
+                if (child == NO_NODE) {
+                    child = newNode();
+                    putEdge(node, codePoint, child);
+                }
+                node = child;
+                i += Character.charCount(codePoint);
+            }
+            // vocab에 같은 토큰이 중복되면 나중 ID가 우선 (HashMap.put과 동일)
+            nodeTokenIds[node] = tokenId;
+        }
+
+        private int newNode() {
+            if (nodeCount == nodeTokenIds.length) {
+                nodeTokenIds = Arrays.copyOf(nodeTokenIds, nodeCount * 2);
+            }
+            nodeTokenIds[nodeCount] = -1;
+            return nodeCount++;
+        }
+
+        private int child(int node, int codePoint) {
+            long key = edgeKey(node, codePoint);
+            int mask = edgeKeys.length - 1;
+            int slot = hash(key) & mask;
+            while (true) {
+                long current = edgeKeys[slot];
+                if (current == key) {
+                    return edgeChildren[slot];
+                }
+                if (current == EMPTY_KEY) {
+                    return NO_NODE;
+                }
+                slot = (slot + 1) & mask;
+            }
+        }
+
+        private void putEdge(int node, int codePoint, int child) {
+            if ((edgeCount + 1) * 2 > edgeKeys.length) {
+                resizeEdges();
+            }
+            long key = edgeKey(node, codePoint);
+            int mask = edgeKeys.length - 1;
+            int slot = hash(key) & mask;
+            while (edgeKeys[slot] != EMPTY_KEY) {
+                slot = (slot + 1) & mask;
+            }
+            edgeKeys[slot] = key;
+            edgeChildren[slot] = child;
+            edgeCount++;
+        }
+
+        private void resizeEdges() {
+            long[] oldKeys = edgeKeys;
+            int[] oldChildren = edgeChildren;
+            edgeKeys = new long[oldKeys.length * 2];
+            edgeChildren = new int[oldKeys.length * 2];
+            int mask = edgeKeys.length - 1;
+            Arrays.fill(edgeKeys, EMPTY_KEY);
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != EMPTY_KEY) {
+                    int slot = hash(oldKeys[i]) & mask;
+                    while (edgeKeys[slot] != EMPTY_KEY) {
+                        slot = (slot + 1) & mask;
+                    }
+                    edgeKeys[slot] = oldKeys[i];
+                    edgeChildren[slot] = oldChildren[i];
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,11 @@
+-- 사용자 월별 감정 집계 (EmotionRollupRepository)
+-- 기본 키 순서를 (user_id, month_start, emotion)으로 고정해야 통계 조회가 기본 키 범위 한 번으로 끝나므로
+-- JPA 자동 생성 대신 여기서 생성 (복합 키 컬럼 순서를 지정할 수 없음)
+CREATE TABLE IF NOT EXISTS user_emotion_monthly (
+    user_id BIGINT NOT NULL,
+    month_start DATE NOT NULL,
+    emotion VARCHAR(20) NOT NULL,
+    diary_count BIGINT NOT NULL,
+    confidence_sum DOUBLE NOT NULL,
+    PRIMARY KEY (user_id, month_start, emotion)
+);
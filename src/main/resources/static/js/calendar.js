@@ -46,7 +46,11 @@ const emotionConfig = {
 };
 
 let currentDate = new Date();
-let diaries = [];
+// 보고 있는 달의 날짜별 요약 (날짜 문자열 → {date, emotion, count, thumbnail}), 감정별 일기 수
+let calendarDays = {};
+let monthlyCounts = {};
+// 선택한 날짜의 일기 목록
+let selectedEntries = [];
 let selectedDate = null;
 let expandedDiaryId = null;
 
@@ -68,37 +72,71 @@ function normalizeImageUrl(imageUrl) {
     return imageUrl.startsWith('/') ? imageUrl : '/' + imageUrl;
 }
 
-async function loadDiaries() {
+// 보고 있는 달의 달력 요약 조회 (그 달 일기만, 날짜마다 한 건)
+async function loadCalendar() {
+    const year = currentDate.getFullYear();
+    const month = currentDate.getMonth() + 1;
+    
     try {
-        const response = await fetch(`${CONTEXT_PATH}/api/diaries`, {
+        const response = await fetch(`${CONTEXT_PATH}/api/calendar/${year}/${month}`, {
             credentials: 'include'
         });
+        const data = response.ok ? await response.json() : null;
         
-        if (response.ok) {
-            diaries = await response.json();
-            renderCalendar();
-            renderMonthlyStats();
+        // 응답을 기다리는 동안 다른 달로 이동했으면 무시
+        if (year !== currentDate.getFullYear() || month !== currentDate.getMonth() + 1) {
+            return;
         }
+        
+        calendarDays = {};
+        monthlyCounts = {};
+        if (data && data.success) {
+            data.days.forEach(day => {
+                calendarDays[day.date] = day;
+            });
+            monthlyCounts = data.counts || {};
+        }
+        renderCalendar();
+        renderMonthlyStats();
+    } catch (error) {
+        console.error('Error loading calendar:', error);
+    }
+}
+
+// 선택한 날짜의 일기 목록 조회
+async function loadEntriesForDate(dateStr) {
+    const [year, month, day] = dateStr.split('-').map(Number);
+    
+    try {
+        const response = await fetch(`${CONTEXT_PATH}/api/calendar/${year}/${month}/${day}`, {
+            credentials: 'include'
+        });
+        const data = response.ok ? await response.json() : null;
+        return data && data.success ? data.diaries : [];
     } catch (error) {
         console.error('Error loading diaries:', error);
+        return [];
+    }
+}
+
+// 일기 본문 조회 (날짜별 목록에는 미리보기만 있으므로 펼칠 때 가져옴, 실패 시 null)
+async function loadDiaryContent(diaryId) {
+    try {
+        const response = await fetch(`${CONTEXT_PATH}/api/diaries/${diaryId}`, {
+            credentials: 'include'
+        });
+        const data = response.ok ? await response.json() : null;
+        return data && data.success && data.diary ? data.diary.content : null;
+    } catch (error) {
+        console.error('Error loading diary:', error);
+        return null;
     }
 }
 
 let pieChart = null;
 
 function renderMonthlyStats() {
-    const year = currentDate.getFullYear();
-    const month = currentDate.getMonth();
-    
-    const monthlyDiaries = diaries.filter(entry => {
-        const entryDate = new Date(entry.date);
-        return entryDate.getFullYear() === year && entryDate.getMonth() === month;
-    });
-    
-    const stats = monthlyDiaries.reduce((acc, entry) => {
-        acc[entry.emotion] = (acc[entry.emotion] || 0) + 1;
-        return acc;
-    }, {});
+    const stats = monthlyCounts;
     
     const total = Object.values(stats).reduce((sum, count) => sum + count, 0);
     
@@ -325,10 +363,11 @@ function renderCalendar() {
     
     for (let day = 1; day <= daysInMonth; day++) {
         const dateStr = `${year}-${String(month + 1).padStart(2, '0')}-${String(day).padStart(2, '0')}`;
-        const emotion = getEmotionForDate(dateStr);
+        const summary = calendarDays[dateStr];
+        const emotion = summary ? summary.emotion : null;
         const isToday = isCurrentMonth && today.getDate() === day;
-        const entries = getEntriesForDate(dateStr);
-        const hasEntries = entries.length > 0;
+        const entryCount = summary ? summary.count : 0;
+        const hasEntries = entryCount > 0;
         const clickableClass = hasEntries ? 'clickable' : '';
         
         calendarHTML += `
@@ -340,8 +379,11 @@ function renderCalendar() {
                         <img src="${emotionConfig[emotion]?.icon || emotionConfig.happy.icon}" alt="${emotionConfig[emotion]?.label || '감정'}" />
                     </div>
                 ` : ''}
-                ${hasEntries && entries.length > 1 ? `
-                    <span class="diary-count">${entries.length}</span>
+                ${summary && summary.thumbnail ? `
+                    <img class="calendar-day-thumbnail" src="${normalizeImageUrl(summary.thumbnail)}" alt="" loading="lazy" />
+                ` : ''}
+                ${entryCount > 1 ? `
+                    <span class="diary-count">${entryCount}</span>
                 ` : ''}
             </div>
         `;
@@ -361,51 +403,18 @@ function renderCalendar() {
     document.getElementById('calendarLegend').innerHTML = legendHTML;
 }
 
-function getEmotionForDate(dateStr) {
-    if (!dateStr || !diaries || diaries.length === 0) {
-        return null;
-    }
-    
-    const entry = diaries.find(e => {
-        if (!e.date) return false;
-        let entryDate = e.date;
-        if (entryDate.includes('T')) {
-            entryDate = entryDate.split('T')[0];
-        }
-        if (entryDate.includes(' ')) {
-            entryDate = entryDate.split(' ')[0];
-        }
-        return entryDate === dateStr;
-    });
-    return entry ? entry.emotion : null;
-}
-
-function getEntriesForDate(dateStr) {
-    if (!dateStr || !diaries || diaries.length === 0) {
-        return [];
-    }
-    
-    return diaries.filter(e => {
-        if (!e.date) return false;
-        let entryDate = e.date;
-        if (entryDate.includes('T')) {
-            entryDate = entryDate.split('T')[0];
-        }
-        if (entryDate.includes(' ')) {
-            entryDate = entryDate.split(' ')[0];
-        }
-        return entryDate === dateStr;
-    });
-}
-
-function handleDateClick(day) {
+async function handleDateClick(day) {
     const year = currentDate.getFullYear();
     const month = currentDate.getMonth();
     const dateStr = `${year}-${String(month + 1).padStart(2, '0')}-${String(day).padStart(2, '0')}`;
-    const entries = getEntriesForDate(dateStr);
+    if (!calendarDays[dateStr]) {
+        return;
+    }
     
+    const entries = await loadEntriesForDate(dateStr);
     if (entries.length > 0) {
         selectedDate = dateStr;
+        selectedEntries = entries;
         expandedDiaryId = null;
         showDiaryModal(dateStr, entries);
     }
@@ -476,7 +485,7 @@ function showDiaryModal(dateStr, entries) {
                 </button>
                 ${isExpanded ? `
                     <div class="diary-content-expanded">
-                        <p class="diary-content">${entry.content ? escapeHtml(entry.content).replace(/\n/g, '<br>') : '내용 없음'}</p>
+                        <p class="diary-content">${(entry.content ?? entry.excerpt) ? escapeHtml(entry.content ?? entry.excerpt).replace(/\n/g, '<br>') : '내용 없음'}</p>
                         ${entry.images && entry.images.length > 0 ? `
                             <div class="diary-detail-images">
                                 <div class="diary-images-grid">
@@ -520,18 +529,25 @@ function showDiaryModal(dateStr, entries) {
 
 function attachDiaryItemClickHandlers() {
     document.querySelectorAll('.diary-item-btn').forEach(btn => {
-        btn.addEventListener('click', function(e) {
+        btn.addEventListener('click', async function(e) {
             e.stopPropagation();
             const diaryId = this.dataset.diaryId;
             if (expandedDiaryId === diaryId) {
                 expandedDiaryId = null;
             } else {
                 expandedDiaryId = diaryId;
+                // 처음 펼칠 때만 본문 조회 (이후에는 항목에 보관)
+                const entry = selectedEntries.find(item => item.id === diaryId);
+                if (entry && entry.content === undefined) {
+                    const content = await loadDiaryContent(diaryId);
+                    if (content !== null) {
+                        entry.content = content;
+                    }
+                }
             }
             
             if (selectedDate) {
-                const entries = getEntriesForDate(selectedDate);
-                showDiaryModal(selectedDate, entries);
+                showDiaryModal(selectedDate, selectedEntries);
             }
         });
     });
@@ -543,6 +559,7 @@ function closeDiaryModal() {
         modal.style.display = 'none';
         document.body.style.overflow = '';
         selectedDate = null;
+        selectedEntries = [];
         expandedDiaryId = null;
     }
 }
@@ -565,10 +582,11 @@ async function deleteDiary(diaryId) {
         if (response.ok) {
             const data = await response.json();
             if (data.success) {
-                await loadDiaries();
+                await loadCalendar();
                 
                 if (selectedDate) {
-                    const entries = getEntriesForDate(selectedDate);
+                    const entries = await loadEntriesForDate(selectedDate);
+                    selectedEntries = entries;
                     if (entries.length === 0) {
                         closeDiaryModal();
                     } else {
@@ -590,14 +608,12 @@ async function deleteDiary(diaryId) {
 
 document.getElementById('prevMonth').addEventListener('click', function() {
     currentDate.setMonth(currentDate.getMonth() - 1);
-    renderCalendar();
-    renderMonthlyStats();
+    loadCalendar();
 });
 
 document.getElementById('nextMonth').addEventListener('click', function() {
     currentDate.setMonth(currentDate.getMonth() + 1);
-    renderCalendar();
-    renderMonthlyStats();
+    loadCalendar();
 });
 
 document.addEventListener('DOMContentLoaded', function() {
@@ -640,6 +656,6 @@ document.addEventListener('DOMContentLoaded', function() {
         }
     });
     
-    loadDiaries();
+    loadCalendar();
 });
 
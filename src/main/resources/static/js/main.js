@@ -45,30 +45,104 @@ const emotionConfig = {
     }
 };
 
+// 페이지 크기 / 다음 페이지 커서 (null이면 마지막 페이지)
+const DIARY_PAGE_SIZE = 20;
+let nextCursor = null;
+let loadingDiaries = false;
+
+// 목록을 새로 불러올 때마다 증가, 이전 세대의 응답은 버림
+let diaryListGeneration = 0;
+let diaryPageController = null;
+
+// 전역 변수에 일기 데이터 저장 (지금까지 불러온 페이지)
+let allDiaries = [];
+
 async function loadDiaries() {
+    allDiaries = [];
+    nextCursor = null;
+    await loadDiaryPage(true);
+    loadEmotionStats();
+}
+
+// 일기 한 페이지 조회 (reset이면 진행 중인 조회를 취소하고 첫 페이지부터)
+async function loadDiaryPage(reset) {
+    if (reset) {
+        diaryListGeneration++;
+        if (diaryPageController) {
+            diaryPageController.abort();
+        }
+    } else if (loadingDiaries) {
+        return;
+    }
+    const generation = diaryListGeneration;
+    const controller = new AbortController();
+    diaryPageController = controller;
+    loadingDiaries = true;
+    
     try {
-        const response = await fetch('/api/diaries', {
-            credentials: 'include'
+        // 최근 일주일(오늘 포함) 일기만
+        const today = new Date();
+        const oneWeekAgo = new Date(today);
+        oneWeekAgo.setDate(today.getDate() - 7);
+        const params = new URLSearchParams({
+            size: DIARY_PAGE_SIZE,
+            from: formatLocalDate(oneWeekAgo),
+            to: formatLocalDate(today)
+        });
+        if (!reset && nextCursor) {
+            params.set('cursor', nextCursor);
+        }
+        const response = await fetch(`/api/diaries?${params}`, {
+            credentials: 'include',
+            signal: controller.signal
         });
         
-        if (response.ok) {
-            const diaries = await response.json();
-            displayDiaries(diaries);
-            displayEmotionStats(diaries);
+        const data = response.ok ? await response.json() : null;
+        if (generation !== diaryListGeneration) return;
+        if (data && data.success) {
+            nextCursor = data.nextCursor || null;
+            displayDiaries(data.diaries, reset);
         } else {
             console.error('Failed to load diaries');
         }
     } catch (error) {
-        console.error('Error loading diaries:', error);
+        if (error.name !== 'AbortError') {
+            console.error('Error loading diaries:', error);
+        }
+    } finally {
+        // 새 조회가 시작됐으면 그 조회의 상태는 건드리지 않음
+        if (diaryPageController === controller) {
+            diaryPageController = null;
+            loadingDiaries = false;
+        }
+    }
+}
+
+// 로컬 날짜를 yyyy-MM-dd로 (toISOString은 UTC 기준이라 자정 무렵 날짜가 바뀜)
+function formatLocalDate(date) {
+    const month = String(date.getMonth() + 1).padStart(2, '0');
+    const day = String(date.getDate()).padStart(2, '0');
+    return `${date.getFullYear()}-${month}-${day}`;
+}
+
+async function loadEmotionStats() {
+    try {
+        const response = await fetch('/api/diaries/emotion-counts', {
+            credentials: 'include'
+        });
+        
+        const data = response.ok ? await response.json() : null;
+        if (data && data.success) {
+            displayEmotionStats(data.counts);
+        } else {
+            console.error('Failed to load emotion stats');
+        }
+    } catch (error) {
+        console.error('Error loading emotion stats:', error);
     }
 }
 
-function displayEmotionStats(diaries) {
-    const stats = diaries.reduce((acc, diary) => {
-        acc[diary.emotion] = (acc[diary.emotion] || 0) + 1;
-        return acc;
-    }, {});
-    
+function displayEmotionStats(stats) {
     const statsContainer = document.getElementById('emotionStats');
     statsContainer.innerHTML = '';
     
@@ -93,55 +167,24 @@ function displayEmotionStats(diaries) {
     });
 }
 
-// 전역 변수에 일기 데이터 저장
-let allDiaries = [];
-
-function displayDiaries(diaries) {
+function displayDiaries(diaries, reset) {
     const listContainer = document.getElementById('diaryList');
     
-    if (diaries.length === 0) {
-        listContainer.innerHTML = `
-            <div class="empty-state">
-                <p>아직 작성된 일기가 없습니다.</p>
-                <p>첫 번째 일기를 작성해보세요!</p>
-            </div>
-        `;
-        allDiaries = [];
-        return;
-    }
-    
-    // 최근 일주일간의 일기만 필터링 (오늘 기준 7일 전부터 오늘까지)
-    const today = new Date();
-    today.setHours(0, 0, 0, 0); // 시간을 00:00:00으로 설정
-    const oneWeekAgo = new Date(today);
-    oneWeekAgo.setDate(today.getDate() - 7); // 7일 전
-    
-    const filteredDiaries = diaries.filter(diary => {
-        const diaryDate = new Date(diary.date);
-        diaryDate.setHours(0, 0, 0, 0);
-        return diaryDate >= oneWeekAgo && diaryDate <= today;
-    });
-    
-    if (filteredDiaries.length === 0) {
+    if (reset && diaries.length === 0) {
         listContainer.innerHTML = `
             <div class="empty-state">
                 <p>최근 일주일간 작성된 일기가 없습니다.</p>
                 <p>새 일기를 작성해보세요!</p>
             </div>
         `;
-        allDiaries = [];
         return;
     }
     
-    const sortedDiaries = [...filteredDiaries].sort((a, b) => 
-        new Date(b.date) - new Date(a.date)
-    );
-    
-    // 전역 변수에 저장 (필터링된 일기)
-    allDiaries = sortedDiaries;
+    // 서버가 작성 시각 최신순으로 보내므로 받은 순서대로 뒤에 붙임
+    allDiaries = allDiaries.concat(diaries);
     
-    listContainer.innerHTML = sortedDiaries.map(diary => {
-        const config = emotionConfig[diary.emotion];
+    const html = diaries.map(diary => {
+        const config = emotionConfig[diary.emotion] || emotionConfig.happy;
         const date = new Date(diary.date);
         const formattedDate = date.toLocaleDateString('ko-KR');
         
@@ -171,6 +214,13 @@ function displayDiaries(diaries) {
         `;
     }).join('');
     
+    if (reset) {
+        listContainer.innerHTML = html;
+        listContainer.scrollTop = 0;
+    } else {
+        listContainer.insertAdjacentHTML('beforeend', html);
+    }
+    
     // 최대 5개 일기만 보이도록 높이 제한 설정
     setTimeout(() => {
         const diaryItems = listContainer.querySelectorAll('.diary-item');
@@ -184,9 +234,22 @@ function displayDiaries(diaries) {
             listContainer.style.overflowY = 'auto';
             listContainer.style.overflowX = 'hidden';
         }
+        // 목록이 스크롤되지 않을 만큼 짧으면 다음 페이지를 바로 불러옴
+        loadMoreIfNearBottom();
     }, 100);
 }
 
+// 목록 끝 근처까지 스크롤하면 다음 페이지 조회
+function loadMoreIfNearBottom() {
+    const listContainer = document.getElementById('diaryList');
+    if (!listContainer || !nextCursor || loadingDiaries) return;
+    
+    const remaining = listContainer.scrollHeight - listContainer.scrollTop - listContainer.clientHeight;
+    if (remaining < 200) {
+        loadDiaryPage(false);
+    }
+}
+
 async function deleteDiary(id) {
     if (!confirm('이 일기를 삭제하시겠습니까?')) {
         return;
@@ -227,10 +290,26 @@ function normalizeImageUrl(imageUrl) {
     return imageUrl.startsWith('/') ? imageUrl : '/' + imageUrl;
 }
 
-function openDiaryModal(diaryId) {
+// 목록 응답에는 미리보기만 있으므로 본문은 상세 조회로 가져옴 (실패 시 null)
+async function loadDiaryContent(diaryId) {
+    try {
+        const response = await fetch(`${CONTEXT_PATH}/api/diaries/${diaryId}`, {
+            credentials: 'include'
+        });
+        const data = response.ok ? await response.json() : null;
+        return data && data.success && data.diary ? data.diary.content : null;
+    } catch (error) {
+        console.error('Error loading diary:', error);
+        return null;
+    }
+}
+
+async function openDiaryModal(diaryId) {
     const diary = allDiaries.find(d => d.id === diaryId);
     if (!diary) return;
     
+    const content = (await loadDiaryContent(diaryId)) ?? diary.excerpt;
+    
     const modal = document.getElementById('diaryModal');
     const modalTitle = document.getElementById('diaryModalTitle');
     const modalSubtitle = document.getElementById('diaryModalSubtitle');
@@ -285,8 +364,8 @@ function openDiaryModal(diaryId) {
     }
     
     // 내용 설정
-    const contentHtml = `<div class="diary-detail-content">${diary.content 
-        ? diary.content.split('\n').map(line => `<p>${escapeHtml(line)}</p>`).join('')
+    const contentHtml = `<div class="diary-detail-content">${content 
+        ? content.split('\n').map(line => `<p>${escapeHtml(line)}</p>`).join('')
         : '<p>내용이 없습니다.</p>'}</div>
         ${diary.images && diary.images.length > 0 ? `
             <div class="diary-detail-images">
@@ -334,6 +413,11 @@ function closeDiaryModal() {
 
 // 모달 이벤트 리스너 설정
 document.addEventListener('DOMContentLoaded', function() {
+    const listContainer = document.getElementById('diaryList');
+    if (listContainer) {
+        listContainer.addEventListener('scroll', loadMoreIfNearBottom);
+    }
+    
     const modalClose = document.getElementById('diaryModalClose');
     const modalOverlay = document.getElementById('diaryModalOverlay');
     
@@ -235,6 +235,114 @@ function updateImagePreview() {
     });
 }
 
+// 작성 중 실시간 감정 분석
+// 수정분(바뀐 구간)만 서버로 보내고, 서버가 입력이 멈춘 뒤 분석한 결과를 SSE로 받아 표시
+// (저장 시에는 기존처럼 전체 본문 분석 결과를 사용)
+const liveDraftId = window.crypto && crypto.randomUUID
+    ? crypto.randomUUID()
+    : Date.now().toString(36) + '-' + Math.random().toString(36).slice(2);
+let liveSource = null;
+let liveRevision = 0;
+let liveSentText = '';
+let liveSending = false;
+let livePending = false;
+
+function startLiveAnalysis() {
+    if (liveSource || !window.EventSource) return;
+    
+    liveSource = new EventSource(`/api/live/drafts/${liveDraftId}/events`);
+    liveSource.addEventListener('analysis', function(event) {
+        const data = JSON.parse(event.data);
+        if (!data.success) {
+            // 로그인 만료 등: 재연결하지 않음
+            liveSource.close();
+            return;
+        }
+        if (!data.emotion || emotionAnalyzed) return;
+        
+        const resultDiv = document.getElementById('emotionResult');
+        const resultEmotion = document.getElementById('resultEmotion');
+        resultEmotion.textContent = emotionLabels[data.emotion] || data.emotion;
+        resultDiv.style.display = 'block';
+        resultDiv.dataset.emotion = data.emotion;
+        resultDiv.className = 'emotion-result ' + data.emotion;
+    });
+}
+
+async function sendLiveDraft() {
+    if (liveSending) {
+        livePending = true;
+        return;
+    }
+    liveSending = true;
+    
+    try {
+        const text = document.getElementById('content').value;
+        let body;
+        if (liveRevision === 0) {
+            body = { content: text };
+        } else {
+            // 앞뒤로 같은 부분을 제외한 바뀐 구간
+            let prefix = 0;
+            const maxPrefix = Math.min(text.length, liveSentText.length);
+            while (prefix < maxPrefix && text[prefix] === liveSentText[prefix]) prefix++;
+            let suffix = 0;
+            const maxSuffix = Math.min(text.length, liveSentText.length) - prefix;
+            while (suffix < maxSuffix
+                && text[text.length - 1 - suffix] === liveSentText[liveSentText.length - 1 - suffix]) suffix++;
+            body = {
+                revision: liveRevision,
+                from: prefix,
+                to: liveSentText.length - suffix,
+                text: text.substring(prefix, text.length - suffix)
+            };
+        }
+        
+        const response = await fetch(`/api/live/drafts/${liveDraftId}`, {
+            method: 'POST',
+            headers: {
+                'Content-Type': 'application/json',
+            },
+            body: JSON.stringify(body),
+            credentials: 'include'
+        });
+        const data = await response.json();
+        
+        if (data.success) {
+            liveRevision = data.revision;
+            liveSentText = text;
+        } else if (data.resync) {
+            // 서버 상태와 어긋난 경우 전체 본문으로 다시 전송
+            liveRevision = 0;
+            livePending = true;
+        }
+    } catch (error) {
+        console.error('Error sending live draft:', error);
+    } finally {
+        liveSending = false;
+        if (livePending) {
+            livePending = false;
+            sendLiveDraft();
+        }
+    }
+}
+
+document.getElementById('content').addEventListener('input', function() {
+    emotionAnalyzed = false;
+    startLiveAnalysis();
+    sendLiveDraft();
+});
+
+window.addEventListener('pagehide', function() {
+    if (!liveSource) return;
+    liveSource.close();
+    fetch(`/api/live/drafts/${liveDraftId}`, {
+        method: 'DELETE',
+        credentials: 'include',
+        keepalive: true
+    });
+});
+
 document.getElementById('analyzeBtn').addEventListener('click', async function() {
     const content = document.getElementById('content').value.trim();
     
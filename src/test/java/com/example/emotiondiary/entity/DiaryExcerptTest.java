@@ -0,0 +1,36 @@
+package com.example.emotiondiary.entity;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 목록 미리보기: 공백 정리, 최대 길이에서 자르기, 글자 수(코드 포인트) 계산 검증
+ */
+class DiaryExcerptTest {
+
+    @Test
+    void collapsesWhitespaceAndKeepsShortContent() {
+        assertEquals("오늘은 좋았다 내일도", Diary.excerptOf("  오늘은\t좋았다\n\n 내일도 \n"));
+        assertEquals("", Diary.excerptOf(null));
+        assertEquals("", Diary.excerptOf(" \n "));
+    }
+
+    @Test
+    void truncatesAtExcerptLength() {
+        String exact = "가".repeat(Diary.EXCERPT_LENGTH);
+        assertEquals(exact, Diary.excerptOf(exact + "  "));
+        assertEquals(exact + "…", Diary.excerptOf(exact + "나"));
+        assertEquals("가".repeat(Diary.EXCERPT_LENGTH - 1) + "…",
+                Diary.excerptOf("가".repeat(Diary.EXCERPT_LENGTH - 1) + " 나"));
+    }
+
+    @Test
+    void countsCodePoints() {
+        String emoji = "😀";
+        assertEquals(3, Diary.charCountOf("좋" + emoji + "다"));
+        assertEquals(0, Diary.charCountOf(null));
+        // 서로게이트 쌍을 나누지 않고 코드 포인트 단위로 자름
+        assertEquals(emoji.repeat(Diary.EXCERPT_LENGTH) + "…", Diary.excerptOf(emoji.repeat(Diary.EXCERPT_LENGTH + 5)));
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.emotiondiary.repository;
+
+import com.example.emotiondiary.entity.AnalysisJob;
+import com.example.emotiondiary.entity.SentimentAnalysis;
+import com.example.emotiondiary.service.AnalysisJobService;
+import com.example.emotiondiary.service.EmotionPrediction;
+import com.example.emotiondiary.service.SentimentAnalysisService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 비동기 분석 작업 큐의 조건부 UPDATE 상태 전환 검증
+ * 선점은 한 워커만 성공, 분석 중 재등록된 작업의 완료는 버려짐, 실패는 최대 시도 횟수까지만 다시 대기
+ * 각 단계는 워커/요청마다 다른 트랜잭션이므로 사이에 영속성 컨텍스트를 비움
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.sql.init.mode=never"
+})
+@Import(AnalysisJobService.class)
+class AnalysisJobQueueTest {
+
+    private static final EmotionPrediction PREDICTION =
+            new EmotionPrediction(SentimentAnalysis.Emotion.SAD, 0.7f, EmotionPrediction.Source.MODEL, null);
+
+    // 결과 저장 (월별 집계는 MySQL 전용 SQL이므로 여기서는 호출 여부만 확인)
+    @MockitoBean
+    private SentimentAnalysisService sentimentAnalysisService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private AnalysisJobRepository analysisJobRepository;
+
+    @Autowired
+    private AnalysisJobService analysisJobService;
+
+    @Test
+    void onlyOneWorkerClaimsAJob() {
+        AnalysisJob job = analysisJobService.enqueue(1L);
+        nextTransaction();
+
+        // 두 워커가 같은 대기 작업을 읽은 뒤 선점을 시도하면 하나만 성공
+        LocalDateTime now = LocalDateTime.now();
+        assertEquals(1, analysisJobRepository.claim(job.getJobId(), AnalysisJob.Status.PENDING, AnalysisJob.Status.RUNNING, now));
+        assertEquals(0, analysisJobRepository.claim(job.getJobId(), AnalysisJob.Status.PENDING, AnalysisJob.Status.RUNNING, now));
+        nextTransaction();
+
+        assertEquals(0, analysisJobService.claimPending(10).size());
+        AnalysisJob claimed = analysisJobRepository.findById(job.getJobId()).orElseThrow();
+        assertEquals(AnalysisJob.Status.RUNNING, claimed.getStatus());
+        assertEquals(1, (int) claimed.getAttempts());
+    }
+
+    @Test
+    void completeIsDiscardedWhenJobWasReenqueuedWhileRunning() {
+        analysisJobService.enqueue(2L);
+        nextTransaction();
+        AnalysisJob job = single(analysisJobService.claimPending(10));
+        nextTransaction();
+
+        // 분석 중 일기가 수정되어 재등록
+        analysisJobService.enqueue(2L);
+        nextTransaction();
+
+        assertFalse(analysisJobService.complete(job.getJobId(), 2L, PREDICTION));
+        verify(sentimentAnalysisService, never()).upsertByDiaryId(any(), any());
+        nextTransaction();
+        assertEquals(AnalysisJob.Status.PENDING, analysisJobRepository.findById(job.getJobId()).orElseThrow().getStatus());
+
+        // 다시 선점한 워커의 완료는 저장됨
+        AnalysisJob again = single(analysisJobService.claimPending(10));
+        nextTransaction();
+        assertTrue(analysisJobService.complete(again.getJobId(), 2L, PREDICTION));
+        verify(sentimentAnalysisService).upsertByDiaryId(eq(2L), any());
+        nextTransaction();
+        assertEquals(AnalysisJob.Status.DONE, analysisJobRepository.findById(job.getJobId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void failRequeuesUntilMaxAttempts() {
+        AnalysisJob job = analysisJobService.enqueue(3L);
+        nextTransaction();
+
+        single(analysisJobService.claimPending(10));
+        nextTransaction();
+        analysisJobService.fail(job.getJobId(), "첫 번째 실패", 2);
+        nextTransaction();
+        assertEquals(AnalysisJob.Status.PENDING, analysisJobRepository.findById(job.getJobId()).orElseThrow().getStatus());
+
+        single(analysisJobService.claimPending(10));
+        nextTransaction();
+        analysisJobService.fail(job.getJobId(), "두 번째 실패", 2);
+        nextTransaction();
+
+        AnalysisJob failed = analysisJobRepository.findById(job.getJobId()).orElseThrow();
+        assertEquals(AnalysisJob.Status.FAILED, failed.getStatus());
+        assertEquals(2, (int) failed.getAttempts());
+        assertEquals("두 번째 실패", failed.getLastError());
+        assertEquals(0, analysisJobService.claimPending(10).size());
+
+        // RUNNING이 아닌 작업의 실패 보고는 무시
+        analysisJobService.fail(job.getJobId(), "늦은 실패", 2);
+        nextTransaction();
+        assertEquals("두 번째 실패", analysisJobRepository.findById(job.getJobId()).orElseThrow().getLastError());
+    }
+
+    @Test
+    void releasesOnlyStaleRunningJobs() {
+        AnalysisJob job = analysisJobService.enqueue(4L);
+        nextTransaction();
+        single(analysisJobService.claimPending(10));
+        nextTransaction();
+
+        assertEquals(0, analysisJobService.releaseStale(Duration.ofHours(1)));
+        LocalDateTime now = LocalDateTime.now();
+        assertEquals(1, analysisJobRepository.releaseStale(AnalysisJob.Status.PENDING, AnalysisJob.Status.RUNNING,
+                now.plusSeconds(1), now));
+        nextTransaction();
+        assertEquals(AnalysisJob.Status.PENDING, analysisJobRepository.findById(job.getJobId()).orElseThrow().getStatus());
+    }
+
+    private void nextTransaction() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private static AnalysisJob single(List<AnalysisJob> jobs) {
+        assertEquals(1, jobs.size());
+        return jobs.get(0);
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.emotiondiary.repository;
+
+import com.example.emotiondiary.dto.CalendarDay;
+import com.example.emotiondiary.entity.Diary;
+import com.example.emotiondiary.entity.DiaryImage;
+import com.example.emotiondiary.entity.SentimentAnalysis;
+import com.example.emotiondiary.entity.User;
+import com.example.emotiondiary.service.AnalysisJobService;
+import com.example.emotiondiary.service.DiaryService;
+import com.example.emotiondiary.service.EmotionRollupService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * 달력 한 달 요약: 월 경계([1일, 다음 달 1일)), 날짜별 대표 감정 / 첫 번째 이미지, 쿼리 수 검증
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.sql.init.mode=never"
+})
+@Import({DiaryService.class, EmotionRollupService.class, EmotionRollupRepository.class})
+class CalendarQueryTest {
+
+    // 비동기 분석 작업 등록 (이 테스트에서는 사용하지 않음)
+    @MockitoBean
+    private AnalysisJobService analysisJobService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private DiaryService diaryService;
+
+    @Test
+    void summarizesOneRecordPerDayWithinMonth() {
+        User user = entityManager.persist(User.builder().email("cal@example.com").password("pw").nickname("cal").build());
+        User other = entityManager.persist(User.builder().email("other@example.com").password("pw").nickname("other").build());
+
+        diary(user, LocalDate.of(2024, 1, 31), SentimentAnalysis.Emotion.SAD, null);
+        diary(user, LocalDate.of(2024, 3, 1), SentimentAnalysis.Emotion.SAD, null);
+        diary(other, LocalDate.of(2024, 2, 10), SentimentAnalysis.Emotion.SAD, null);
+
+        // 2월 1일: 먼저 쓴 일기만 이미지, 나중에 쓴 일기가 대표 감정
+        diary(user, LocalDate.of(2024, 2, 1), SentimentAnalysis.Emotion.SAD, "/images/first.png");
+        diary(user, LocalDate.of(2024, 2, 1), SentimentAnalysis.Emotion.HAPPY, null);
+        // 2월 29일: 분석 결과 없음
+        diary(user, LocalDate.of(2024, 2, 29), null, null);
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<CalendarDay> days = diaryService.findCalendarDays(user.getUserId(), 2024, 2);
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(2, days.size());
+
+        assertEquals("2024-02-01", days.get(0).getDate());
+        assertEquals("happy", days.get(0).getEmotion());
+        assertEquals(2, days.get(0).getCount());
+        assertEquals("/images/first.png", days.get(0).getThumbnail());
+
+        assertEquals("2024-02-29", days.get(1).getDate());
+        assertNull(days.get(1).getEmotion());
+        assertEquals(1, days.get(1).getCount());
+        assertNull(days.get(1).getThumbnail());
+
+        assertEquals(2, diaryService.findListItemsByDate(user.getUserId(), LocalDate.of(2024, 2, 1)).size());
+    }
+
+    private void diary(User user, LocalDate date, SentimentAnalysis.Emotion emotion, String imageUrl) {
+        Diary diary = entityManager.persist(Diary.builder().user(user).title("제목").content("내용").diaryDate(date).build());
+        if (emotion != null) {
+            entityManager.persist(SentimentAnalysis.builder().diary(diary).emotion(emotion).confidence(0.8f).build());
+        }
+        if (imageUrl != null) {
+            entityManager.persist(DiaryImage.builder().diary(diary).imageUrl("/images/second.png").sortOrder(2).build());
+            entityManager.persist(DiaryImage.builder().diary(diary).imageUrl(imageUrl).sortOrder(1).build());
+        }
+    }
+}
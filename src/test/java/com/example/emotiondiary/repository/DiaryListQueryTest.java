@@ -0,0 +1,183 @@
+package com.example.emotiondiary.repository;
+
+import com.example.emotiondiary.dto.DiaryListItem;
+import com.example.emotiondiary.dto.DiaryListPage;
+import com.example.emotiondiary.entity.Diary;
+import com.example.emotiondiary.entity.DiaryImage;
+import com.example.emotiondiary.entity.SentimentAnalysis;
+import com.example.emotiondiary.entity.User;
+import com.example.emotiondiary.service.AnalysisJobService;
+import com.example.emotiondiary.service.DiaryService;
+import com.example.emotiondiary.service.EmotionRollupService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 일기 목록 조회가 일기 수 / 페이지 깊이와 관계없이 일정한 수의 쿼리로 끝나는지 검증 (N+1 방지)
+ * 페이지마다 일기 + 감정 조인 1회, 이미지 URL IN 조회 1회
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.sql.init.mode=never"
+})
+@Import({DiaryService.class, EmotionRollupService.class, EmotionRollupRepository.class})
+class DiaryListQueryTest {
+
+    private static final int DIARY_COUNT = 40;
+    private static final int PAGE_SIZE = 7;
+
+    // 비동기 분석 작업 등록 (이 테스트에서는 사용하지 않음)
+    @MockitoBean
+    private AnalysisJobService analysisJobService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private DiaryService diaryService;
+
+    @Test
+    void pagesThroughDiaryListWithConstantStatementCount() {
+        User user = entityManager.persist(User.builder().email("list@example.com").password("pw").nickname("list").build());
+        List<String> expectedIds = new ArrayList<>();
+        for (int i = 0; i < DIARY_COUNT; i++) {
+            Diary diary = entityManager.persist(Diary.builder()
+                    .user(user)
+                    .title("제목 " + i)
+                    .content("내용 " + i)
+                    .diaryDate(LocalDate.of(2024, 1, 1).plusDays(i))
+                    .build());
+            expectedIds.add(String.valueOf(diary.getDiaryId()));
+            // 정렬 순서와 저장 순서를 다르게 해 정렬 확인
+            for (int order = i % 3; order > 0; order--) {
+                entityManager.persist(DiaryImage.builder().diary(diary).imageUrl("/images/" + i + "-" + order + ".png")
+                        .sortOrder(order).build());
+            }
+            if (i % 2 == 0) {
+                entityManager.persist(SentimentAnalysis.builder().diary(diary)
+                        .emotion(SentimentAnalysis.Emotion.SAD).confidence(0.8f).build());
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        // 같은 created_at이 있어도 diary_id 역순으로 이어짐
+        expectedIds.sort(Comparator.comparing(Long::valueOf, Comparator.reverseOrder()));
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<DiaryListItem> items = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            statistics.clear();
+            DiaryListPage page = diaryService.findListPage(user.getUserId(), null, null, cursor, PAGE_SIZE);
+            assertEquals(2, statistics.getPrepareStatementCount());
+            items.addAll(page.getDiaries());
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals((DIARY_COUNT + PAGE_SIZE - 1) / PAGE_SIZE, pages);
+        assertEquals(expectedIds, items.stream().map(DiaryListItem::getId).toList());
+
+        for (DiaryListItem item : items) {
+            int i = Integer.parseInt(item.getTitle().substring("제목 ".length()));
+            assertEquals(i % 2 == 0 ? "sad" : null, item.getEmotion());
+            assertEquals("내용 " + i, item.getExcerpt());
+            assertEquals(("내용 " + i).length(), (int) item.getCharCount());
+            assertEquals(i % 3, item.getImages().size());
+            for (int order = 1; order <= item.getImages().size(); order++) {
+                assertEquals("/images/" + i + "-" + order + ".png", item.getImages().get(order - 1));
+            }
+        }
+    }
+
+    @Test
+    void pagesOnlyThroughDiariesWithinTheDateRange() {
+        User user = entityManager.persist(User.builder().email("range@example.com").password("pw").nickname("range").build());
+        List<String> expectedIds = new ArrayList<>();
+        for (int i = 0; i < DIARY_COUNT; i++) {
+            LocalDate date = LocalDate.of(2024, 1, 1).plusDays(i % 20);
+            Diary diary = entityManager.persist(Diary.builder().user(user).title("제목 " + i).content("내용 " + i)
+                    .diaryDate(date).build());
+            if (!date.isBefore(LocalDate.of(2024, 1, 5)) && !date.isAfter(LocalDate.of(2024, 1, 11))) {
+                expectedIds.add(String.valueOf(diary.getDiaryId()));
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        expectedIds.sort(Comparator.comparing(Long::valueOf, Comparator.reverseOrder()));
+
+        // 범위 밖 일기가 사이사이 있어도 커서가 범위 안 일기만 이어서 읽음
+        List<String> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            DiaryListPage page = diaryService.findListPage(user.getUserId(),
+                    LocalDate.of(2024, 1, 5), LocalDate.of(2024, 1, 11), cursor, 3);
+            page.getDiaries().forEach(item -> ids.add(item.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(expectedIds, ids);
+    }
+
+    @Test
+    void fillsSummariesOfLegacyDiariesIncludingThoseWithoutUpdatedAt() {
+        User user = entityManager.persist(User.builder().email("legacy@example.com").password("pw").nickname("legacy").build());
+        Diary dated = entityManager.persist(Diary.builder().user(user).title("제목").content("수정 시각 있음")
+                .diaryDate(LocalDate.of(2024, 1, 1)).build());
+        Diary undated = entityManager.persist(Diary.builder().user(user).title("제목").content("수정 시각 없음")
+                .diaryDate(LocalDate.of(2024, 1, 2)).build());
+        entityManager.flush();
+        // 미리보기 컬럼 추가 이전 데이터 (updated_at도 없는 행 포함)
+        entityManager.getEntityManager().createNativeQuery(
+                "UPDATE diaries SET excerpt = NULL, char_count = NULL WHERE user_id = ?1")
+                .setParameter(1, user.getUserId()).executeUpdate();
+        entityManager.getEntityManager().createNativeQuery(
+                "UPDATE diaries SET updated_at = NULL WHERE diary_id = ?1")
+                .setParameter(1, undated.getDiaryId()).executeUpdate();
+        entityManager.clear();
+
+        // 토큰 수는 백그라운드 스레드가 트랜잭션 밖에서 계산해 넘김
+        diaryService.fillSummaries(diaryService.findUnsummarized(0L, false, PAGE_SIZE), Map.of(dated.getDiaryId(), 3));
+        entityManager.clear();
+
+        for (Diary diary : List.of(dated, undated)) {
+            Diary filled = entityManager.find(Diary.class, diary.getDiaryId());
+            assertEquals(diary.getContent(), filled.getExcerpt());
+            assertEquals(diary.getContent().length(), (int) filled.getCharCount());
+        }
+        assertEquals(3, (int) entityManager.find(Diary.class, dated.getDiaryId()).getTokenCount());
+        assertNull(entityManager.find(Diary.class, undated.getDiaryId()).getTokenCount());
+        assertNull(entityManager.find(Diary.class, undated.getDiaryId()).getUpdatedAt());
+    }
+
+    @Test
+    void rejectsMalformedCursor() {
+        assertThrows(IllegalArgumentException.class, () -> diaryService.findListPage(1L, null, null, "not a cursor", PAGE_SIZE));
+        assertThrows(IllegalArgumentException.class, () -> diaryService.findListPage(1L, null, null, "MjAyNC0wMS0wMQ", PAGE_SIZE));
+        DiaryListPage empty = diaryService.findListPage(1L, null, null, null, PAGE_SIZE);
+        assertEquals(0, empty.getDiaries().size());
+        assertNull(empty.getNextCursor());
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.emotiondiary.repository;
+
+import com.example.emotiondiary.entity.Diary;
+import com.example.emotiondiary.entity.SentimentAnalysis;
+import com.example.emotiondiary.entity.User;
+import com.example.emotiondiary.service.AnalysisJobService;
+import com.example.emotiondiary.service.DiaryService;
+import com.example.emotiondiary.service.EmotionRollupService;
+import com.example.emotiondiary.service.SentimentAnalysisService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 월별 감정 집계 SQL을 실제 MySQL에서 검증 (ON DUPLICATE KEY UPDATE, DATE_FORMAT은 H2에서 동작하지 않음)
+ * 분석 결과 생성/수정, 일기 날짜 이동/삭제 후 증감 집계가 원본 데이터와 같고, 재계산이 어긋난 집계를 원본으로 되돌리는지 확인
+ * Docker가 없으면 건너뜀
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Import({DiaryService.class, SentimentAnalysisService.class, EmotionRollupService.class, EmotionRollupRepository.class})
+class EmotionRollupQueryTest {
+
+    @Container
+    @ServiceConnection
+    static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0");
+
+    private static final YearMonth FEBRUARY = YearMonth.of(2024, 2);
+    private static final YearMonth MARCH = YearMonth.of(2024, 3);
+
+    // 비동기 분석 작업 등록 (이 테스트에서는 사용하지 않음)
+    @MockitoBean
+    private AnalysisJobService analysisJobService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private DiaryService diaryService;
+
+    @Autowired
+    private SentimentAnalysisService sentimentAnalysisService;
+
+    @Autowired
+    private EmotionRollupService emotionRollupService;
+
+    @Autowired
+    private EmotionRollupRepository emotionRollupRepository;
+
+    @Test
+    void keepsMonthlyCountsInStepWithDiaryChanges() {
+        User user = entityManager.persist(User.builder().email("rollup@example.com").password("pw").nickname("rollup").build());
+        User other = entityManager.persist(User.builder().email("other@example.com").password("pw").nickname("other").build());
+        Diary first = diary(user, LocalDate.of(2024, 2, 10));
+        Diary second = diary(user, LocalDate.of(2024, 2, 29));
+        Diary third = diary(user, LocalDate.of(2024, 3, 1));
+        Diary others = diary(other, LocalDate.of(2024, 2, 10));
+        nextTransaction();
+
+        // 생성 (저장과 일기 ID 기준 upsert 두 경로 모두)
+        sentimentAnalysisService.save(analysis(first, SentimentAnalysis.Emotion.SAD, 0.5f));
+        sentimentAnalysisService.upsertByDiaryId(second.getDiaryId(), analysis(null, SentimentAnalysis.Emotion.HAPPY, 0.75f));
+        sentimentAnalysisService.upsertByDiaryId(third.getDiaryId(), analysis(null, SentimentAnalysis.Emotion.ANGRY, 0.25f));
+        sentimentAnalysisService.upsertByDiaryId(others.getDiaryId(), analysis(null, SentimentAnalysis.Emotion.HAPPY, 1.0f));
+        nextTransaction();
+        assertEquals(counts(SentimentAnalysis.Emotion.SAD, 1, SentimentAnalysis.Emotion.HAPPY, 1), month(user, FEBRUARY));
+        assertEquals(counts(SentimentAnalysis.Emotion.ANGRY, 1), month(user, MARCH));
+
+        // 감정 변경: 같은 달 안에서 이전 감정은 빼고 새 감정에 더함
+        sentimentAnalysisService.upsertByDiaryId(first.getDiaryId(), analysis(null, SentimentAnalysis.Emotion.ANGRY, 0.5f));
+        nextTransaction();
+        assertEquals(counts(SentimentAnalysis.Emotion.HAPPY, 1, SentimentAnalysis.Emotion.ANGRY, 1), month(user, FEBRUARY));
+
+        // 다른 달로 이동
+        diaryService.update(second.getDiaryId(), Diary.builder().diaryDate(LocalDate.of(2024, 3, 31)).build());
+        nextTransaction();
+        assertEquals(counts(SentimentAnalysis.Emotion.ANGRY, 1), month(user, FEBRUARY));
+        assertEquals(counts(SentimentAnalysis.Emotion.ANGRY, 1, SentimentAnalysis.Emotion.HAPPY, 1), month(user, MARCH));
+
+        // 삭제
+        diaryService.delete(third.getDiaryId());
+        nextTransaction();
+        assertEquals(counts(SentimentAnalysis.Emotion.HAPPY, 1), month(user, MARCH));
+        assertEquals(counts(SentimentAnalysis.Emotion.ANGRY, 1, SentimentAnalysis.Emotion.HAPPY, 1), total(user));
+        assertEquals(counts(SentimentAnalysis.Emotion.HAPPY, 1), total(other));
+
+        // 어긋난 집계를 재계산하면 증감으로 쌓은 결과와 같아짐 (다른 사용자 집계는 그대로)
+        emotionRollupRepository.add(user.getUserId(), FEBRUARY.atDay(1), SentimentAnalysis.Emotion.SAD, 5, 2.5);
+        emotionRollupRepository.add(user.getUserId(), MARCH.atDay(1), SentimentAnalysis.Emotion.HAPPY, -1, -0.75);
+        assertEquals(2, emotionRollupRepository.rebuildUser(user.getUserId()));
+        assertEquals(counts(SentimentAnalysis.Emotion.ANGRY, 1), month(user, FEBRUARY));
+        assertEquals(counts(SentimentAnalysis.Emotion.HAPPY, 1), month(user, MARCH));
+        assertEquals(counts(SentimentAnalysis.Emotion.HAPPY, 1), total(other));
+    }
+
+    private Diary diary(User user, LocalDate date) {
+        return entityManager.persist(Diary.builder().user(user).title("제목").content("내용").diaryDate(date).build());
+    }
+
+    private static SentimentAnalysis analysis(Diary diary, SentimentAnalysis.Emotion emotion, float confidence) {
+        return SentimentAnalysis.builder().diary(diary).emotion(emotion).confidence(confidence).build();
+    }
+
+    private Map<SentimentAnalysis.Emotion, Long> month(User user, YearMonth yearMonth) {
+        return nonZero(emotionRollupService.countByEmotion(user.getUserId(), yearMonth));
+    }
+
+    private Map<SentimentAnalysis.Emotion, Long> total(User user) {
+        return nonZero(emotionRollupService.countByEmotion(user.getUserId()));
+    }
+
+    // 증감으로 0이 된 칸은 행이 남으므로 비교에서 제외
+    private static Map<SentimentAnalysis.Emotion, Long> nonZero(Map<SentimentAnalysis.Emotion, Long> counts) {
+        Map<SentimentAnalysis.Emotion, Long> result = new EnumMap<>(SentimentAnalysis.Emotion.class);
+        counts.forEach((emotion, count) -> {
+            if (count != 0) {
+                result.put(emotion, count);
+            }
+        });
+        return result;
+    }
+
+    private static Map<SentimentAnalysis.Emotion, Long> counts(Object... emotionCounts) {
+        Map<SentimentAnalysis.Emotion, Long> result = new EnumMap<>(SentimentAnalysis.Emotion.class);
+        for (int i = 0; i < emotionCounts.length; i += 2) {
+            result.put((SentimentAnalysis.Emotion) emotionCounts[i], ((Integer) emotionCounts[i + 1]).longValue());
+        }
+        return result;
+    }
+
+    // 각 단계는 요청마다 다른 트랜잭션이므로 사이에 영속성 컨텍스트를 비움 (집계 SQL이 원본 행을 읽을 수 있도록 flush)
+    private void nextTransaction() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.emotiondiary.service;
+
+import com.example.emotiondiary.config.InferenceProperties;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 단일 패스 기본 토크나이저 + 단어 캐시 결과가 기존 정규식 기반 토크나이징과 동일한지 검증
+ * (캐시 사용 / 미사용 / 계속 밀려나는 작은 캐시)
+ */
+class BertTokenizerTest {
+
+    private static final Path VOCAB_DIR = Paths.get("src/test/resources/tokenizer");
+
+    private static final String[] EDGE_CASES = {
+        "",
+        "   ",
+        "오늘은.. 정말?! 좋았다",
+        "\t탭\n줄바꿈\r\n\u000B세로탭\f폼피드",
+        "...!!!",
+        "끝에 공백   ",
+        "a.b,c!d?e;f:g",
+        "단어 사이 공백이 아닌 문자",
+        "😀 이모지도 그대로"
+    };
+
+    @Test
+    void matchesRegexTokenizerWithAndWithoutWordCache() throws Exception {
+        WordPieceTrie trie = loadTrie();
+        List<String> texts = new ArrayList<>(Files.readAllLines(VOCAB_DIR.resolve("golden_corpus.txt"), StandardCharsets.UTF_8));
+        texts.addAll(List.of(EDGE_CASES));
+        texts.add(String.join(" ", texts));
+
+        for (long maxIds : new long[]{262144, 0, 4}) {
+            BertTokenizer tokenizer = tokenizer(maxIds);
+            // 두 번째 회차는 캐시에서 읽음
+            for (int round = 0; round < 2; round++) {
+                for (String text : texts) {
+                    assertArrayEquals(legacyTokenize(trie, tokenizer, text), tokenizer.tokenize(text).getInputIds(),
+                            "maxIds=" + maxIds + ", text=" + text);
+                }
+            }
+        }
+    }
+
+    @Test
+    void truncatesLongTextToMaxLength() {
+        BertTokenizer tokenizer = tokenizer(262144);
+        String text = "오늘은 정말 행복한 하루였다. ".repeat(400);
+
+        IdBuffer out = new IdBuffer(16);
+        tokenizer.tokenize(text, out, 32);
+
+        assertEquals(32, out.size());
+        assertEquals(512, tokenizer.tokenize(text).getInputIds().length);
+    }
+
+    @Test
+    void endsWithSepWhenModelMaxLengthIsShorter() {
+        BertTokenizer tokenizer = tokenizer(262144, 128);
+        String text = "오늘은 정말 행복한 하루였다. ".repeat(400);
+        long sep = tokenizer.tokenize("").getInputIds()[1];
+
+        // max_length=128이면 기본 토크나이징부터 128에서 잘리고 마지막은 [SEP]
+        long[] inputIds = tokenizer.tokenize(text).getInputIds();
+        assertEquals(128, inputIds.length);
+        assertEquals(sep, inputIds[127]);
+
+        IdBuffer out = new IdBuffer(16);
+        tokenizer.tokenize(text, out);
+        assertEquals(128, out.size());
+        assertEquals(sep, out.get(127));
+    }
+
+    private static BertTokenizer tokenizer(long maxIds) {
+        return tokenizer(maxIds, 512);
+    }
+
+    private static BertTokenizer tokenizer(long maxIds, int maxLength) {
+        InferenceProperties properties = new InferenceProperties();
+        properties.setModelDir(VOCAB_DIR.toString());
+        properties.getTokenizer().setWordCacheMaxIds(maxIds);
+        ModelResources modelResources = new ModelResources(properties);
+        modelResources.initialize();
+        BertTokenizer tokenizer = new BertTokenizer(modelResources, properties);
+        tokenizer.initialize(maxLength);
+        return tokenizer;
+    }
+
+    private static WordPieceTrie loadTrie() throws Exception {
+        try (BufferedReader reader = Files.newBufferedReader(VOCAB_DIR.resolve("vocab.txt"), StandardCharsets.UTF_8)) {
+            return WordPieceTrie.fromVocabulary(Vocabulary.read(reader), "[UNK]");
+        }
+    }
+
+    // 기존 BertTokenizer.tokenize (정규식 기본 토크나이징 + 단어마다 WordPiece)
+    private static long[] legacyTokenize(WordPieceTrie trie, BertTokenizer tokenizer, String text) {
+        long[] reference = tokenizer.tokenize("").getInputIds(); // [CLS], [SEP]
+        IdBuffer out = new IdBuffer(64);
+        out.add((int) reference[0]);
+        Matcher matcher = Pattern.compile("\\S+").matcher(text);
+        while (matcher.find()) {
+            for (String part : matcher.group().split("(?<=[.,!?;:])|(?=[.,!?;:])")) {
+                if (!part.isEmpty()) {
+                    trie.tokenize(part, 0, part.length(), out);
+                }
+            }
+        }
+        out.truncate(511);
+        out.add((int) reference[1]);
+        return out.toLongArray(512);
+    }
+}
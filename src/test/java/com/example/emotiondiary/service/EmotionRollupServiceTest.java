@@ -0,0 +1,83 @@
+package com.example.emotiondiary.service;
+
+import com.example.emotiondiary.entity.Diary;
+import com.example.emotiondiary.entity.SentimentAnalysis;
+import com.example.emotiondiary.entity.User;
+import com.example.emotiondiary.repository.EmotionRollupRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 감정 분석 결과 생성/수정/삭제, 일기 날짜 이동이 월별 감정 집계에 올바른 증감으로 반영되는지 검증
+ */
+class EmotionRollupServiceTest {
+
+    private final RecordingRepository repository = new RecordingRepository();
+    private final EmotionRollupService service = new EmotionRollupService(repository);
+
+    @Test
+    void addsAndRemovesOneDiaryInItsMonth() {
+        SentimentAnalysis analysis = analysis(LocalDate.of(2024, 2, 29), SentimentAnalysis.Emotion.SAD, 0.5f);
+
+        service.added(analysis);
+        service.removed(analysis);
+
+        assertEquals(List.of(
+                "7 2024-02-01 SAD +1 0.5",
+                "7 2024-02-01 SAD -1 -0.5"), repository.calls);
+    }
+
+    @Test
+    void movesChangedEmotionWithinSameMonth() {
+        SentimentAnalysis analysis = analysis(LocalDate.of(2024, 3, 10), SentimentAnalysis.Emotion.HAPPY, 0.75f);
+
+        // 값이 같으면 반영하지 않음
+        service.changed(analysis, SentimentAnalysis.Emotion.HAPPY, 0.75f);
+        service.changed(analysis, SentimentAnalysis.Emotion.ANGRY, 0.25f);
+
+        assertEquals(List.of(
+                "7 2024-03-01 ANGRY -1 -0.25",
+                "7 2024-03-01 HAPPY +1 0.75"), repository.calls);
+    }
+
+    @Test
+    void movesDiaryOnlyWhenMonthChanges() {
+        SentimentAnalysis analysis = analysis(LocalDate.of(2024, 3, 1), SentimentAnalysis.Emotion.HURT, 0.5f);
+        Diary diary = analysis.getDiary();
+
+        service.moved(diary, LocalDate.of(2024, 3, 31));
+        service.moved(diary, LocalDate.of(2024, 2, 29));
+
+        diary.setSentimentAnalysis(null);
+        service.moved(diary, LocalDate.of(2023, 1, 1));
+
+        assertEquals(List.of(
+                "7 2024-02-01 HURT -1 -0.5",
+                "7 2024-03-01 HURT +1 0.5"), repository.calls);
+    }
+
+    private static SentimentAnalysis analysis(LocalDate date, SentimentAnalysis.Emotion emotion, float confidence) {
+        Diary diary = Diary.builder().diaryId(1L).user(User.builder().userId(7L).build()).diaryDate(date).build();
+        SentimentAnalysis analysis = SentimentAnalysis.builder().diary(diary).emotion(emotion).confidence(confidence).build();
+        diary.setSentimentAnalysis(analysis);
+        return analysis;
+    }
+
+    private static final class RecordingRepository extends EmotionRollupRepository {
+        private final List<String> calls = new ArrayList<>();
+
+        private RecordingRepository() {
+            super(null);
+        }
+
+        @Override
+        public void add(Long userId, LocalDate monthStart, SentimentAnalysis.Emotion emotion, long count, double confidenceSum) {
+            calls.add(userId + " " + monthStart + " " + emotion + " " + (count > 0 ? "+" : "") + count + " " + confidenceSum);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.emotiondiary.service;
+
+import com.example.emotiondiary.config.InferenceProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 추론 진입 제한: 동시 실행 수, 대기열 초과 거절, 대기 기한 초과 거절, 거절 지표 검증
+ */
+class InferenceAdmissionTest {
+
+    @Test
+    void rejectsImmediatelyWhenQueueIsFull() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        InferenceAdmission admission = new InferenceAdmission(settings(2, 0, 1000), registry);
+
+        assertTrue(admission.tryAcquire());
+        assertTrue(admission.tryAcquire());
+        assertEquals(2, admission.active());
+
+        long start = System.nanoTime();
+        assertFalse(admission.tryAcquire());
+        assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(500), "대기 없이 거절되어야 함");
+        assertEquals(1.0, registry.get("emotion.inference.admission.rejected").tag("reason", "queue_full").counter().count());
+
+        admission.release();
+        assertTrue(admission.tryAcquire());
+    }
+
+    @Test
+    void rejectsAfterQueueTimeout() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        InferenceAdmission admission = new InferenceAdmission(settings(1, 4, 50), registry);
+
+        assertTrue(admission.tryAcquire());
+        assertFalse(admission.tryAcquire());
+        assertEquals(0, admission.waiting());
+        assertEquals(1.0, registry.get("emotion.inference.admission.rejected").tag("reason", "timeout").counter().count());
+    }
+
+    @Test
+    void queuedRequestRunsWhenPermitIsReleased() throws Exception {
+        InferenceAdmission admission = new InferenceAdmission(settings(1, 1, 5000), new SimpleMeterRegistry());
+        assertTrue(admission.tryAcquire());
+
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> {
+            started.countDown();
+            return admission.tryAcquire();
+        });
+        started.await();
+        while (admission.waiting() == 0 && !queued.isDone()) {
+            Thread.onSpinWait();
+        }
+
+        // 대기열(1건)이 차 있으므로 세 번째 요청은 바로 거절
+        assertFalse(admission.tryAcquire());
+
+        admission.release();
+        assertTrue(queued.get(5, TimeUnit.SECONDS));
+        assertEquals(1, admission.active());
+    }
+
+    private static InferenceProperties.Admission settings(int maxConcurrent, int maxQueued, long queueTimeoutMillis) {
+        InferenceProperties.Admission settings = new InferenceProperties.Admission();
+        settings.setMaxConcurrent(maxConcurrent);
+        settings.setMaxQueued(maxQueued);
+        settings.setQueueTimeoutMillis(queueTimeoutMillis);
+        return settings;
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.emotiondiary.service;
+
+import com.example.emotiondiary.config.InferenceProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 배치 스케줄러: 버킷별 패딩, direct 버퍼 전달, 요청별 logits 분배, 묶음 등록 검증
+ */
+class InferenceBatcherTest {
+
+    private static final long PAD = 0L;
+
+    @Test
+    void padsEachBucketIntoDirectBuffersAndSplitsLogits() throws Exception {
+        InferenceProperties.Batch settings = new InferenceProperties.Batch();
+        settings.setMaxBatchSize(8);
+        settings.setMaxWaitMillis(200);
+
+        List<String> runs = new ArrayList<>();
+        InferenceBatcher.BatchExecutor executor = (inputIds, attentionMask, batchSize, sequenceLength, logits) -> {
+            assertTrue(inputIds.isDirect() && attentionMask.isDirect() && logits.isDirect());
+            assertEquals(batchSize * sequenceLength, inputIds.remaining());
+            for (int row = 0; row < batchSize; row++) {
+                long length = 0;
+                for (int j = 0; j < sequenceLength; j++) {
+                    long mask = attentionMask.get(row * sequenceLength + j);
+                    if (mask == 0) {
+                        assertEquals(PAD, inputIds.get(row * sequenceLength + j));
+                    }
+                    length += mask;
+                }
+                // logits = [첫 토큰 ID, 실제 길이]
+                logits.put(row * 2, inputIds.get(row * sequenceLength));
+                logits.put(row * 2 + 1, length);
+            }
+            synchronized (runs) {
+                runs.add(batchSize + "x" + sequenceLength);
+            }
+        };
+
+        try (InferenceBatcher batcher = new InferenceBatcher(settings, new LengthBuckets(new int[]{4, 8}), PAD,
+                2, new SimpleMeterRegistry(), executor)) {
+            CompletableFuture<float[]> shortA = batcher.submit(ids(batcher, 101, 3));
+            CompletableFuture<float[]> longB = batcher.submit(ids(batcher, 102, 7));
+            CompletableFuture<float[]> shortC = batcher.submit(ids(batcher, 103, 4));
+
+            assertArrayEquals(new float[]{101, 3}, shortA.get(5, TimeUnit.SECONDS));
+            assertArrayEquals(new float[]{102, 7}, longB.get(5, TimeUnit.SECONDS));
+            assertArrayEquals(new float[]{103, 4}, shortC.get(5, TimeUnit.SECONDS));
+        }
+
+        assertEquals(List.of("2x4", "1x8"), runs);
+    }
+
+    @Test
+    void runsAGroupInOneBatchWithoutSplittingIt() throws Exception {
+        InferenceProperties.Batch settings = new InferenceProperties.Batch();
+        settings.setMaxBatchSize(4);
+        settings.setMaxWaitMillis(200);
+
+        List<String> runs = new ArrayList<>();
+        InferenceBatcher.BatchExecutor executor = (inputIds, attentionMask, batchSize, sequenceLength, logits) -> {
+            for (int row = 0; row < batchSize; row++) {
+                logits.put(row * 2, inputIds.get(row * sequenceLength));
+            }
+            synchronized (runs) {
+                runs.add(batchSize + "x" + sequenceLength);
+            }
+        };
+
+        try (InferenceBatcher batcher = new InferenceBatcher(settings, new LengthBuckets(new int[]{4, 8}), PAD,
+                2, new SimpleMeterRegistry(), executor)) {
+            // 먼저 온 두 요청 뒤에 세 행 묶음이 오면 남은 두 자리에 나눠 넣지 않고 다음 배치에서 함께 실행
+            CompletableFuture<float[]> singleA = batcher.submit(ids(batcher, 101, 8));
+            CompletableFuture<float[]> singleB = batcher.submit(ids(batcher, 102, 8));
+            CompletableFuture<float[]>[] group = batcher.submitAll(new IdBuffer[]{
+                    ids(batcher, 201, 8), ids(batcher, 202, 8), ids(batcher, 203, 8)});
+
+            assertEquals(101f, singleA.get(5, TimeUnit.SECONDS)[0]);
+            assertEquals(102f, singleB.get(5, TimeUnit.SECONDS)[0]);
+            for (int i = 0; i < group.length; i++) {
+                assertEquals(201f + i, group[i].get(5, TimeUnit.SECONDS)[0]);
+            }
+        }
+
+        assertEquals(List.of("2x8", "3x8"), runs);
+    }
+
+    @Test
+    void rejectsAWholeGroupWhenTheQueueHasNoRoomForIt() throws Exception {
+        InferenceProperties.Batch settings = new InferenceProperties.Batch();
+        settings.setMaxBatchSize(4);
+        settings.setQueueCapacity(2);
+
+        InferenceBatcher.BatchExecutor executor = (inputIds, attentionMask, batchSize, sequenceLength, logits) -> { };
+        try (InferenceBatcher batcher = new InferenceBatcher(settings, new LengthBuckets(new int[]{4, 8}), PAD,
+                2, new SimpleMeterRegistry(), executor)) {
+            CompletableFuture<float[]>[] rejected = batcher.submitAll(new IdBuffer[]{
+                    ids(batcher, 1, 8), ids(batcher, 2, 8), ids(batcher, 3, 8)});
+            for (CompletableFuture<float[]> future : rejected) {
+                ExecutionException error = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+                assertInstanceOf(RejectedExecutionException.class, error.getCause());
+            }
+            // 거절된 묶음은 자리를 차지하지 않음
+            assertEquals(0, batcher.queueDepth());
+            assertThrows(IllegalArgumentException.class, () -> batcher.submitAll(new IdBuffer[5]));
+        }
+    }
+
+    private static IdBuffer ids(InferenceBatcher batcher, int first, int length) {
+        IdBuffer buffer = batcher.acquireIdBuffer();
+        buffer.add(first);
+        for (int i = 1; i < length; i++) {
+            buffer.add(200 + i);
+        }
+        return buffer;
+    }
+}
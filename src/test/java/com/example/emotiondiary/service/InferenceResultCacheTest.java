@@ -0,0 +1,53 @@
+package com.example.emotiondiary.service;
+
+import com.example.emotiondiary.config.InferenceProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 추론 결과 캐시: 공백 정규화, 모델 버전 변경 시 무효화 검증
+ */
+class InferenceResultCacheTest {
+
+    @Test
+    void sameContentWithDifferentWhitespaceRunsModelOnce() {
+        InferenceResultCache cache = new InferenceResultCache(new InferenceProperties(), new SimpleMeterRegistry());
+        cache.onModelChanged("v1");
+        AtomicInteger calls = new AtomicInteger();
+
+        cache.get("오늘은  정말\n행복했다. ", text -> load(calls, text)).join();
+        cache.get(" 오늘은 정말 행복했다.", text -> load(calls, text)).join();
+
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void modelChangeInvalidatesCachedResults() {
+        InferenceResultCache cache = new InferenceResultCache(new InferenceProperties(), new SimpleMeterRegistry());
+        cache.onModelChanged("v1");
+        AtomicInteger calls = new AtomicInteger();
+
+        cache.get("불안한 하루", text -> load(calls, text)).join();
+        cache.onModelChanged("v2");
+        cache.get("불안한 하루", text -> load(calls, text)).join();
+
+        assertEquals(2, calls.get());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void normalizesLikeWhitespaceSplit() {
+        assertEquals("a b. c", InferenceResultCache.normalize("\t a \r\n b.   c \f"));
+        assertEquals("", InferenceResultCache.normalize("   "));
+    }
+
+    private static CompletableFuture<float[]> load(AtomicInteger calls, String text) {
+        calls.incrementAndGet();
+        return CompletableFuture.completedFuture(new float[]{1.0f});
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.emotiondiary.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+/**
+ * Aho-Corasick 점수가 키워드별 String.contains 집계와 동일한지 검증
+ */
+class KeywordAutomatonTest {
+
+    private static final String[][] KEYWORDS = {
+        {"행복", "기쁨", "좋아", "즐거", "웃", "신나", "최고", "사랑", "감사"},
+        {"불안", "걱정", "두렵", "무서", "조심", "긴장", "초조"},
+        {"당황", "어색", "부끄", "창피", "민망"},
+        {"슬프", "우울", "눈물", "힘들", "외로", "아프"},
+        {"화", "짜증", "분노", "싫", "미워", "열받"},
+        {"상처", "아픔", "서러", "서운", "섭섭", "아프"}
+    };
+
+    @Test
+    void matchesContainsScoringOnCorpus() throws Exception {
+        KeywordAutomaton automaton = build(KEYWORDS);
+
+        List<String> texts = new ArrayList<>(readLines("tokenizer/golden_corpus.txt"));
+        texts.add("행복행복 행복하고 또 행복한데 화화화");
+        texts.add("아프고 아픔이 서러워서 눈물이 났다");
+        texts.add("");
+        for (String text : texts) {
+            assertArrayEquals(legacyScores(KEYWORDS, text), automaton.score(text), text);
+        }
+    }
+
+    @Test
+    void handlesOverlappingAndNestedPatterns() {
+        String[][] keywords = {{"he", "she", "his", "hers"}, {"e", "rs"}};
+        KeywordAutomaton automaton = build(keywords);
+
+        Random random = new Random(42);
+        for (int n = 0; n < 500; n++) {
+            StringBuilder sb = new StringBuilder();
+            int length = random.nextInt(20);
+            for (int i = 0; i < length; i++) {
+                sb.append("hesrHIx".charAt(random.nextInt(7)));
+            }
+            String text = sb.toString();
+            assertArrayEquals(legacyScores(keywords, text), automaton.score(text), text);
+        }
+    }
+
+    private static KeywordAutomaton build(String[][] keywords) {
+        KeywordAutomaton.Builder builder = KeywordAutomaton.builder(keywords.length);
+        for (int label = 0; label < keywords.length; label++) {
+            for (String keyword : keywords[label]) {
+                builder.add(keyword, label);
+            }
+        }
+        return builder.build();
+    }
+
+    // 기존 EmotionAnalysisService.analyzeByKeywords 집계 방식
+    private static int[] legacyScores(String[][] keywords, String text) {
+        String lowerText = text.toLowerCase();
+        int[] scores = new int[keywords.length];
+        for (int label = 0; label < keywords.length; label++) {
+            for (String keyword : keywords[label]) {
+                if (lowerText.contains(keyword)) {
+                    scores[label]++;
+                }
+            }
+        }
+        return scores;
+    }
+
+    private static List<String> readLines(String path) throws Exception {
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                KeywordAutomatonTest.class.getClassLoader().getResourceAsStream(path), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.emotiondiary.service;
+
+import com.example.emotiondiary.entity.SentimentAnalysis;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 실시간 분석 초안: 수정분 적용, 수정 번호 검증, 바뀐 문단만 다시 분석하는지 검증
+ */
+class LiveDraftTest {
+
+    @Test
+    void appliesDeltasAndRejectsStaleRevision() {
+        LiveDraft draft = new LiveDraft();
+        assertEquals(1, draft.replace("오늘은 좋았다", 100));
+        assertEquals(2, draft.apply(1, 3, 3, " 정말", 100));
+        assertEquals("오늘은 정말 좋았다", draft.text());
+
+        assertThrows(IllegalStateException.class, () -> draft.apply(1, 0, 0, "x", 100));
+        assertThrows(IllegalArgumentException.class, () -> draft.apply(2, 5, 100, "", 100));
+        assertThrows(IllegalArgumentException.class, () -> draft.apply(2, 0, 0, "x".repeat(100), 100));
+        assertEquals(2, draft.revision());
+    }
+
+    @Test
+    void reanalyzesOnlyChangedParagraphs() {
+        List<String> analyzed = new ArrayList<>();
+        Function<String, EmotionPrediction> analyzer = text -> {
+            analyzed.add(text);
+            return model(0.5f, 0.5f);
+        };
+
+        LiveDraft draft = new LiveDraft();
+        draft.replace("첫 문단\n\n둘째 문단\n셋째 문단", 1000);
+        LiveDraft.Analysis first = draft.analyze("v1", analyzer);
+        assertEquals(3, first.inferred);
+        assertEquals(0, first.reused);
+
+        // 같은 수정 번호는 다시 분석하지 않음
+        assertNull(draft.analyze("v1", analyzer));
+
+        draft.apply(1, 6, 11, "두 번째 문단", 1000);
+        LiveDraft.Analysis second = draft.analyze("v1", analyzer);
+        assertEquals(1, second.inferred);
+        assertEquals(2, second.reused);
+        assertEquals("두 번째 문단", analyzed.get(analyzed.size() - 1));
+
+        // 모델이 바뀌면 모든 문단을 다시 분석
+        draft.apply(2, 0, 0, " ", 1000);
+        LiveDraft.Analysis third = draft.analyze("v2", analyzer);
+        assertEquals(3, third.inferred);
+    }
+
+    @Test
+    void keywordResultsAreNotReusedAndDisableMeanProbabilities() {
+        LiveDraft draft = new LiveDraft();
+        draft.replace("모델 문단\n키워드 문단", 1000);
+        Function<String, EmotionPrediction> analyzer = text -> text.startsWith("키워드")
+                ? new EmotionPrediction(SentimentAnalysis.Emotion.SAD, 1.0f, EmotionPrediction.Source.DEGRADED, null)
+                : model(0.9f, 0.1f);
+
+        LiveDraft.Analysis first = draft.analyze("v1", analyzer);
+        assertNull(first.probabilities);
+
+        draft.apply(1, 0, 0, "", 1000);
+        LiveDraft.Analysis second = draft.analyze("v1", analyzer);
+        assertEquals(1, second.inferred);
+        assertEquals(1, second.reused);
+    }
+
+    @Test
+    void weightsParagraphProbabilitiesByLength() {
+        LiveDraft draft = new LiveDraft();
+        draft.replace("가나다\n가", 1000);
+        LiveDraft.Analysis analysis = draft.analyze("v1", text -> text.length() == 3 ? model(1.0f, 0.0f) : model(0.0f, 1.0f));
+
+        assertArrayEquals(new float[]{0.75f, 0.25f}, analysis.probabilities, 1e-6f);
+        assertEquals(List.of("가나다", "가"), LiveDraft.paragraphs("  가나다 \r\n\n가\n"));
+    }
+
+    private static EmotionPrediction model(float... probabilities) {
+        return new EmotionPrediction(SentimentAnalysis.Emotion.HAPPY, probabilities[0], EmotionPrediction.Source.MODEL,
+                probabilities);
+    }
+}
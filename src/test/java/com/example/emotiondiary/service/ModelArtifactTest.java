@@ -0,0 +1,87 @@
+package com.example.emotiondiary.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * model.bin 기록 후 메모리 매핑으로 다시 읽었을 때 vocab/트라이/설정/원본 지문이 동일한지 검증
+ */
+class ModelArtifactTest {
+
+    @Test
+    void roundTripsThroughMemoryMappedFile() throws Exception {
+        Vocabulary vocabulary;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                getClass().getClassLoader().getResourceAsStream("tokenizer/vocab.txt"), StandardCharsets.UTF_8))) {
+            vocabulary = Vocabulary.read(reader);
+        }
+        WordPieceTrie trie = WordPieceTrie.fromVocabulary(vocabulary, "[UNK]");
+
+        Map<String, Object> config = Map.of(
+                "max_length", 512,
+                "layer_norm_eps", 1e-12,
+                "input_names", List.of("input_ids", "attention_mask"),
+                "length_buckets", List.of(32, 128, 512),
+                "dropout_schedule", List.of(0.1, 0.2));
+        Map<String, String> labelMapping = Map.of("0", "기쁨", "1", "불안");
+
+        Path file = Files.createTempFile("model", ".bin");
+        try {
+            Map<String, String> sourceStamps = Map.of("vocab.txt", stamp("vocab"), "config.json", ModelArtifact.MISSING_SOURCE);
+            ModelArtifact.write(file, sourceStamps, config, labelMapping, vocabulary, trie);
+            ModelArtifact artifact = ModelArtifact.open(file);
+
+            assertEquals(sourceStamps, artifact.getSourceStamps());
+            assertEquals(512, artifact.getConfig().get("max_length"));
+            // 정수가 아닌 값은 잘리지 않고, 실수 목록은 기록하지 않음
+            assertEquals(1e-12, artifact.getConfig().get("layer_norm_eps"));
+            assertFalse(artifact.getConfig().containsKey("dropout_schedule"));
+            assertEquals(List.of("input_ids", "attention_mask"), artifact.getConfig().get("input_names"));
+            assertEquals(List.of(32, 128, 512), artifact.getConfig().get("length_buckets"));
+            assertEquals(labelMapping, artifact.getLabelMapping());
+
+            Vocabulary mapped = artifact.getVocabulary();
+            assertEquals(vocabulary.size(), mapped.size());
+            for (int id = 0; id < vocabulary.size(); id++) {
+                assertEquals(vocabulary.token(id), mapped.token(id));
+                assertEquals(vocabulary.getOrDefault(vocabulary.token(id), -1), mapped.getOrDefault(mapped.token(id), -1));
+            }
+
+            for (String text : List.of("오늘은 정말 행복한 하루였다.", "Today was a good day.", "面接을 보고 왔는데")) {
+                IdBuffer expected = new IdBuffer(32);
+                IdBuffer actual = new IdBuffer(32);
+                for (String word : text.split(" ")) {
+                    trie.tokenize(word, 0, word.length(), expected);
+                    artifact.getTrie().tokenize(word, 0, word.length(), actual);
+                }
+                assertArrayEquals(expected.toLongArray(64), actual.toLongArray(64), text);
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void stampChangesWithContentEvenWhenSizeIsEqual() throws Exception {
+        assertEquals(stamp("vocab"), stamp("vocab"));
+        assertNotEquals(stamp("vocab"), stamp("vocaB"));
+        assertEquals("5:", stamp("vocab").substring(0, 2));
+    }
+
+    private static String stamp(String content) throws Exception {
+        return ModelArtifact.stamp(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.emotiondiary.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 롤링 해시 기반 n-gram 특징이 문자열 n-gram을 직접 만들어 계산한 결과(학습 스크립트 기준)와 같은지 검증
+ */
+class NgramClassifierTest {
+
+    private static final int NUM_BUCKETS = 1 << 10;
+    private static final int NUM_LABELS = 6;
+
+    @Test
+    void matchesReferenceFeatureExtraction() {
+        Random random = new Random(42);
+        float[] bias = new float[NUM_LABELS];
+        float[] weights = new float[NUM_BUCKETS * NUM_LABELS];
+        for (int i = 0; i < bias.length; i++) {
+            bias[i] = (float) random.nextGaussian();
+        }
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = (float) random.nextGaussian();
+        }
+        NgramClassifier classifier = new NgramClassifier(1, 3, NUM_BUCKETS, bias, weights);
+
+        for (String text : List.of("오늘 너무 행복했다", "  시험이   걱정돼서 잠이 안 온다!! ", "a", "")) {
+            assertArrayEquals(reference(text, 1, 3, bias, weights), classifier.predict(text), 1e-5f);
+        }
+    }
+
+    @Test
+    void loadsBase64WeightsFromConfig() {
+        float[] weights = new float[4 * 2];
+        weights[3] = 2.5f;
+        ByteBuffer bytes = ByteBuffer.allocate(weights.length * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        bytes.asFloatBuffer().put(weights);
+
+        NgramClassifier classifier = NgramClassifier.fromConfig(Map.of(
+                "ngram_min", 1,
+                "ngram_max", 2,
+                "num_buckets", 4,
+                "bias", List.of(0.5, -0.5),
+                "weights", Base64.getEncoder().encodeToString(bytes.array())));
+
+        assertEquals(2, classifier.numLabels());
+        assertArrayEquals(reference("기쁨", 1, 2, new float[]{0.5f, -0.5f}, weights), classifier.predict("기쁨"), 1e-6f);
+    }
+
+    @Test
+    void rejectsMismatchedWeights() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new NgramClassifier(1, 3, 8, new float[NUM_LABELS], new float[7 * NUM_LABELS]));
+        assertThrows(IllegalArgumentException.class,
+                () -> new NgramClassifier(1, 3, 6, new float[NUM_LABELS], new float[6 * NUM_LABELS]));
+    }
+
+    /**
+     * 문자열 n-gram을 만들어 UTF-16BE 2바이트 단위(코드 단위)로 FNV-1a 해싱하는 참조 구현
+     */
+    private static float[] reference(String text, int ngramMin, int ngramMax, float[] bias, float[] weights) {
+        int numLabels = bias.length;
+        int numBuckets = weights.length / numLabels;
+        String padded = " " + text.trim().replaceAll("\\s+", " ") + " ";
+
+        float[] logits = new float[numLabels];
+        int count = 0;
+        for (int n = ngramMin; n <= ngramMax; n++) {
+            for (int start = 0; start + n <= padded.length(); start++) {
+                int bucket = fnv(padded.substring(start, start + n)) & (numBuckets - 1);
+                for (int label = 0; label < numLabels; label++) {
+                    logits[label] += weights[bucket * numLabels + label];
+                }
+                count++;
+            }
+        }
+        for (int label = 0; label < numLabels; label++) {
+            logits[label] = bias[label] + (count > 0 ? logits[label] / count : 0.0f);
+        }
+        return Logits.softmaxInPlace(logits);
+    }
+
+    private static int fnv(String ngram) {
+        byte[] bytes = ngram.getBytes(StandardCharsets.UTF_16BE);
+        int hash = 0x811c9dc5;
+        for (int i = 0; i < bytes.length; i += 2) {
+            int codeUnit = ((bytes[i] & 0xff) << 8) | (bytes[i + 1] & 0xff);
+            hash = (hash ^ codeUnit) * 0x01000193;
+        }
+        return hash;
+    }
+}
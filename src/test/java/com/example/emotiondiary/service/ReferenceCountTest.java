@@ -0,0 +1,85 @@
+package com.example.emotiondiary.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * LoadedModel 수명: 교체(retire) 후에도 진행 중인 요청이 모두 release해야 세션이 닫히고, 닫힌 뒤에는 retain이 실패하는지 검증
+ */
+class ReferenceCountTest {
+
+    private final AtomicInteger closed = new AtomicInteger();
+    private final ReferenceCount refs = new ReferenceCount(closed::incrementAndGet);
+
+    @Test
+    void closesOnlyAfterLastInFlightRelease() {
+        assertTrue(refs.retain());
+        assertTrue(refs.retain());
+
+        // 교체되어도 요청 두 건이 사용 중이므로 열려 있음
+        refs.release();
+        assertEquals(0, closed.get());
+        refs.release();
+        assertEquals(0, closed.get());
+
+        refs.release();
+        assertEquals(1, closed.get());
+    }
+
+    @Test
+    void retainFailsAfterClose() {
+        refs.release();
+        assertEquals(1, closed.get());
+
+        assertFalse(refs.retain());
+        assertFalse(refs.retain());
+        assertEquals(1, closed.get());
+    }
+
+    @Test
+    void neverClosesWhileAConcurrentRequestHoldsAReference() throws Exception {
+        int threads = 8;
+        CountDownLatch started = new CountDownLatch(threads);
+        AtomicBoolean stop = new AtomicBoolean();
+        AtomicBoolean usedAfterClose = new AtomicBoolean();
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                started.countDown();
+                while (!stop.get()) {
+                    if (!refs.retain()) {
+                        continue;
+                    }
+                    if (closed.get() != 0) {
+                        usedAfterClose.set(true);
+                    }
+                    refs.release();
+                }
+            });
+            worker.start();
+            workers.add(worker);
+        }
+
+        started.await();
+        Thread.sleep(20);
+        refs.release();
+        Thread.sleep(20);
+        stop.set(true);
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertFalse(usedAfterClose.get());
+        assertEquals(1, closed.get());
+        assertFalse(refs.retain());
+    }
+}
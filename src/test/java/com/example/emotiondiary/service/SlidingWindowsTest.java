@@ -0,0 +1,60 @@
+package com.example.emotiondiary.service;
+
+import com.example.emotiondiary.config.InferenceProperties;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 윈도우 분할이 본문 전체를 같은 길이 윈도우로 덮는지, 확률 결합이 정규화되는지 검증
+ */
+class SlidingWindowsTest {
+
+    @Test
+    void singleWindowWhenContentFits() {
+        assertArrayEquals(new int[]{0}, SlidingWindows.starts(510, 510, 128, 8));
+        assertArrayEquals(new int[]{0}, SlidingWindows.starts(10, 510, 128, 8));
+    }
+
+    @Test
+    void windowsCoverContentWithOverlapAndLastAlignedToEnd() {
+        int contentLength = 1200;
+        int windowLength = 510;
+        int overlap = 128;
+        int[] starts = SlidingWindows.starts(contentLength, windowLength, overlap, 8);
+
+        assertEquals(0, starts[0]);
+        assertEquals(contentLength - windowLength, starts[starts.length - 1]);
+        for (int i = 1; i < starts.length; i++) {
+            // 인접 윈도우 사이에 빈 구간이 없고 최소 overlap만큼 겹침
+            assertTrue(starts[i] > starts[i - 1]);
+            assertTrue(starts[i] <= starts[i - 1] + windowLength - overlap);
+        }
+    }
+
+    @Test
+    void windowCountIsCapped() {
+        int[] starts = SlidingWindows.starts(100_000, 510, 128, 4);
+        assertEquals(4, starts.length);
+        assertArrayEquals(new int[]{0, 382, 764, 1146}, starts);
+    }
+
+    @Test
+    void meanAggregationAveragesWindows() {
+        float[][] windows = {{0.8f, 0.2f}, {0.4f, 0.6f}};
+        assertArrayEquals(new float[]{0.6f, 0.4f},
+                SlidingWindows.aggregate(windows, InferenceProperties.Aggregation.MEAN), 1e-6f);
+    }
+
+    @Test
+    void confidenceWeightedAggregationFavorsConfidentWindows() {
+        float[][] windows = {{0.9f, 0.1f}, {0.4f, 0.6f}};
+        float[] combined = SlidingWindows.aggregate(windows, InferenceProperties.Aggregation.CONFIDENCE_WEIGHTED);
+
+        // (0.9 * [0.9, 0.1] + 0.6 * [0.4, 0.6]) / 1.5
+        assertArrayEquals(new float[]{0.7f, 0.3f}, combined, 1e-6f);
+        assertEquals(1.0f, combined[0] + combined[1], 1e-6f);
+    }
+}
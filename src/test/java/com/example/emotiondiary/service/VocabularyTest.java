@@ -0,0 +1,56 @@
+package com.example.emotiondiary.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VocabularyTest {
+
+    @Test
+    void looksUpTokensAndIdsInBothDirections() {
+        Vocabulary vocabulary = Vocabulary.builder()
+                .add("[PAD]").add("[UNK]").add("오늘").add("##은").add("행복")
+                .build();
+
+        assertEquals(5, vocabulary.size());
+        assertEquals(2, vocabulary.getOrDefault("오늘", -1));
+        assertEquals(3, vocabulary.getOrDefault("##은", -1));
+        assertEquals(-1, vocabulary.getOrDefault("내일", -1));
+        assertEquals("행복", vocabulary.token(4));
+        assertTrue(vocabulary.contains("[UNK]"));
+        assertFalse(vocabulary.contains("오"));
+    }
+
+    @Test
+    void looksUpSubRangeOfText() {
+        Vocabulary vocabulary = Vocabulary.builder().add("a").add("행복").build();
+
+        assertEquals(1, vocabulary.idOf("너무행복했다", 2, 4));
+        assertEquals(-1, vocabulary.idOf("너무행복했다", 2, 5));
+    }
+
+    @Test
+    void duplicateTokenResolvesToLastId() {
+        Vocabulary vocabulary = Vocabulary.builder().add("하루").add("x").add("하루").build();
+
+        assertEquals(2, vocabulary.getOrDefault("하루", -1));
+        assertEquals("하루", vocabulary.token(0));
+    }
+
+    @Test
+    void growsBeyondInitialCapacity() {
+        Vocabulary.Builder builder = Vocabulary.builder();
+        for (int i = 0; i < 50000; i++) {
+            builder.add("토큰" + i);
+        }
+        Vocabulary vocabulary = builder.build();
+
+        assertEquals(50000, vocabulary.size());
+        for (int i = 0; i < 50000; i += 997) {
+            assertEquals(i, vocabulary.getOrDefault("토큰" + i, -1));
+            assertEquals("토큰" + i, vocabulary.token(i));
+        }
+    }
+}
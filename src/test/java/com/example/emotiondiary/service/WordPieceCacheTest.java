@@ -0,0 +1,60 @@
+package com.example.emotiondiary.service;
+
+import com.example.emotiondiary.config.InferenceProperties;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 문자 범위로 조회하는 단어 캐시가 트라이와 같은 결과를 내고, 위치/텍스트가 달라도 같은 단어면 한 항목을 공유하는지 검증
+ */
+class WordPieceCacheTest {
+
+    private static final WordPieceTrie TRIE = WordPieceTrie.builder(0)
+            .insert("[UNK]", 0)
+            .insert("일기", 1)
+            .insert("##장", 2)
+            .insert("감정", 3)
+            .insert("##일기", 4)
+            .build();
+
+    @Test
+    void sharesOneEntryForTheSameWordAtDifferentPositions() {
+        WordPieceCache cache = new WordPieceCache(TRIE, new InferenceProperties.Tokenizer());
+
+        assertArrayEquals(new int[]{1, 2}, tokenize(cache, "일기장", 0, 3));
+        assertArrayEquals(new int[]{1, 2}, tokenize(cache, "오늘 일기장 끝", 3, 6));
+        assertArrayEquals(new int[]{1, 2}, tokenize(cache, new StringBuilder("x일기장"), 1, 4));
+        assertEquals(1, cache.size());
+
+        // 앞부분이 같은 다른 단어는 별도 항목
+        assertArrayEquals(new int[]{1}, tokenize(cache, "일기", 0, 2));
+        assertArrayEquals(new int[]{3, 4}, tokenize(cache, "감정일기", 0, 4));
+        assertEquals(3, cache.size());
+    }
+
+    @Test
+    void keepsCachedWordWhenInputTextChangesAfterwards() {
+        WordPieceCache cache = new WordPieceCache(TRIE, new InferenceProperties.Tokenizer());
+        StringBuilder text = new StringBuilder("감정일기");
+
+        assertArrayEquals(new int[]{3, 4}, tokenize(cache, text, 0, 4));
+        // 캐시 키는 입력 텍스트가 아니라 복사한 단어를 가리키므로 입력을 바꿔도 기존 항목이 유지됨
+        text.setLength(0);
+        text.append("일기장");
+        assertArrayEquals(new int[]{1, 2}, tokenize(cache, text, 0, 3));
+        assertArrayEquals(new int[]{3, 4}, tokenize(cache, "감정일기", 0, 4));
+        assertEquals(2, cache.size());
+    }
+
+    private static int[] tokenize(WordPieceCache cache, CharSequence text, int start, int end) {
+        IdBuffer out = new IdBuffer(8);
+        cache.tokenize(text, start, end, out);
+        int[] ids = new int[out.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = out.get(i);
+        }
+        return ids;
+    }
+}
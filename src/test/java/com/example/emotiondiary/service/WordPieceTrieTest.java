@@ -0,0 +1,137 @@
+package com.example.emotiondiary.service;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * 트라이 WordPiece 결과가 기존 substring 기반 구현과 동일한지 골든 코퍼스로 검증
+ */
+class WordPieceTrieTest {
+
+    private static final String UNK_TOKEN = "[UNK]";
+
+    private static Map<String, Integer> vocabMap;
+    private static WordPieceTrie trie;
+
+    @BeforeAll
+    static void setUp() throws Exception {
+        vocabMap = new HashMap<>();
+        int index = 0;
+        for (String line : readLines("tokenizer/vocab.txt")) {
+            line = line.trim();
+            if (!line.isEmpty()) {
+                vocabMap.put(line, index++);
+            }
+        }
+
+        WordPieceTrie.Builder builder = WordPieceTrie.builder(vocabMap.getOrDefault(UNK_TOKEN, 0));
+        for (Map.Entry<String, Integer> entry : vocabMap.entrySet()) {
+            builder.insert(entry.getKey(), entry.getValue());
+        }
+        trie = builder.build();
+    }
+
+    @Test
+    void matchesLegacyTokenizerOnGoldenCorpus() throws Exception {
+        List<String> corpus = readLines("tokenizer/golden_corpus.txt");
+        assertFalse(corpus.isEmpty());
+
+        IdBuffer buffer = new IdBuffer(64);
+        for (String line : corpus) {
+            List<Integer> expected = new ArrayList<>();
+            buffer.clear();
+            for (String token : basicTokenize(line)) {
+                for (String piece : legacyWordPieceTokenize(token)) {
+                    expected.add(vocabMap.getOrDefault(piece, vocabMap.getOrDefault(UNK_TOKEN, 0)));
+                }
+                trie.tokenize(token, 0, token.length(), buffer);
+            }
+
+            int[] actual = new int[buffer.size()];
+            for (int i = 0; i < actual.length; i++) {
+                actual[i] = buffer.get(i);
+            }
+            assertArrayEquals(expected.stream().mapToInt(Integer::intValue).toArray(), actual, line);
+        }
+    }
+
+    @Test
+    void tokenizesSubRangeWithoutCopying() {
+        String text = "xx오늘은yy";
+        IdBuffer expected = new IdBuffer(8);
+        trie.tokenize("오늘은", 0, 3, expected);
+
+        IdBuffer actual = new IdBuffer(8);
+        trie.tokenize(text, 2, 5, actual);
+
+        assertArrayEquals(expected.toLongArray(8), actual.toLongArray(8));
+    }
+
+    // 기존 BertTokenizer.basicTokenize
+    private static List<String> basicTokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        Matcher matcher = Pattern.compile("\\S+").matcher(text);
+        while (matcher.find()) {
+            for (String part : matcher.group().split("(?<=[.,!?;:])|(?=[.,!?;:])")) {
+                if (!part.isEmpty()) {
+                    tokens.add(part);
+                }
+            }
+        }
+        return tokens;
+    }
+
+    // 기존 BertTokenizer.wordPieceTokenize
+    private static List<String> legacyWordPieceTokenize(String token) {
+        if (vocabMap.containsKey(token)) {
+            return Collections.singletonList(token);
+        }
+
+        List<String> output = new ArrayList<>();
+        int start = 0;
+        while (start < token.length()) {
+            int end = token.length();
+            String curSubstr = null;
+            while (start < end) {
+                String substr = token.substring(start, end);
+                if (start > 0) {
+                    substr = "##" + substr;
+                }
+                if (vocabMap.containsKey(substr)) {
+                    curSubstr = substr;
+                    break;
+                }
+                end--;
+            }
+            if (curSubstr == null) {
+                output.add(UNK_TOKEN);
+                break;
+            }
+            output.add(curSubstr);
+            start = end;
+        }
+        return output.isEmpty() ? Collections.singletonList(UNK_TOKEN) : output;
+    }
+
+    private static List<String> readLines(String path) throws Exception {
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                WordPieceTrieTest.class.getClassLoader().getResourceAsStream(path), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+        }
+        return lines;
+    }
+}